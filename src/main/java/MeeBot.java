@@ -2,37 +2,56 @@ import command.Command;
 import manager.TaskManager;
 import message.ErrorMessage;
 import message.Message;
+import message.ReminderMessage;
+import reminder.ReminderScheduler;
+import reminder.ReminderSettings;
 import storage.Storage;
 import ui.UserInterface;
 import util.CommandProcessor;
 
+import java.time.Clock;
+
 
 public class MeeBot {
 
     private final UserInterface ui = new UserInterface();
     private final TaskManager tm = new TaskManager();
     private final Storage storage = new Storage(tm);
+    private final ReminderSettings reminderSettings = ReminderSettings.fromSystemProperties();
+    private final ReminderScheduler reminders = new ReminderScheduler(tm, Clock.systemDefaultZone(),
+            reminderSettings.leadTime(), reminder -> ui.displayNotification(new ReminderMessage(reminder)));
 
     public void run() {
+        if (reminderSettings.isEnabled()) {
+            tm.addListener(reminders);      // before loading, so loaded tasks are scheduled too
+        }
         storage.loadTasks();
         ui.displayWelcome();
+        if (reminderSettings.isEnabled()) {
+            reminders.start();
+        }
         CommandProcessor processor = new CommandProcessor(tm);
 
-        while (true) {
-            String input = ui.readUserInput();
-            Command cmd = processor.parseCommand(input);
-
-            try {
-                Message msg = cmd.execute();
-                ui.displayMessage(msg);
-                storage.saveTasks();
-
-                if (cmd.isExit()) {
-                    break;
+        try {
+            while (true) {
+                String input = ui.readUserInput();
+                Command cmd = processor.parseCommand(input);
+
+                try {
+                    Message msg = cmd.execute();
+                    ui.displayMessage(msg);
+                    storage.commit();
+
+                    if (cmd.isExit()) {
+                        break;
+                    }
+                } catch (RuntimeException e) {
+                    ui.displayMessage(new ErrorMessage("Mee-stakes happen lah, try again!"));
                 }
-            } catch (RuntimeException e) {
-                ui.displayMessage(new ErrorMessage("Mee-stakes happen lah, try again!"));
             }
+        } finally {
+            reminders.close();
+            storage.close();    // also writes deferred changes if input ends without "bye"
         }
     }
 
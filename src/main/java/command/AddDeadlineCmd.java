@@ -50,7 +50,7 @@ public class AddDeadlineCmd extends BaseTaskCommand {
             Task deadline = new DeadlineTask(tokens[0], parsed);
             boolean wasSorted = taskManager.isSorted();
             taskManager.addTask(deadline);
-            return new TaskAddedMessage(deadline, taskManager, wasSorted);
+            return new TaskAddedMessage(deadline, taskManager, wasSorted && !taskManager.isSorted());
         } catch (MeeBotException e) {
             return e.toErrorMessage();
         }
@@ -12,10 +12,15 @@ import util.DateTimeParser;
 import util.ParsedDateTime;
 import util.TokenizerUtil;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
  * Command to add a new event task with a time period.
+ * <p>Pending events already in the list that run at the same time are looked up in the task
+ * manager's interval tree and listed as a warning; the event is added either way.
+ *
+ * @see TaskManager#findClashes(EventTask)
  */
 public class AddEventCmd extends BaseTaskCommand {
 
@@ -48,9 +53,10 @@ public class AddEventCmd extends BaseTaskCommand {
             ParsedDateTime start = DateTimeParser.parse(tokens[1]);
             ParsedDateTime end = DateTimeParser.parse(tokens[2]);
             boolean wasSorted = taskManager.isSorted();
-            Task event = new EventTask(tokens[0], start, end);
+            EventTask event = new EventTask(tokens[0], start, end);
+            List<Task> clashes = taskManager.findClashes(event);
             taskManager.addTask(event);
-            return new TaskAddedMessage(event, taskManager, wasSorted);
+            return new TaskAddedMessage(event, taskManager, wasSorted && !taskManager.isSorted(), clashes);
         } catch (MeeBotException e) {
             return e.toErrorMessage();
         }
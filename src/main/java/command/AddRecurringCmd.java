@@ -0,0 +1,82 @@
+package command;
+
+import exception.InvalidTaskFormatException.ErrorType;
+import exception.MeeBotException;
+import manager.TaskManager;
+import message.ErrorMessage;
+import message.Message;
+import message.TaskAddedMessage;
+import task.RecurringTask;
+import task.RecurringTask.Frequency;
+import util.DateTimeParser;
+import util.ParsedDateTime;
+import util.TokenizerUtil;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command to add a task that happens every day, week or month.
+ * <p>A last date given with {@code /until} is turned into the number of occurrences up to it, so
+ * the task is stored as its start and rule either way, however many times it happens.
+ *
+ * @see RecurringTask
+ */
+public class AddRecurringCmd extends BaseTaskCommand {
+
+    private static final Pattern RECURRING_PATTERN = Pattern.compile(
+            "(.+?)\\s*/from\\s*(.+?)\\s*/every\\s*(.+)",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern RULE_PATTERN = Pattern.compile(
+            "(\\w+)\\s*/(count|until)\\s*(.+)",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern COUNT_PATTERN = Pattern.compile("\\d{1,5}");
+
+    public AddRecurringCmd(TaskManager taskManager, String args) {
+        super(taskManager, args);
+    }
+
+    /**
+     * Creates a recurring task from user input:
+     * "description /from dateTime /every day|week|month /count n" or with "/until dateTime" instead.
+     *
+     * @return {@link TaskAddedMessage} on successful task creation, or
+     *         {@link ErrorMessage} on invalid format or date parsing
+     */
+    @Override
+    public Message execute() {
+        try {
+            // Split input: "standup /from 1/9/2025 0930 /every day /count 5" → ["standup", "1/9/2025 0930", "day /count 5"]
+            String[] tokens = TokenizerUtil.tokenize(
+                    args, RECURRING_PATTERN, 3, ErrorType.RECURRING
+            );
+
+            Matcher rule = RULE_PATTERN.matcher(tokens[2]);
+            Frequency frequency = rule.matches() ? Frequency.fromKeyword(rule.group(1)) : null;
+            if (frequency == null) {
+                throw ErrorType.RECURRING.createException();
+            }
+
+            ParsedDateTime start = DateTimeParser.parse(tokens[1]);
+            String bound = rule.group(3).trim();
+            int count;
+            if (rule.group(2).equalsIgnoreCase("count")) {
+                if (!COUNT_PATTERN.matcher(bound).matches()) {
+                    throw ErrorType.RECURRING.createException();
+                }
+                count = Integer.parseInt(bound);
+            } else {
+                count = RecurringTask.countUntil(start, frequency, DateTimeParser.parse(bound));
+            }
+
+            boolean wasSorted = taskManager.isSorted();
+            RecurringTask task = new RecurringTask(tokens[0], start, frequency, count);
+            taskManager.addTask(task);
+            return new TaskAddedMessage(task, taskManager, wasSorted && !taskManager.isSorted());
+        } catch (MeeBotException e) {
+            return e.toErrorMessage();
+        }
+    }
+}
@@ -37,7 +37,7 @@ public class AddTodoCmd extends BaseTaskCommand {
             Task todo = new TodoTask(tokens[0]);
             boolean wasSorted = taskManager.isSorted();
             taskManager.addTask(todo);
-            return new TaskAddedMessage(todo, taskManager, wasSorted);
+            return new TaskAddedMessage(todo, taskManager, wasSorted && !taskManager.isSorted());
         } catch (MeeBotException e) {
             return e.toErrorMessage();
         }
@@ -0,0 +1,20 @@
+package command;
+
+import manager.TaskManager;
+
+/**
+ * State shared by the commands of one session, passed to every command factory in {@link CommandType}:
+ * the task manager and the place from which {@code list /next} carries on.
+ *
+ * @param taskManager the task manager for command execution
+ * @param listCursor  the cursor moved by each page listed
+ */
+public record CommandSession(TaskManager taskManager, ListCursor listCursor) {
+
+    /**
+     * Starts a session on the task manager, with paged listings starting from the top.
+     */
+    public CommandSession(TaskManager taskManager) {
+        this(taskManager, new ListCursor(taskManager));
+    }
+}
@@ -10,62 +10,93 @@ import java.util.function.BiFunction;
  * <ul>
  * <li>Command keywords for user input parsing</li>
  * <li>Help text for user documentation</li>
- * <li>Factory methods for command instantiation</li>
+ * <li>Factory methods for command instantiation, given the {@link CommandSession}</li>
  * </ul><p>
  * This design ensures all command metadata is co-located and makes it easy to add
  * new commands by simply adding a new enum constant.
  */
 public enum CommandType {
     HELP("help", "Display help instructions.",
-            (tm, args) -> new HelpCmd()),
+            (session, args) -> new HelpCmd()),
 
-    LIST("list", "Display all tasks.",
-            (tm, args) -> new ListCmd(tm)),
+    LIST("list", "Display all tasks.\n" +
+            "Add /ids to show the id of each task\n" +
+            "Add /page n or /next to show 20 at a time,\n" +
+            "and /size k to change how many",
+            (session, args) -> new ListCmd(session.taskManager(), args, session.listCursor())),
 
     BYE("bye", "Exits the chatbot",
-            (tm, args) -> new ExitCmd()),
+            (session, args) -> new ExitCmd()),
 
     TODO("todo", "Add todo. " +
             "Format: todo <description>",
-            AddTodoCmd::new),
+            withTaskManager(AddTodoCmd::new)),
 
     DEADLINE("deadline", "Add deadline.\n" +
             "Format: deadline <description> /by <date>",
-            AddDeadlineCmd::new),
+            withTaskManager(AddDeadlineCmd::new)),
 
     EVENT("event", "Add event.\n" +
             "Format: event <description> /from <date>",
-            AddEventCmd::new),
+            withTaskManager(AddEventCmd::new)),
 
-    DELETE("delete", "Delete a task by number. " +
-            "Format: delete <index>",
-            DeleteTaskCmd::new),
+    RECURRING("recurring", "Add task that repeats.\n" +
+            "Format: recurring <description> /from <date>\n" +
+            "/every <day|week|month> </count n|/until date>",
+            withTaskManager(AddRecurringCmd::new)),
 
-    MARK("mark", "Mark a task as done. " +
-            "Format: mark <index>",
-            (tm, args) -> new UpdateTaskStatusCmd(tm, args, true)),
+    DELETE("delete", "Delete a task by number.\n" +
+            "Format: delete <index|#id>\n" +
+            "Many at once: delete 1-5,8 or delete <filters>",
+            withTaskManager(DeleteTaskCmd::new)),
 
-    UNMARK("unmark", "Mark a task as pending. " +
-            "Format: unmark <index>",
-            (tm, args) -> new UpdateTaskStatusCmd(tm, args, false)),
+    MARK("mark", "Mark a task as done.\n" +
+            "Format: mark <index|#id>\n" +
+            "Many at once: mark 1-5,8 or mark <filters>",
+            (session, args) -> new UpdateTaskStatusCmd(session.taskManager(), args, true)),
+
+    UNMARK("unmark", "Mark a task as pending.\n" +
+            "Format: unmark <index|#id>\n" +
+            "Many at once: unmark 1-5,8 or unmark <filters>",
+            (session, args) -> new UpdateTaskStatusCmd(session.taskManager(), args, false)),
 
     SEARCH("search", "Find tasks by keywords in the description.\n" +
             "Format: search <input search terms>",
-            SearchCmd::new),
+            withTaskManager(SearchCmd::new)),
 
     SORT("sort", "Display tasks in sorted order.\n" +
-            "Format: sort /by <date|status>",
-            SortCmd::new),
+            "Format: sort /by <date|status>[,...] [/limit n] [/keep]\n" +
+            "Add /limit n to show the first n, leaving the list as is\n" +
+            "Add /keep to keep new and updated tasks in this order",
+            withTaskManager(SortCmd::new)),
+
+    NEXT("next", "Show what's due next, leaving the list as is.\n" +
+            "Format: next [n]",
+            withTaskManager(NextCmd::new)),
+
+    OVERDUE("overdue", "Show deadlines that are overdue.",
+            withTaskManager(OverdueCmd::new)),
+
+    STATS("stats", "Count tasks by type and status.",
+            withTaskManager(StatsCmd::new)),
 
     FILTER("filter", "Filter tasks by one or more criteria.\n" +
-            "Format: filter <task:todo|deadline|event> & <done:true|false> & <date:DD/MM/YYYY>",
-            FilterCmd::new);
+            "Format: filter <task:todo|deadline|event> & <done:true|false> & <date:DD/MM/YYYY>\n" +
+            "Date ranges: date:<from>..<to>, either end may be left out\n" +
+            "Use during: to also match events running through\n" +
+            "Use desc:<text> to match descriptions\n" +
+            "Combine with & (and), | (or), ! (not) and brackets",
+            withTaskManager(FilterCmd::new)),
+
+    EXPLAIN("explain", "Show how a filter would be answered.\n" +
+            "Format: explain <filter criteria>",
+            withTaskManager(ExplainCmd::new));
 
     private final String keyword;
     private final String helpText;
-    private final BiFunction<TaskManager, String, Command> cmdFactory;
+    private final BiFunction<CommandSession, String, Command> cmdFactory;
 
-    CommandType(String keyword, String helpText, BiFunction<TaskManager, String, Command> factory) {
+    CommandType(String keyword, String helpText, BiFunction<CommandSession, String, Command> factory) {
         this.keyword = keyword;
         this.helpText = helpText;
         this.cmdFactory = factory;
@@ -97,11 +128,19 @@ public enum CommandType {
     /**
      * Factory method to create appropriate Command instance.
      *
-     * @param tm   the task manager for command execution
-     * @param args parsed command arguments
+     * @param session the task manager and other state of the session, for command execution
+     * @param args    parsed command arguments
      * @return executable Command object
      */
-    public Command createCommand(TaskManager tm, String args) {
-        return cmdFactory.apply(tm, args);
+    public Command createCommand(CommandSession session, String args) {
+        return cmdFactory.apply(session, args);
+    }
+
+    /**
+     * Adapts the factory of a command that only needs the task manager.
+     */
+    private static BiFunction<CommandSession, String, Command> withTaskManager(
+            BiFunction<TaskManager, String, Command> factory) {
+        return (session, args) -> factory.apply(session.taskManager(), args);
     }
 }
@@ -5,14 +5,20 @@ import manager.TaskManager;
 import message.ErrorMessage;
 import message.Message;
 import message.TaskDeletedMessage;
+import message.TasksDeletedMessage;
 import task.Task;
 import util.TaskIndexParser;
 
+import java.util.BitSet;
+
 /**
  * Command to remove a task from the task list by its index number.
  * <p>This command deletes the specified task regardless of its completion status.
+ * Given a selection such as {@code 1-500,720} or {@code done:true}, all selected tasks are
+ * deleted at once.
  *
  * @see TaskManager#deleteTask(int)
+ * @see TaskManager#deleteTasks(BitSet)
  */
 public class DeleteTaskCmd extends BaseTaskCommand {
 
@@ -24,11 +30,18 @@ public class DeleteTaskCmd extends BaseTaskCommand {
      * Validates user input and removes the specified task from the list.
      *
      * @return {@link TaskDeletedMessage} on success, or
+     *         {@link TasksDeletedMessage} on successful deletion of a selection, or
      *         {@link ErrorMessage} on invalid input or task not found
      */
     @Override
     public Message execute() {
         try {
+            if (TaskIndexParser.isSelection(args)) {
+                BitSet positions = TaskIndexParser.parseTaskSelection(args, taskManager);
+                int deletedCount = taskManager.deleteTasks(positions).size();
+                return new TasksDeletedMessage(deletedCount, taskManager.getTotalTasks());
+            }
+
             int taskNumber = TaskIndexParser.parseTaskIndex(args, taskManager);
             Task task = taskManager.getTask(taskNumber);
             taskManager.deleteTask(taskNumber);
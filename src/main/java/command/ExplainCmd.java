@@ -0,0 +1,43 @@
+package command;
+
+import exception.MeeBotException;
+import manager.QueryPlan;
+import manager.TaskManager;
+import manager.TaskQuery;
+import message.ErrorMessage;
+import message.ExplainMessage;
+import message.Message;
+import util.TaskFilterParser;
+
+/**
+ * Command to show how the task manager would answer a filter, without running it.
+ * <p>Takes the same criteria as {@link FilterCmd} and shows the plan chosen for them: which index,
+ * if any, fetches the candidates, about how many, and in which order the remaining criteria are checked.
+ *
+ * @see TaskManager#explain(TaskQuery)
+ */
+public class ExplainCmd extends BaseTaskCommand {
+    public ExplainCmd(TaskManager taskManager, String args) {
+        super(taskManager, args);
+    }
+
+    /**
+     * Parses the filter criteria and plans them against the current task list.
+     *
+     * @return {@link ExplainMessage} describing the plan, or
+     *         {@link ErrorMessage} if the criteria are missing or invalid
+     */
+    @Override
+    public Message execute() {
+        if (args == null || args.isBlank()) {
+            return new ErrorMessage(ErrorMessage.MISSING_DESCRIPTION);
+        }
+
+        try {
+            QueryPlan plan = taskManager.explain(TaskFilterParser.parseQuery(args));
+            return new ExplainMessage(plan);
+        } catch (MeeBotException e) {
+            return e.toErrorMessage();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package command;
 
 import exception.MeeBotException;
 import manager.TaskManager;
+import manager.TaskQuery;
 import message.ErrorMessage;
 import message.FilteredListMessage;
 import message.Message;
@@ -9,17 +10,18 @@ import util.TaskFilterParser;
 import task.Task;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 /**
  * Command to filter tasks based on specified criteria (task type, completion status, date).
  * <p><strong>Usage Notes:</strong></p>
  * <li>At least one filter criterion must be provided</li>
- * <li>Maximum of 3 filter criteria can be applied simultaneously</li>
- * <li>Multiple criteria are combined using logical AND. Example:
+ * <li>Maximum of 16 filter criteria can be applied simultaneously</li>
+ * <li>Criteria are combined with {@code &}, {@code |}, {@code !} and brackets. Example:
  * {@code task:todo & done:true} returns only Todo task that are completed</li>
  * <li>Conflicting criteria (e.g. {@code task:todo & task:event}) will return empty results
  * since no task can satisfy contradictory conditions</li>
+ * <li>Criteria are answered from the task manager's indexes where that is cheaper, see
+ * {@link ExplainCmd}</li>
  */
 public class FilterCmd extends BaseTaskCommand {
     public FilterCmd(TaskManager taskManager, String args) {
@@ -32,11 +34,14 @@ public class FilterCmd extends BaseTaskCommand {
      * <li>{@code task:todo|deadline|event} - filter by task type</li>
      * <li>{@code done:true|false} - filter by completion status</li>
      * <li>{@code date:YYYY-MM-DD} - filter by date</li>
+     * <li>{@code date:YYYY-MM-DD..YYYY-MM-DD} - filter by an inclusive date range</li>
+     * <li>{@code during:YYYY-MM-DD..YYYY-MM-DD} - filter by overlap with a date range</li>
+     * <li>{@code desc:text} - filter by text in the description</li>
      *
-     * @return {@link FilteredListMessage} containing tasks matching all criteria, or
+     * @return {@link FilteredListMessage} containing tasks matching the criteria, or
      *         {@link ErrorMessage} if validation fails or no criteria are provided
-     * @see TaskFilterParser#chainPredicate(String)
-     * @see TaskManager#filter(Predicate)
+     * @see TaskFilterParser#parseQuery(String)
+     * @see TaskManager#filter(TaskQuery)
      */
     @Override
     public Message execute() {
@@ -49,8 +54,8 @@ public class FilterCmd extends BaseTaskCommand {
         }
 
         try {
-            Predicate<Task> predicates = TaskFilterParser.chainPredicate(args);
-            List<Task> filteredTasks = taskManager.filter(predicates);
+            TaskQuery query = TaskFilterParser.parseQuery(args);
+            List<Task> filteredTasks = taskManager.filter(query);
             return new FilteredListMessage(filteredTasks, args);
         } catch (MeeBotException e) {
             return e.toErrorMessage();
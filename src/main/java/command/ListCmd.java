@@ -5,22 +5,90 @@ import message.ErrorMessage;
 import message.Message;
 import message.ListTaskMessage;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
- * Command to display all tasks in MeeBot.
+ * Command to display all tasks in MeeBot, optionally with their stable ids ({@code list /ids}).
+ * <p>A long list can be shown a page at a time, either by number ({@code list /page 3}) or by
+ * carrying on after the page shown last ({@code list /next}), with {@code /size k} tasks per page.
+ * The place to carry on from is kept by the session's {@link ListCursor}, which
+ * stays with the last task shown, so adding or deleting tasks in between does not make the next
+ * page skip or repeat any.
  */
 public class ListCmd implements Command {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final Pattern LIST_PATTERN = Pattern.compile(
+            "(/ids)?\\s*(?:(/next)|/page\\s+(\\d{1,9}))?\\s*(?:/size\\s+(\\d{1,9}))?",
+            Pattern.CASE_INSENSITIVE
+    );
+
     private final TaskManager taskManager;
+    private final String args;
+    private final ListCursor cursor;
 
+    /**
+     * Creates a command listing every task at once.
+     */
     public ListCmd(TaskManager taskManager) {
+        this(taskManager, "", null);
+    }
+
+    /**
+     * Creates a list command whose {@code /next} carries on from the given cursor, which is moved
+     * to the last task of the page listed.
+     */
+    public ListCmd(TaskManager taskManager, String args, ListCursor cursor) {
         this.taskManager = taskManager;
+        this.args = args;
+        this.cursor = cursor;
     }
 
+    /**
+     * @return {@link ListTaskMessage} listing all tasks or a page of them, or
+     *         {@link ErrorMessage} if the list is empty, the flags are invalid or the page is past the end
+     */
     @Override
     public Message execute() {
+        Matcher matcher = LIST_PATTERN.matcher(args.trim());
+        if (!matcher.matches()) {
+            return new ErrorMessage(ErrorMessage.LIST_FORMAT);
+        }
+        boolean isShowingIds = matcher.group(1) != null;
+        boolean isNext = matcher.group(2) != null;
+        String page = matcher.group(3);
+        String size = matcher.group(4);
+        if (size != null && !isNext && page == null
+                || isZero(page) || isZero(size)) {
+            return new ErrorMessage(ErrorMessage.LIST_FORMAT);
+        }
         if (taskManager.isEmpty()) {
             return new ErrorMessage(ErrorMessage.EMPTY_LIST);
         }
+        if (!isNext && page == null) {
+            return new ListTaskMessage(taskManager, isShowingIds);
+        }
+
+        int total = taskManager.getTotalTasks();
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(size);
+        int from;
+        if (isNext) {
+            int next = cursor.position();
+            from = next < total ? next : 0;     // start over once the end has been shown
+        } else {
+            long start = (Integer.parseInt(page) - 1L) * pageSize;
+            if (start >= total) {
+                int pages = (int) ((total + (long) pageSize - 1) / pageSize);
+                return new ErrorMessage(String.format(ErrorMessage.LIST_PAGE_RANGE, Integer.parseInt(page), pages));
+            }
+            from = (int) start;
+        }
+        int to = (int) Math.min((long) from + pageSize, total);
+        cursor.moveTo(taskManager.getReadOnlyList().get(to - 1).getId());
+        return new ListTaskMessage(taskManager, isShowingIds, from, to);
+    }
 
-        return new ListTaskMessage(taskManager);
+    private static boolean isZero(String number) {
+        return number != null && Integer.parseInt(number) == 0;
     }
 }
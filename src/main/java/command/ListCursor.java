@@ -0,0 +1,74 @@
+package command;
+
+import manager.TaskChangeListener;
+import manager.TaskManager;
+import task.Task;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Place from which {@code list /next} carries on, kept for one session by the command processor
+ * rather than by the task manager, which has no need to know what was last displayed.
+ * <p>The cursor holds the id of the last task listed, the anchor, not its position, so tasks added
+ * or deleted before it do not make the next page skip or repeat any task. It listens for deletions
+ * so that, should the anchor itself be deleted, it moves back to the nearest task before it that remains.
+ */
+public class ListCursor implements TaskChangeListener {
+    private static final long NONE = 0;     // ids are positive
+
+    private final TaskManager taskManager;
+    private long anchorId = NONE;
+
+    /**
+     * Creates a cursor at the top of the list and registers it with the task manager.
+     */
+    public ListCursor(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        taskManager.addListener(this);
+    }
+
+    /**
+     * Returns the position from which the next page starts, i.e. just after the anchor,
+     * or 0 if no page has been listed.
+     */
+    public int position() {
+        Task anchor = taskManager.findTask(anchorId);
+        return anchor == null ? 0 : taskManager.getReadOnlyList().indexOf(anchor) + 1;
+    }
+
+    /**
+     * Makes the task with the given id the anchor, after listing it last.
+     *
+     * @param taskId stable id of the last task listed
+     */
+    public void moveTo(long taskId) {
+        anchorId = taskId;
+    }
+
+    @Override
+    public void taskDeleted(int index, Task task) {
+        if (task.getId() == anchorId) {
+            moveBefore(index);
+        }
+    }
+
+    @Override
+    public void tasksDeleted(BitSet indexes, List<Task> tasks) {
+        int i = 0;
+        for (int index = indexes.nextSetBit(0); index >= 0; index = indexes.nextSetBit(index + 1), i++) {
+            if (tasks.get(i).getId() == anchorId) {
+                int kept = indexes.previousClearBit(index);    // former position of the nearest task kept
+                moveBefore(kept < 0 ? 0 : kept - indexes.get(0, kept).cardinality() + 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes the task now just before the given position the anchor, or goes back to the top.
+     */
+    private void moveBefore(int index) {
+        anchorId = index > 0 ? taskManager.getReadOnlyList().get(index - 1).getId() : NONE;
+    }
+}
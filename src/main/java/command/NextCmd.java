@@ -0,0 +1,43 @@
+package command;
+
+import manager.TaskManager;
+import message.DueTasksMessage;
+import message.ErrorMessage;
+import message.Message;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * Command to show the pending deadlines and events due next ({@code next [n]}), soonest first,
+ * without reordering the list. Shows 5 tasks unless another number is given.
+ *
+ * @see TaskManager#nextDue(LocalDateTime, int)
+ */
+public class NextCmd extends BaseTaskCommand {
+    private static final int DEFAULT_COUNT = 5;
+    private static final Pattern COUNT_PATTERN = Pattern.compile("\\d{1,9}");
+
+    public NextCmd(TaskManager taskManager, String args) {
+        super(taskManager, args);
+    }
+
+    /**
+     * @return {@link DueTasksMessage} listing the tasks due next, or
+     *         {@link ErrorMessage} if the list is empty or the count is not a positive number
+     */
+    @Override
+    public Message execute() {
+        String count = args.trim();
+        if (!count.isEmpty() && (!COUNT_PATTERN.matcher(count).matches() || Integer.parseInt(count) == 0)) {
+            return new ErrorMessage(ErrorMessage.DUE_FORMAT);
+        }
+        if (taskManager.isEmpty()) {
+            return new ErrorMessage(ErrorMessage.EMPTY_LIST);
+        }
+
+        int limit = count.isEmpty() ? DEFAULT_COUNT : Integer.parseInt(count);
+        int[] positions = taskManager.nextDue(LocalDateTime.now(), limit);
+        return new DueTasksMessage(taskManager, positions, false);
+    }
+}
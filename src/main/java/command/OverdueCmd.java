@@ -0,0 +1,36 @@
+package command;
+
+import manager.TaskManager;
+import message.DueTasksMessage;
+import message.ErrorMessage;
+import message.Message;
+
+import java.time.LocalDateTime;
+
+/**
+ * Command to show the pending deadlines that are overdue, longest overdue first, without
+ * reordering the list.
+ *
+ * @see TaskManager#overdue(LocalDateTime)
+ */
+public class OverdueCmd extends BaseTaskCommand {
+    public OverdueCmd(TaskManager taskManager, String args) {
+        super(taskManager, args);
+    }
+
+    /**
+     * @return {@link DueTasksMessage} listing the overdue deadlines, or
+     *         {@link ErrorMessage} if the list is empty or arguments are given
+     */
+    @Override
+    public Message execute() {
+        if (!args.isBlank()) {
+            return new ErrorMessage(ErrorMessage.DUE_FORMAT);
+        }
+        if (taskManager.isEmpty()) {
+            return new ErrorMessage(ErrorMessage.EMPTY_LIST);
+        }
+
+        return new DueTasksMessage(taskManager, taskManager.overdue(LocalDateTime.now()), true);
+    }
+}
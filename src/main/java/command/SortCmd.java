@@ -2,27 +2,44 @@ package command;
 
 import exception.InvalidTaskFormatException.ErrorType;
 import exception.MeeBotException;
+import manager.SortKey;
 import manager.TaskManager;
 import message.ErrorMessage;
 import message.ListTaskMessage;
 import message.Message;
+import message.SortedViewMessage;
 import util.TokenizerUtil;
 
+import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Command class for sorting tasks by specified sorting mode. Sorting operations
  * are stable and the sorted order will persist until the list is modified.
- * <p>New tasks are always inserted at the bottom of the list, so a new sort command
- * must be executed to maintain the desired ordering after adding tasks.
+ * <p>By default, new tasks are inserted at the bottom of the list, so a new sort command
+ * must be executed to maintain the desired ordering after adding tasks. With {@code /keep},
+ * the order stays in force: new tasks are inserted in order, and marked or unmarked tasks
+ * are moved as needed, until the next sort.
+ * <p>With {@code /limit n}, only the first n tasks in that order are shown and the list itself is
+ * left as it is, which stays cheap on long lists. Several keys may be given, most significant
+ * first, e.g. {@code sort /by status,date /limit 20}.
  *
- * @see TaskManager#sortByDate()
- * @see TaskManager#sortByStatus()
+ * @see TaskManager#sortBy(SortKey, boolean)
+ * @see TaskManager#top(List, int)
  */
 public class SortCmd extends BaseTaskCommand {
     /* Lazy regex syntax generated with the help of ChatGPT */
     private static final Pattern SORT_PATTERN = Pattern.compile(
-            "/by\\s+(date|status)",
+            "/by\\s+([a-z]+(?:\\s*,\\s*[a-z]+)*)",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern LIMIT_PATTERN = Pattern.compile(
+            "(.*?)\\s*/limit\\s+(\\d{1,9})",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern KEEP_PATTERN = Pattern.compile(
+            "(.*?)\\s*/keep",
             Pattern.CASE_INSENSITIVE
     );
 
@@ -35,8 +52,12 @@ public class SortCmd extends BaseTaskCommand {
      * <p>Supported sorting criteria:
      * <li>{@code /by date} - sorts by first date in chronological order (tasks without dates appear last). </li>
      * <li>{@code /by status} - sorts by completion status (incomplete tasks first).</li>
+     * <li>{@code /by status,date} - sorts by status, then by date among tasks with equal status.</li>
+     * <li>{@code /limit n} - optional suffix that only shows the first n tasks, without sorting the list.</li>
+     * <li>{@code /keep} - optional suffix that keeps the list in this order as it changes, for a single key.</li>
      *
      * @return {@link ListTaskMessage} containing the sorted task list, or
+     *         {@link SortedViewMessage} containing the first tasks with {@code /limit}, or
      *         {@link ErrorMessage} if validation fails or no criteria are provided
      */
     @Override
@@ -45,15 +66,33 @@ public class SortCmd extends BaseTaskCommand {
             return new ErrorMessage(ErrorMessage.EMPTY_LIST);
         }
         try {
-            // Split input: "sort /by date|time" → ["date"|"time"]
+            // Strip optional suffix: "sort /by date /keep" → "/by date"
+            Matcher keepMatcher = KEEP_PATTERN.matcher(args.trim());
+            boolean isKept = keepMatcher.matches();
+
+            // Strip optional suffix: "sort /by date /limit 20" → "/by date"
+            String sortArgs = isKept ? keepMatcher.group(1) : args;
+            Matcher limitMatcher = LIMIT_PATTERN.matcher(sortArgs.trim());
+            boolean hasLimit = limitMatcher.matches();
+            int limit = hasLimit ? Integer.parseInt(limitMatcher.group(2)) : 0;
+
+            // Split input: "sort /by status,date" → ["status,date"]
             String[] tokens = TokenizerUtil.tokenize(
-                    args, SORT_PATTERN, 1, ErrorType.SORT
+                    hasLimit ? limitMatcher.group(1) : sortArgs, SORT_PATTERN, 1, ErrorType.SORT
             );
-            String sortMode = tokens[0].toLowerCase();
-            if (sortMode.equals("status")) {
-                taskManager.sortByStatus();
+            List<SortKey> keys = SortKey.fromKeywords(tokens[0]);
+            if (keys == null || hasLimit && limit == 0 || isKept && (hasLimit || keys.size() > 1)) {
+                throw ErrorType.SORT.createException();
+            }
+
+            if (hasLimit) {
+                int[] positions = taskManager.top(keys, limit);
+                return new SortedViewMessage(taskManager, positions, keys);
+            }
+            if (isKept) {
+                taskManager.sortBy(keys.get(0), true);
             } else {
-                taskManager.sortByDate();
+                taskManager.sortBy(keys);
             }
         } catch (MeeBotException e) {
             return e.toErrorMessage();
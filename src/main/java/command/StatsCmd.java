@@ -0,0 +1,31 @@
+package command;
+
+import manager.TaskManager;
+import message.ErrorMessage;
+import message.Message;
+import message.StatsMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Command to show how many tasks there are of each type and status, and how many are overdue or
+ * due within the next 7 days, without listing them.
+ *
+ * @see TaskManager#getStats(LocalDateTime)
+ */
+public class StatsCmd extends BaseTaskCommand {
+    public StatsCmd(TaskManager taskManager, String args) {
+        super(taskManager, args);
+    }
+
+    /**
+     * @return {@link StatsMessage} with the counts, or {@link ErrorMessage} if arguments are given
+     */
+    @Override
+    public Message execute() {
+        if (!args.isBlank()) {
+            return new ErrorMessage(ErrorMessage.STATS_FORMAT);
+        }
+        return new StatsMessage(taskManager.getStats(LocalDateTime.now()));
+    }
+}
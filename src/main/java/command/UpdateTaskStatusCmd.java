@@ -6,17 +6,23 @@ import message.ErrorMessage;
 import message.Message;
 import message.TaskMarkedMessage;
 import message.TaskUnmarkedMessage;
+import message.TasksStatusMessage;
 import task.Task;
 import util.TaskIndexParser;
 
+import java.util.BitSet;
+
 /**
  * Command to update the completion status of a task by its index.
  * This command can either mark a task as completed or mark it as pending,
  * depending on the {@code markDone} parameter provided during construction.
  * The command validates the task index and prevents redundant status changes.
+ * <p>Given a selection such as {@code 1-500,720} or {@code task:deadline}, all selected tasks are
+ * updated at once and tasks already in the requested state are skipped.
  *
  * @see TaskManager#markTaskDone(int)
  * @see TaskManager#unmarkTask(int)
+ * @see TaskManager#setStatus(BitSet, boolean)
  */
 public class UpdateTaskStatusCmd extends BaseTaskCommand {
     private final boolean markDone;
@@ -32,26 +38,37 @@ public class UpdateTaskStatusCmd extends BaseTaskCommand {
      *
      * @return {@link TaskMarkedMessage} on successful mark done, or
      *         {@link TaskUnmarkedMessage} on successful unmark, or
+     *         {@link TasksStatusMessage} on successful update of a selection, or
      *         {@link ErrorMessage} if validation fails or task doesn't exist
      */
     @Override
     public Message execute() {
         try {
+            if (TaskIndexParser.isSelection(args)) {
+                return updateSelection();
+            }
+
             int taskNumber = TaskIndexParser.parseTaskIndex(args, taskManager);
             boolean wasSorted = taskManager.isSorted();
-            Task task;
+            Task task = taskManager.getTask(taskNumber);   // before a kept sort order may move it
 
             if (markDone) {
                 taskManager.markTaskDone(taskNumber);
-                task = taskManager.getTask(taskNumber);
-                return new TaskMarkedMessage(task, wasSorted);
+                return new TaskMarkedMessage(task, wasSorted && !taskManager.isSorted());
             } else {
                 taskManager.unmarkTask(taskNumber);
-                task = taskManager.getTask(taskNumber);
-                return new TaskUnmarkedMessage(task, wasSorted);
+                return new TaskUnmarkedMessage(task, wasSorted && !taskManager.isSorted());
             }
         } catch (MeeBotException e) {
             return e.toErrorMessage();
         }
     }
+
+    private Message updateSelection() throws MeeBotException {
+        BitSet positions = TaskIndexParser.parseTaskSelection(args, taskManager);
+        boolean wasSorted = taskManager.isSorted();
+        int changedCount = taskManager.setStatus(positions, markDone);
+        return new TasksStatusMessage(changedCount, positions.cardinality(), markDone,
+                wasSorted && !taskManager.isSorted());
+    }
 }
@@ -9,13 +9,17 @@ import message.ErrorMessage;
  * <li>JSON format is invalid or malformed</li>
  * <li>Required fields are missing from the file content</li>
  * <li>Input contains unknown task types or invalid content</li>
+ * <li>A record does not match its stored checksum</li>
+ * <li>A binary snapshot has an invalid header or a truncated record</li>
  */
 public class FileContentException extends MeeBotException {
 
     public enum ErrorType {
         INVALID_JSON_FORMAT("File structure is invalid, loading failed."),
         MISSING_FIELD("File content is invalid, loading failed."),
-        INVALID_INPUT("Unknown task type or invalid content.");
+        INVALID_INPUT("Unknown task type or invalid content."),
+        CHECKSUM_MISMATCH("Record does not match its checksum."),
+        INVALID_SNAPSHOT_FORMAT("Snapshot header or record is invalid or truncated, loading failed.");
 
         private final String context;
 
@@ -16,9 +16,10 @@ public class InvalidFilterException extends MeeBotException {
      * Enumeration of possible filter error types with associated context messages.
      */
     public enum ErrorType {
-        TOO_MANY_FILTERS("Too many criteria, maximum 3 - you think this is buffet?"),
+        TOO_MANY_FILTERS("Too many criteria, maximum 16 - you think this is buffet?"),
         INVALID_FILTER_FORMAT("Wrong filter format."),
-        UNKNOWN_FILTER_KEY("Unknown filter key.");
+        UNKNOWN_FILTER_KEY("Unknown filter key."),
+        INVALID_DATE_RANGE("Date range ends before it starts.");
 
         private final String context;
 
@@ -20,6 +20,7 @@ public class InvalidTaskFormatException extends MeeBotException {
         MISSING_DESCRIPTION("Missing description after command keyword."),
         DEADLINE("Deadline format is invalid."),
         EVENT("Event format is invalid."),
+        RECURRING("Recurring task format is invalid."),
         SORT("Sort format is invalid.");
 
         private final String context;
@@ -59,6 +60,7 @@ public class InvalidTaskFormatException extends MeeBotException {
             case MISSING_DESCRIPTION -> new ErrorMessage(ErrorMessage.MISSING_DESCRIPTION);
             case DEADLINE -> new ErrorMessage(ErrorMessage.DEADLINE_FORMAT);
             case EVENT -> new ErrorMessage(ErrorMessage.EVENT_FORMAT);
+            case RECURRING -> new ErrorMessage(ErrorMessage.RECURRING_FORMAT);
             case SORT -> new ErrorMessage(ErrorMessage.SORT_FORMAT);
         };
     }
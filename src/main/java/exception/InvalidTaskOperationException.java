@@ -22,6 +22,8 @@ public class InvalidTaskOperationException extends MeeBotException {
         MISSING_TASK_NUMBER,
         INVALID_NUMBER_FORMAT,
         TASK_NOT_FOUND,
+        TASK_ID_NOT_FOUND,
+        NO_MATCHING_TASKS,
         TASK_STATE
     }
 
@@ -49,6 +51,8 @@ public class InvalidTaskOperationException extends MeeBotException {
             case MISSING_TASK_NUMBER -> new ErrorMessage(ErrorMessage.MISSING_TASK_NUMBER);
             case INVALID_NUMBER_FORMAT -> new ErrorMessage(String.format(ErrorMessage.INVALID_NUMBER_FORMAT, inputs));
             case TASK_NOT_FOUND -> new ErrorMessage(String.format(ErrorMessage.TASK_NOT_FOUND, inputs));
+            case TASK_ID_NOT_FOUND -> new ErrorMessage(String.format(ErrorMessage.TASK_ID_NOT_FOUND, inputs));
+            case NO_MATCHING_TASKS -> new ErrorMessage(String.format(ErrorMessage.NO_MATCHING_TASKS, inputs));
             case TASK_STATE -> new ErrorMessage(String.format(ErrorMessage.TASK_STATE, inputs));
         };
     }
@@ -0,0 +1,110 @@
+package manager;
+
+import task.RecurringTask;
+import task.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary index from calendar date to the tasks on that date, kept up to date by {@link TaskManager}.
+ * <p>Each task is listed under the epoch day of every date it has, i.e. a deadline's due date and an
+ * event's start and end dates, matching the {@code date:} filter which ignores the time of day.
+ * Finding the tasks within a range is a sub-map lookup, O(log n + k) for k matching entries.
+ * <p>A recurring task would need an entry for each of its occurrences, so recurring tasks are kept
+ * in a set of their own instead and each is checked for an occurrence in the range in O(1).
+ */
+class DateIndex {
+
+    private final NavigableMap<Long, List<Task>> tasksByDay = new TreeMap<>();
+    private final Set<RecurringTask> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    void add(Task task) {
+        if (task instanceof RecurringTask r) {
+            recurring.add(r);
+            return;
+        }
+        for (long day : epochDays(task)) {
+            tasksByDay.computeIfAbsent(day, d -> new ArrayList<>(2)).add(task);
+        }
+    }
+
+    void remove(Task task) {
+        if (task instanceof RecurringTask r) {
+            recurring.remove(r);
+            return;
+        }
+        for (long day : epochDays(task)) {
+            List<Task> tasks = tasksByDay.get(day);
+            if (tasks == null) {
+                continue;
+            }
+            tasks.removeIf(t -> t == task);
+            if (tasks.isEmpty()) {
+                tasksByDay.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct tasks with at least one date within the range, in no particular order.
+     */
+    Set<Task> find(DateRange range) {
+        Set<Task> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<Task> tasks : subMap(range).values()) {
+            result.addAll(tasks);
+        }
+        for (RecurringTask task : recurring) {
+            if (range.containsAny(task)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the entries within the range, stopping once the count reaches {@code cap}. A task with
+     * several dates in the range is counted for each, so this is an upper bound of what
+     * {@link #find(DateRange)} returns. It takes O(log n) plus one step per day with tasks, and
+     * every recurring task is counted without looking at its occurrences.
+     */
+    long count(DateRange range, long cap) {
+        long count = Math.min(recurring.size(), cap);
+        for (List<Task> tasks : subMap(range).values()) {
+            count += tasks.size();
+            if (count >= cap) {
+                return cap;
+            }
+        }
+        return count;
+    }
+
+    private NavigableMap<Long, List<Task>> subMap(DateRange range) {
+        long from = range.from() == null ? Long.MIN_VALUE : range.from().toEpochDay();
+        long to = range.to() == null ? Long.MAX_VALUE : range.to().toEpochDay();
+        return tasksByDay.subMap(from, true, to, true);
+    }
+
+    /**
+     * Returns the distinct epoch days of the task's dates.
+     */
+    private static long[] epochDays(Task task) {
+        List<LocalDateTime> dates = task.getDates();
+        long[] days = new long[dates.size()];
+        int count = 0;
+        for (LocalDateTime dt : dates) {
+            long day = dt.toLocalDate().toEpochDay();
+            if (count == 0 || days[count - 1] != day) {
+                days[count++] = day;
+            }
+        }
+        return count == days.length ? days : Arrays.copyOf(days, count);
+    }
+}
@@ -0,0 +1,99 @@
+package manager;
+
+import task.RecurringTask;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inclusive range of calendar dates, e.g. from {@code date:1/9/2025..30/9/2025}.
+ * A {@code null} bound leaves that side of the range open.
+ *
+ * @param from first date in the range, or {@code null} for no lower bound
+ * @param to   last date in the range, or {@code null} for no upper bound
+ */
+public record DateRange(LocalDate from, LocalDate to) {
+
+    /**
+     * Returns a range covering a single day.
+     */
+    public static DateRange of(LocalDate date) {
+        return new DateRange(date, date);
+    }
+
+    public boolean contains(LocalDate date) {
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    /**
+     * Checks if any of the given date-times falls on a date within this range, ignoring time.
+     */
+    public boolean containsAny(List<LocalDateTime> dateTimes) {
+        for (LocalDateTime dt : dateTimes) {
+            if (contains(dt.toLocalDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if any occurrence of a recurring task falls on a date within this range, ignoring time,
+     * without going through the occurrences before it.
+     */
+    public boolean containsAny(RecurringTask task) {
+        return task.occursBetween(from, to);
+    }
+
+    /**
+     * Checks if the span from the first to the last of the given date-times overlaps this range,
+     * e.g. an event running through it. An empty list overlaps nothing.
+     * <p>Spans are compared as {@link IntervalTree} keeps them, half-open in minutes, so an event
+     * ending at 00:00 does not overlap the day it ends on, and date-only spans cover whole days.
+     *
+     * @param hasTime whether the date-times have a time of day
+     */
+    public boolean overlaps(List<LocalDateTime> dateTimes, boolean hasTime) {
+        if (dateTimes.isEmpty()) {
+            return false;
+        }
+        return IntervalTree.startOf(dateTimes, hasTime) < toMinute()
+                && IntervalTree.endOf(dateTimes, hasTime) > fromMinute();
+    }
+
+    /**
+     * Returns the first epoch minute of the range, or {@link Long#MIN_VALUE} if it has no lower bound.
+     */
+    long fromMinute() {
+        return from == null ? Long.MIN_VALUE : from.toEpochDay() * IntervalTree.MINUTES_PER_DAY;
+    }
+
+    /**
+     * Returns the epoch minute just after the range, or {@link Long#MAX_VALUE} if it has no upper bound.
+     */
+    long toMinute() {
+        return to == null ? Long.MAX_VALUE : (to.toEpochDay() + 1) * IntervalTree.MINUTES_PER_DAY;
+    }
+
+    /**
+     * Returns the number of days covered, or {@link Long#MAX_VALUE} for an open range.
+     */
+    public long lengthInDays() {
+        if (from == null || to == null) {
+            return Long.MAX_VALUE;
+        }
+        return to.toEpochDay() - from.toEpochDay() + 1;
+    }
+
+    /**
+     * Returns the range in filter syntax, e.g. {@code 2025-09-01..2025-09-30}, or a single date.
+     */
+    @Override
+    public String toString() {
+        if (from != null && from.equals(to)) {
+            return from.toString();
+        }
+        return (from == null ? "" : from.toString()) + ".." + (to == null ? "" : to.toString());
+    }
+}
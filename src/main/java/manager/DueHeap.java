@@ -0,0 +1,185 @@
+package manager;
+
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Indexed binary min-heap of tasks, each with a key, ordered by key and then by id.
+ * <p>The heap position of every task is kept in a map, so a task can be removed in O(log n)
+ * without searching for it. The k smallest tasks are read without removing anything by expanding
+ * the heap from its root in key order, which takes O(k log k) however many tasks the heap holds.
+ */
+final class DueHeap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+    private int size;
+
+    /**
+     * Adds a task that is not in the heap yet.
+     */
+    void add(Task task, long key) {
+        if (size == tasks.length) {
+            tasks = Arrays.copyOf(tasks, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        set(size, task, key);
+        siftUp(size++);
+    }
+
+    /**
+     * Removes a task, if present.
+     *
+     * @return whether the task was in the heap
+     */
+    boolean remove(Task task) {
+        Integer position = positions.remove(task);
+        if (position == null) {
+            return false;
+        }
+        size--;
+        if (position != size) {
+            set(position, tasks[size], keys[size]);
+            if (!siftUp(position)) {
+                siftDown(position);
+            }
+        }
+        tasks[size] = null;
+        return true;
+    }
+
+    /**
+     * Removes and returns the task with the smallest key, or {@code null} if the heap is empty.
+     */
+    Task poll() {
+        if (size == 0) {
+            return null;
+        }
+        Task first = tasks[0];
+        remove(first);
+        return first;
+    }
+
+    /**
+     * Returns the smallest key. The heap must not be empty.
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns up to {@code limit} tasks with the smallest keys, smallest first, leaving the heap unchanged.
+     */
+    List<Task> smallest(int limit) {
+        List<Task> result = new ArrayList<>(Math.min(limit, size));
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+        if (size > 0) {
+            frontier.add(0);
+        }
+        while (result.size() < limit && !frontier.isEmpty()) {
+            int position = frontier.poll();
+            result.add(tasks[position]);
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all tasks with a key from {@code fromKey} on, in no particular order, found by skipping
+     * every subtree whose root is already at or above it.
+     */
+    List<Task> atOrAbove(long fromKey) {
+        List<Task> result = new ArrayList<>();
+        collectAtOrAbove(0, fromKey, result);
+        return result;
+    }
+
+    private void collectAtOrAbove(int position, long fromKey, List<Task> result) {
+        if (position >= size) {
+            return;
+        }
+        if (keys[position] >= fromKey) {
+            collectSubtree(position, result);
+            return;
+        }
+        collectAtOrAbove(2 * position + 1, fromKey, result);
+        collectAtOrAbove(2 * position + 2, fromKey, result);
+    }
+
+    private void collectSubtree(int position, List<Task> result) {
+        if (position < size) {
+            result.add(tasks[position]);
+            collectSubtree(2 * position + 1, result);
+            collectSubtree(2 * position + 2, result);
+        }
+    }
+
+    private int compare(int i, int j) {
+        int byKey = Long.compare(keys[i], keys[j]);
+        return byKey != 0 ? byKey : Long.compare(tasks[i].getId(), tasks[j].getId());
+    }
+
+    private void set(int position, Task task, long key) {
+        tasks[position] = task;
+        keys[position] = key;
+        positions.put(task, position);
+    }
+
+    private void swap(int i, int j) {
+        Task task = tasks[i];
+        long key = keys[i];
+        set(i, tasks[j], keys[j]);
+        set(j, task, key);
+    }
+
+    /**
+     * @return whether the task moved
+     */
+    private boolean siftUp(int position) {
+        int start = position;
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (compare(position, parent) >= 0) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+        return position != start;
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                if (compare(child, smallest) < 0) {
+                    smallest = child;
+                }
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package manager;
+
+import task.RecurringTask;
+import task.Task;
+import task.TaskType;
+import util.EpochMinutes;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pending deadlines and events ordered by when they are due, kept up to date by {@link TaskManager}
+ * so that the next and overdue tasks are found without sorting the list.
+ * <p>A deadline is due at its time, or at the end of its day if it has none; an event is due when it
+ * starts, or at the start of its day. Tasks still ahead of the time of the last query sit in two
+ * {@link DueHeap}s, one for those due within a week of that time and one for those due later. When a
+ * query comes later, the tasks that have come within a week since are taken off the top of the later
+ * heap, and those that have become due off the top of the week's heap and moved to a heap of overdue
+ * deadlines or a set of started events. So each task moves at most twice as time goes on, the queries
+ * only read the first tasks of a heap, and the numbers of overdue tasks and of tasks due within the
+ * week are the sizes of their heaps. Should the time go back, e.g. when daylight saving ends, tasks
+ * no longer due are moved back.
+ * <p>A recurring task is due at each occurrence, like an event, and is only ever held for its next
+ * one: once that has passed, the task goes back into the heaps keyed by the following occurrence,
+ * found in O(1), until its last occurrence has passed too.
+ */
+final class DueQueue {
+
+    /** How far ahead a task counts as due soon. */
+    static final long SOON_MINUTES = 7 * 24 * 60;
+
+    private final DueHeap soon = new DueHeap();     // due from the cutoff to a week after it
+    private final DueHeap later = new DueHeap();
+    private final DueHeap overdue = new DueHeap();
+    private final Set<Task> started = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<RecurringTask> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long cutoff = Long.MIN_VALUE;   // minute of the last query
+
+    /**
+     * Adds a task if it is pending and has a date. The task must not be in the queue yet.
+     */
+    void add(Task task) {
+        if (task.isDone() || task.getFirstDate() == null) {
+            return;
+        }
+        if (task instanceof RecurringTask r) {
+            recurring.add(r);
+            addRecurring(r, cutoff);
+            return;
+        }
+        long key = keyOf(task);
+        if (key >= cutoff) {
+            addUpcoming(task, key);
+        } else {
+            addPassed(task, key);
+        }
+    }
+
+    /**
+     * Removes a task, if present.
+     */
+    void remove(Task task) {
+        if (task instanceof RecurringTask r) {
+            recurring.remove(r);
+        }
+        if (!soon.remove(task) && !later.remove(task) && !overdue.remove(task)) {
+            started.remove(task);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} tasks not yet due at the given time, the soonest first.
+     */
+    List<Task> next(LocalDateTime now, int limit) {
+        moveTo(EpochMinutes.toEpochMinute(now));
+        List<Task> next = soon.smallest(limit);
+        if (next.size() < limit) {
+            next.addAll(later.smallest(limit - next.size()));
+        }
+        return next;
+    }
+
+    /**
+     * Returns the deadlines already due at the given time, the longest overdue first.
+     */
+    List<Task> overdue(LocalDateTime now) {
+        moveTo(EpochMinutes.toEpochMinute(now));
+        return overdue.smallest(overdue.size());
+    }
+
+    /**
+     * Returns the number of deadlines already due at the given time.
+     */
+    int countOverdue(LocalDateTime now) {
+        moveTo(EpochMinutes.toEpochMinute(now));
+        return overdue.size();
+    }
+
+    /**
+     * Returns the number of tasks not yet due at the given time that are due within {@link #SOON_MINUTES}.
+     */
+    int countDueSoon(LocalDateTime now) {
+        moveTo(EpochMinutes.toEpochMinute(now));
+        return soon.size();
+    }
+
+    /**
+     * Returns the minute at which a pending task with a date is due, i.e. its first occurrence if it recurs.
+     */
+    static long keyOf(Task task) {
+        LocalDateTime first = task.getFirstDate();
+        if (task.hasTime()) {
+            return EpochMinutes.toEpochMinute(first);
+        }
+        LocalDateTime day = first.toLocalDate().atStartOfDay();
+        return EpochMinutes.toEpochMinute(task.getTaskType() == TaskType.DEADLINE ? day.plusDays(1) : day);
+    }
+
+    private void moveTo(long minute) {
+        long previous = cutoff;
+        cutoff = minute;
+        if (minute > previous) {
+            while (!soon.isEmpty() && soon.peekKey() < minute) {
+                long key = soon.peekKey();
+                pass(soon.poll(), key);
+            }
+            while (!later.isEmpty() && later.peekKey() < minute + SOON_MINUTES) {
+                long key = later.peekKey();
+                Task task = later.poll();
+                if (key < minute) {
+                    pass(task, key);
+                } else {
+                    soon.add(task, key);
+                }
+            }
+        } else if (minute < previous) {
+            for (Task task : overdue.atOrAbove(minute)) {
+                overdue.remove(task);
+                addUpcoming(task, keyOf(task));
+            }
+            started.removeIf(task -> {
+                if (task instanceof RecurringTask) {
+                    return false;
+                }
+                long key = keyOf(task);
+                if (key < minute) {
+                    return false;
+                }
+                addUpcoming(task, key);
+                return true;
+            });
+            for (Task task : soon.atOrAbove(minute + SOON_MINUTES)) {
+                soon.remove(task);
+                if (!(task instanceof RecurringTask)) {
+                    later.add(task, keyOf(task));    // recurring tasks are keyed again below
+                }
+            }
+            for (RecurringTask task : recurring) {
+                if (!soon.remove(task) && !later.remove(task)) {
+                    started.remove(task);
+                }
+                addRecurring(task, minute);
+            }
+        }
+    }
+
+    private void addUpcoming(Task task, long key) {
+        (key < cutoff + SOON_MINUTES ? soon : later).add(task, key);
+    }
+
+    /**
+     * Files a task taken off the upcoming heaps as its due time has passed, or puts a recurring task
+     * back keyed by its next occurrence.
+     */
+    private void pass(Task task, long key) {
+        if (task instanceof RecurringTask r) {
+            addRecurring(r, cutoff);
+        } else {
+            addPassed(task, key);
+        }
+    }
+
+    /**
+     * Adds a recurring task keyed by its first occurrence from the given minute on, or as started
+     * if all its occurrences are before it.
+     */
+    private void addRecurring(RecurringTask task, long fromMinute) {
+        LocalDateTime next = fromMinute == Long.MIN_VALUE
+                ? task.getStart()
+                : task.nextOccurrence(EpochMinutes.toDateTime(fromMinute, false).dateTime());
+        if (next == null) {
+            started.add(task);
+        } else {
+            addUpcoming(task, EpochMinutes.toEpochMinute(next));
+        }
+    }
+
+    private void addPassed(Task task, long key) {
+        if (task.getTaskType() == TaskType.DEADLINE) {
+            overdue.add(task, key);
+        } else {
+            started.add(task);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package manager;
+
+import task.RecurringTask;
+import task.Task;
+import task.TaskType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Node of a parsed filter expression, as built by {@link util.TaskFilterParser#parseQuery(String)}.
+ * <p>Criteria are the leaves, combined by {@link And}, {@link Or} and {@link Not}. Every node can
+ * test a single task; {@link QueryPlanner} decides which nodes are answered from an index instead.
+ * {@link #toString()} gives the expression back in filter syntax, with brackets only where needed.
+ */
+public sealed interface FilterNode permits FilterNode.And, FilterNode.Or, FilterNode.Not,
+        FilterNode.TypeIs, FilterNode.StatusIs, FilterNode.HasDate, FilterNode.Overlaps, FilterNode.Contains {
+
+    boolean test(Task task);
+
+    /**
+     * Returns the relative cost of testing one task, used to order the checks of a plan.
+     */
+    int cost();
+
+    /**
+     * Matches tasks passing all of its children, e.g. {@code task:deadline & done:false}.
+     */
+    record And(List<FilterNode> children) implements FilterNode {
+        public And {
+            children = List.copyOf(children);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (FilterNode child : children) {
+                if (!child.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int cost() {
+            return children.stream().mapToInt(FilterNode::cost).sum();
+        }
+
+        @Override
+        public String toString() {
+            return children.stream()
+                    .map(child -> child instanceof Or ? "(" + child + ")" : child.toString())
+                    .collect(Collectors.joining(" & "));
+        }
+    }
+
+    /**
+     * Matches tasks passing any of its children, e.g. {@code task:deadline | task:event}.
+     */
+    record Or(List<FilterNode> children) implements FilterNode {
+        public Or {
+            children = List.copyOf(children);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (FilterNode child : children) {
+                if (child.test(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int cost() {
+            return children.stream().mapToInt(FilterNode::cost).sum();
+        }
+
+        @Override
+        public String toString() {
+            return children.stream().map(FilterNode::toString).collect(Collectors.joining(" | "));
+        }
+    }
+
+    /**
+     * Matches tasks failing its child, e.g. {@code !done:true}.
+     */
+    record Not(FilterNode child) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            return !child.test(task);
+        }
+
+        @Override
+        public int cost() {
+            return child.cost();
+        }
+
+        @Override
+        public String toString() {
+            return child instanceof And || child instanceof Or ? "!(" + child + ")" : "!" + child;
+        }
+    }
+
+    /**
+     * {@code task:} criterion. An unknown keyword has no type and matches no task.
+     */
+    record TypeIs(TaskType type, String keyword) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            return task.getTaskType() == type;
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "task:" + keyword;
+        }
+    }
+
+    /**
+     * {@code done:} criterion.
+     */
+    record StatusIs(boolean isDone) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            return task.isDone() == isDone;
+        }
+
+        @Override
+        public int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return "done:" + isDone;
+        }
+    }
+
+    /**
+     * {@code date:} criterion, matching tasks with any date within the range.
+     */
+    record HasDate(DateRange range) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            return task instanceof RecurringTask recurring
+                    ? range.containsAny(recurring)
+                    : range.containsAny(task.getDates());
+        }
+
+        @Override
+        public int cost() {
+            return 3;
+        }
+
+        @Override
+        public String toString() {
+            return "date:" + range;
+        }
+    }
+
+    /**
+     * {@code during:} criterion, matching tasks whose span overlaps the range.
+     */
+    record Overlaps(DateRange range) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            // Occurrences have no length, so a recurring task overlaps where it occurs
+            return task instanceof RecurringTask recurring
+                    ? range.containsAny(recurring)
+                    : range.overlaps(task.getDates(), task.hasTime());
+        }
+
+        @Override
+        public int cost() {
+            return 3;
+        }
+
+        @Override
+        public String toString() {
+            return "during:" + range;
+        }
+    }
+
+    /**
+     * {@code desc:} criterion, matching descriptions containing the lowercased term, ignoring case.
+     */
+    record Contains(String term) implements FilterNode {
+        @Override
+        public boolean test(Task task) {
+            return task.getDescription().toLowerCase().contains(term);
+        }
+
+        @Override
+        public int cost() {
+            return 5;
+        }
+
+        /**
+         * Quotes the term if it holds an operator symbol or bracket, so that it parses back as one criterion.
+         */
+        @Override
+        public String toString() {
+            boolean isQuoted = term.chars().anyMatch(c -> "&|()".indexOf(c) >= 0);
+            return isQuoted ? "desc:\"" + term + "\"" : "desc:" + term;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package manager;
+
+import task.RecurringTask;
+import task.Task;
+import util.EpochMinutes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Secondary index over the time span of each dated task, kept up to date by {@link TaskManager}.
+ * <p>An event spans from its start to its end, and a deadline is a point at its due time. Spans are
+ * half-open intervals of epoch minutes, and a task without a time of day spans whole days, so a
+ * date-only event ending on the 18th still covers the 18th.
+ * <p>The spans are kept in a left-leaning red-black tree ordered by start, where every node also
+ * holds the latest end in its subtree. A lookup skips every subtree that ends before the query
+ * range and every right subtree that starts after it, so finding the k overlapping tasks takes
+ * O(log n + k) for typical spans, and O(k log n) at worst, instead of scanning the whole list.
+ * <p>A recurring task is a point, or a day, at each occurrence rather than one span. Recurring tasks
+ * are kept in a set of their own, and each is checked for an occurrence in the query range in O(1).
+ */
+class IntervalTree {
+
+    static final long MINUTES_PER_DAY = 24 * 60;
+
+    private static final class Node {
+        private long start;
+        private long end;
+        private long id;
+        private Task task;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+        private boolean isRed = true;
+
+        private Node(long start, long end, Task task) {
+            this.start = start;
+            this.end = end;
+            this.id = task.getId();
+            this.task = task;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private final Set<RecurringTask> recurring = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Adds a task, which must have a unique id and not be in the tree yet. Tasks without dates are ignored.
+     */
+    void add(Task task) {
+        if (task instanceof RecurringTask r) {
+            recurring.add(r);
+            return;
+        }
+        List<LocalDateTime> dates = task.getDates();
+        if (dates.isEmpty()) {
+            return;
+        }
+        root = insert(root, new Node(startOf(dates, task.hasTime()), endOf(dates, task.hasTime()), task));
+        root.isRed = false;
+        size++;
+    }
+
+    /**
+     * Removes a task, if present.
+     */
+    void remove(Task task) {
+        if (task instanceof RecurringTask r) {
+            recurring.remove(r);
+            return;
+        }
+        List<LocalDateTime> dates = task.getDates();
+        if (dates.isEmpty()) {
+            return;
+        }
+        long start = startOf(dates, task.hasTime());
+        long end = endOf(dates, task.hasTime());
+        if (!contains(start, end, task.getId())) {
+            return;
+        }
+
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.isRed = true;
+        }
+        root = delete(root, start, end, task.getId());
+        if (root != null) {
+            root.isRed = false;
+        }
+        size--;
+    }
+
+    /**
+     * Returns the tasks whose span overlaps the half-open range of epoch minutes, ordered by start.
+     * A recurring task is placed by its first occurrence in the range.
+     */
+    List<Task> overlapping(long from, long to) {
+        List<Task> result = new ArrayList<>();
+        collect(root, from, to, result);
+        if (recurring.isEmpty()) {
+            return result;
+        }
+
+        List<long[]> occurring = new ArrayList<>();   // {start, index into tasks}
+        List<RecurringTask> tasks = new ArrayList<>();
+        for (RecurringTask task : recurring) {
+            long start = firstOccurrenceStart(task, from);
+            if (start < to) {
+                occurring.add(new long[] {start, tasks.size()});
+                tasks.add(task);
+            }
+        }
+        occurring.sort(Comparator.comparingLong(o -> o[0]));
+
+        List<Task> merged = new ArrayList<>(result.size() + occurring.size());
+        int i = 0;
+        for (long[] o : occurring) {
+            while (i < result.size() && startOf(result.get(i)) <= o[0]) {
+                merged.add(result.get(i++));
+            }
+            merged.add(tasks.get((int) o[1]));
+        }
+        merged.addAll(result.subList(i, result.size()));
+        return merged;
+    }
+
+    /**
+     * Returns the tasks with a span overlapping the range of days, ordered by start.
+     */
+    List<Task> overlapping(DateRange range) {
+        return overlapping(range.fromMinute(), range.toMinute());
+    }
+
+    /**
+     * Counts the tasks with a span overlapping the range of days, stopping once the count reaches
+     * {@code cap}, so the cost is bounded by the cap rather than by the number of matches.
+     */
+    long count(DateRange range, long cap) {
+        long from = range.fromMinute();
+        long to = range.toMinute();
+        long count = count(root, from, to, cap);
+        for (RecurringTask task : recurring) {
+            if (count >= cap) {
+                return cap;
+            }
+            if (firstOccurrenceStart(task, from) < to) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the first minute of the span of a task with the given dates.
+     */
+    static long startOf(List<LocalDateTime> dates, boolean hasTime) {
+        LocalDateTime first = dates.get(0);
+        return hasTime
+                ? EpochMinutes.toEpochMinute(first)
+                : first.toLocalDate().toEpochDay() * MINUTES_PER_DAY;
+    }
+
+    /**
+     * Returns the minute just after the span of a task with the given dates. A span is at least one minute long.
+     */
+    static long endOf(List<LocalDateTime> dates, boolean hasTime) {
+        LocalDateTime last = dates.get(dates.size() - 1);
+        if (!hasTime) {
+            return (last.toLocalDate().toEpochDay() + 1) * MINUTES_PER_DAY;
+        }
+        return Math.max(EpochMinutes.toEpochMinute(last), startOf(dates, true) + 1);
+    }
+
+    private static long startOf(Task task) {
+        return startOf(task.getDates(), task.hasTime());
+    }
+
+    /**
+     * Returns the first minute of the first occurrence of a recurring task that ends after the given
+     * minute, or {@link Long#MAX_VALUE} if there is none. An occurrence without time spans its day.
+     */
+    private static long firstOccurrenceStart(RecurringTask task, long from) {
+        LocalDateTime next;
+        if (from == Long.MIN_VALUE) {
+            next = task.getStart();
+        } else {
+            long length = task.hasTime() ? 1 : MINUTES_PER_DAY;
+            next = task.nextOccurrence(EpochMinutes.toDateTime(from - length + 1, false).dateTime());
+        }
+        if (next == null) {
+            return Long.MAX_VALUE;
+        }
+        return task.hasTime()
+                ? EpochMinutes.toEpochMinute(next)
+                : next.toLocalDate().toEpochDay() * MINUTES_PER_DAY;
+    }
+
+    /* ==================== Lookup ==================== */
+
+    private static void collect(Node h, long from, long to, List<Task> result) {
+        while (h != null && h.maxEnd > from) {
+            collect(h.left, from, to, result);
+            if (h.start >= to) {
+                return;     // so does every task to the right
+            }
+            if (h.end > from) {
+                result.add(h.task);
+            }
+            h = h.right;
+        }
+    }
+
+    private static long count(Node h, long from, long to, long cap) {
+        long count = 0;
+        while (h != null && h.maxEnd > from && count < cap) {
+            count += count(h.left, from, to, cap - count);
+            if (h.start >= to) {
+                break;
+            }
+            if (h.end > from) {
+                count++;
+            }
+            h = h.right;
+        }
+        return Math.min(count, cap);
+    }
+
+    private boolean contains(long start, long end, long id) {
+        Node h = root;
+        while (h != null) {
+            int cmp = compare(start, end, id, h);
+            if (cmp == 0) {
+                return true;
+            }
+            h = cmp < 0 ? h.left : h.right;
+        }
+        return false;
+    }
+
+    private static int compare(long start, long end, long id, Node h) {
+        if (start != h.start) {
+            return Long.compare(start, h.start);
+        }
+        if (end != h.end) {
+            return Long.compare(end, h.end);
+        }
+        return Long.compare(id, h.id);
+    }
+
+    /* ==================== Red-black tree ==================== */
+
+    private static Node insert(Node h, Node node) {
+        if (h == null) {
+            return node;
+        }
+        if (compare(node.start, node.end, node.id, h) < 0) {
+            h.left = insert(h.left, node);
+        } else {
+            h.right = insert(h.right, node);
+        }
+        return balance(h);
+    }
+
+    private static Node delete(Node h, long start, long end, long id) {
+        if (compare(start, end, id, h) < 0) {
+            if (!isRed(h.left) && !isRed(h.left.left)) {
+                h = moveRedLeft(h);
+            }
+            h.left = delete(h.left, start, end, id);
+            return balance(h);
+        }
+
+        if (isRed(h.left)) {
+            h = rotateRight(h);
+        }
+        if (compare(start, end, id, h) == 0 && h.right == null) {
+            return null;
+        }
+        if (!isRed(h.right) && !isRed(h.right.left)) {
+            h = moveRedRight(h);
+        }
+        if (compare(start, end, id, h) == 0) {
+            // Take over the next task in order, then remove that one from the right subtree
+            Node next = h.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            h.start = next.start;
+            h.end = next.end;
+            h.id = next.id;
+            h.task = next.task;
+            h.right = deleteMin(h.right);
+        } else {
+            h.right = delete(h.right, start, end, id);
+        }
+        return balance(h);
+    }
+
+    private static Node deleteMin(Node h) {
+        if (h.left == null) {
+            return null;
+        }
+        if (!isRed(h.left) && !isRed(h.left.left)) {
+            h = moveRedLeft(h);
+        }
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    private static boolean isRed(Node h) {
+        return h != null && h.isRed;
+    }
+
+    private static Node rotateLeft(Node h) {
+        Node x = h.right;
+        h.right = x.left;
+        x.left = h;
+        x.isRed = h.isRed;
+        h.isRed = true;
+        update(h);
+        update(x);
+        return x;
+    }
+
+    private static Node rotateRight(Node h) {
+        Node x = h.left;
+        h.left = x.right;
+        x.right = h;
+        x.isRed = h.isRed;
+        h.isRed = true;
+        update(h);
+        update(x);
+        return x;
+    }
+
+    private static void flipColors(Node h) {
+        h.isRed = !h.isRed;
+        h.left.isRed = !h.left.isRed;
+        h.right.isRed = !h.right.isRed;
+    }
+
+    private static Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.right.left)) {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private static Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.left.left)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private static Node balance(Node h) {
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            flipColors(h);
+        }
+        update(h);
+        return h;
+    }
+
+    /**
+     * Recomputes the latest end in the subtree of a node from its children.
+     */
+    private static void update(Node h) {
+        long maxEnd = h.end;
+        if (h.left != null) {
+            maxEnd = Math.max(maxEnd, h.left.maxEnd);
+        }
+        if (h.right != null) {
+            maxEnd = Math.max(maxEnd, h.right.maxEnd);
+        }
+        h.maxEnd = maxEnd;
+    }
+}
@@ -0,0 +1,204 @@
+package manager;
+
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the words in task descriptions to the tasks containing them,
+ * kept up to date by {@link TaskManager}.
+ * <p>Descriptions are lowercased and split into words at every character that is not a letter
+ * or digit. A search term made of letters and digits only can only occur inside a single word,
+ * so its matches are the tasks of every indexed word containing it. Whole-word matches are a direct
+ * lookup; partial-word matches (e.g. "book" in "notebook") are found through a trigram index over
+ * the distinct words, so neither needs to look at every task. Terms spanning several words are looked
+ * up by their longest piece and then verified against the descriptions of those candidates.
+ * <p>Words that no longer occur in any task are left in the trigram index, where lookups skip them,
+ * and the trigram index is rebuilt once such stale words outnumber the live ones. This keeps deletes
+ * from scanning long trigram lists. A stale word that is added again is live once more without
+ * being indexed twice, so every word appears at most once in each trigram list.
+ */
+class KeywordIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_STALE_WORDS = 1024;
+
+    private final Map<String, List<Task>> postings = new HashMap<>();
+    private final Map<String, List<String>> wordsByTrigram = new HashMap<>();
+    private final Set<String> staleWords = new HashSet<>();    // still in the trigram index
+
+    void add(Task task) {
+        for (String word : words(task.getDescription().toLowerCase())) {
+            List<Task> tasks = postings.get(word);
+            if (tasks == null) {
+                tasks = new ArrayList<>(1);
+                postings.put(word, tasks);
+                if (!staleWords.remove(word)) {
+                    indexTrigrams(word);
+                }
+            }
+            tasks.add(task);
+        }
+    }
+
+    void remove(Task task) {
+        for (String word : words(task.getDescription().toLowerCase())) {
+            List<Task> tasks = postings.get(word);
+            if (tasks != null && tasks.removeIf(t -> t == task) && tasks.isEmpty()) {
+                postings.remove(word);
+                staleWords.add(word);
+            }
+        }
+        if (staleWords.size() > Math.max(MIN_STALE_WORDS, postings.size())) {
+            wordsByTrigram.clear();
+            postings.keySet().forEach(this::indexTrigrams);
+            staleWords.clear();
+        }
+    }
+
+    private void indexTrigrams(String word) {
+        for (String trigram : trigrams(word)) {
+            wordsByTrigram.computeIfAbsent(trigram, t -> new ArrayList<>()).add(word);
+        }
+    }
+
+    /**
+     * Returns the tasks whose lowercased description contains the term, in no particular order.
+     *
+     * @param term lowercased search term
+     * @return matching tasks, or {@code null} if the term has no letters or digits and
+     *         cannot be answered from the index
+     */
+    Set<Task> find(String term) {
+        List<String> pieces = words(term);
+        if (pieces.isEmpty()) {
+            return null;
+        }
+
+        String longest = pieces.get(0);
+        for (String piece : pieces) {
+            if (piece.length() > longest.length()) {
+                longest = piece;
+            }
+        }
+        Set<Task> candidates = containing(longest);
+        if (longest.length() == term.length()) {
+            return candidates;  // a single word, no verification needed
+        }
+        candidates.removeIf(task -> !task.getDescription().toLowerCase().contains(term));
+        return candidates;
+    }
+
+    /**
+     * Estimates how many tasks {@link #find(String)} returns without collecting them, by adding up
+     * the postings of the words containing the term's longest piece. Tasks with several such words
+     * are counted for each, so this is an upper bound.
+     *
+     * @param term lowercased search term
+     * @return the estimate, or {@code -1} if the term cannot be answered from the index
+     */
+    long estimate(String term) {
+        List<String> pieces = words(term);
+        if (pieces.isEmpty()) {
+            return -1;
+        }
+        String longest = pieces.get(0);
+        for (String piece : pieces) {
+            if (piece.length() > longest.length()) {
+                longest = piece;
+            }
+        }
+
+        long count = 0;
+        for (String indexed : wordsContaining(longest)) {
+            List<Task> tasks = postings.get(indexed);
+            if (tasks != null) {
+                count += tasks.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tasks with any word containing the given word.
+     */
+    private Set<Task> containing(String word) {
+        Set<Task> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String indexed : wordsContaining(word)) {
+            List<Task> tasks = postings.get(indexed);
+            if (tasks != null) {    // null for stale words
+                result.addAll(tasks);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct indexed words containing the given word, possibly including stale words.
+     * Words shorter than a trigram are matched against the whole vocabulary.
+     */
+    private List<String> wordsContaining(String word) {
+        Iterable<String> candidates = postings.keySet();
+        if (word.length() >= GRAM) {
+            List<String> rarest = null;
+            for (String trigram : trigrams(word)) {
+                List<String> words = wordsByTrigram.get(trigram);
+                if (words == null) {
+                    return List.of();
+                }
+                if (rarest == null || words.size() < rarest.size()) {
+                    rarest = words;
+                }
+            }
+            candidates = rarest;
+        }
+
+        List<String> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (candidate.contains(word)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the distinct three-character substrings of the word.
+     */
+    private static List<String> trigrams(String word) {
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            String trigram = word.substring(i, i + GRAM);
+            if (word.indexOf(trigram) == i) {
+                trigrams.add(trigram);
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Splits text into its distinct words, i.e. maximal runs of letters and digits.
+     */
+    static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(words);
+    }
+}
@@ -0,0 +1,101 @@
+package manager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * How {@link TaskManager} answers a filter expression, as chosen by {@link QueryPlanner}.
+ * <p>A plan fetches candidates through one access path, keeps those set in the combined type and
+ * status bitmaps, if any, and then tests the remaining criteria on each candidate in order.
+ */
+public final class QueryPlan {
+
+    /**
+     * Ways of fetching the candidate tasks of a plan.
+     */
+    public enum Access {
+        SCAN("Scan all %d tasks"),
+        BITMAPS("Read the type/status bitmaps for %s, %d tasks"),
+        DATE_INDEX("Look up %s in the date index, about %d tasks"),
+        SPAN_INDEX("Look up %s in the interval tree, about %d tasks"),
+        KEYWORD_INDEX("Look up %s in the keyword postings, about %d tasks");
+
+        private final String description;
+
+        Access(String description) {
+            this.description = description;
+        }
+    }
+
+    private final FilterNode root;
+    private final Access access;
+    private final FilterNode driver;
+    private final FilterNode bitmapFilter;
+    private final BitSet bitmapMatches;
+    private final List<FilterNode> residuals;
+    private final long estimatedRows;
+
+    /**
+     * @param root          the whole filter expression
+     * @param access        how candidates are fetched
+     * @param driver        the criterion answered by the access path, or {@code null} for a scan
+     * @param bitmapFilter  the criteria answered by the bitmaps, or {@code null} if there are none
+     * @param bitmapMatches the positions matching {@code bitmapFilter}, or {@code null} if there are none
+     * @param residuals     the criteria left to test on each candidate, in the order to test them
+     * @param estimatedRows the expected number of candidates fetched
+     */
+    QueryPlan(FilterNode root, Access access, FilterNode driver, FilterNode bitmapFilter, BitSet bitmapMatches,
+              List<FilterNode> residuals, long estimatedRows) {
+        this.root = root;
+        this.access = access;
+        this.driver = driver;
+        this.bitmapFilter = bitmapFilter;
+        this.bitmapMatches = bitmapMatches;
+        this.residuals = List.copyOf(residuals);
+        this.estimatedRows = estimatedRows;
+    }
+
+    public FilterNode getRoot() {
+        return root;
+    }
+
+    public Access getAccess() {
+        return access;
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Returns the steps of the plan in order, one line each, for {@code explain}.
+     */
+    public List<String> describe() {
+        List<String> steps = new ArrayList<>();
+        steps.add(access == Access.SCAN
+                ? String.format(access.description, estimatedRows)
+                : String.format(access.description, driver, estimatedRows));
+        if (bitmapFilter != null && access != Access.BITMAPS) {
+            steps.add(String.format("Keep those set in the bitmaps for %s, %d tasks",
+                    bitmapFilter, bitmapMatches.cardinality()));
+        }
+        if (!residuals.isEmpty()) {
+            steps.add("Check " + residuals.stream().map(FilterNode::toString).collect(Collectors.joining(", then ")));
+        }
+        return steps;
+    }
+
+    FilterNode getDriver() {
+        return driver;
+    }
+
+    BitSet getBitmapMatches() {
+        return bitmapMatches;
+    }
+
+    List<FilterNode> getResiduals() {
+        return residuals;
+    }
+}
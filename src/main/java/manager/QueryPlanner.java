@@ -0,0 +1,235 @@
+package manager;
+
+import manager.FilterNode.And;
+import manager.FilterNode.Contains;
+import manager.FilterNode.HasDate;
+import manager.FilterNode.Not;
+import manager.FilterNode.Or;
+import manager.FilterNode.Overlaps;
+import manager.FilterNode.StatusIs;
+import manager.FilterNode.TypeIs;
+import manager.QueryPlan.Access;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chooses how to answer a filter expression from the indexes of a {@link TaskManager}.
+ * <p>The expression is split into its top-level conjuncts. Conjuncts made only of {@code task:} and
+ * {@code done:} criteria, combined in any way, are answered exactly by the {@link TaskBitmaps}. Each
+ * {@code date:}, {@code during:} or {@code desc:} conjunct could instead drive the plan from the date
+ * index, interval tree or keyword postings. Their sizes are estimated with cheap probes of those
+ * indexes, each capped at what would still beat the best plan so far, and the plan fetching the
+ * fewest candidates, weighted by the extra cost of finding a candidate's position, is chosen.
+ * Without any of these, every task is scanned.
+ * <p>The remaining conjuncts are tested in order of cost per task over the fraction of tasks they
+ * rule out, so cheap and selective checks go first. Within them, {@code task:} and {@code done:}
+ * criteria are estimated from the counters of the bitmaps without building a bitmap.
+ */
+final class QueryPlanner {
+
+    /** Relative cost of a candidate from an index, which must be found in the list and put in order. */
+    private static final int INDEX_ROW_COST = 4;
+
+    private final TaskBitmaps bitmaps;
+    private final DateIndex dateIndex;
+    private final IntervalTree spans;
+    private final KeywordIndex keywordIndex;
+    private final int taskCount;
+
+    QueryPlanner(TaskBitmaps bitmaps, DateIndex dateIndex, IntervalTree spans, KeywordIndex keywordIndex,
+                 int taskCount) {
+        this.bitmaps = bitmaps;
+        this.dateIndex = dateIndex;
+        this.spans = spans;
+        this.keywordIndex = keywordIndex;
+        this.taskCount = taskCount;
+    }
+
+    QueryPlan plan(FilterNode root) {
+        List<FilterNode> conjuncts = root instanceof And and ? and.children() : List.of(root);
+        List<FilterNode> bitmapNodes = new ArrayList<>();
+        List<FilterNode> residuals = new ArrayList<>();
+        for (FilterNode conjunct : conjuncts) {
+            (isBitmapOnly(conjunct) ? bitmapNodes : residuals).add(conjunct);
+        }
+
+        FilterNode bitmapFilter = null;
+        BitSet bitmapMatches = null;
+        Access access = Access.SCAN;
+        FilterNode driver = null;
+        long rows = taskCount;
+        long cost = taskCount;
+        if (!bitmapNodes.isEmpty()) {
+            bitmapFilter = bitmapNodes.size() == 1 ? bitmapNodes.get(0) : new And(bitmapNodes);
+            bitmapMatches = evaluate(bitmapFilter);
+            access = Access.BITMAPS;
+            driver = bitmapFilter;
+            rows = bitmapMatches.cardinality();
+            cost = rows;
+        }
+
+        for (FilterNode conjunct : residuals) {
+            Access index = indexFor(conjunct);
+            if (index == null) {
+                continue;
+            }
+            long estimate = estimate(conjunct, cost / INDEX_ROW_COST + 1);    // more could not win
+            if (estimate * INDEX_ROW_COST < cost) {
+                access = index;
+                driver = conjunct;
+                rows = estimate;
+                cost = estimate * INDEX_ROW_COST;
+            }
+        }
+
+        FilterNode indexed = access == Access.SCAN || access == Access.BITMAPS ? null : driver;
+        residuals.removeIf(conjunct -> conjunct == indexed);
+        Map<FilterNode, Double> ranks = new IdentityHashMap<>();
+        residuals.forEach(conjunct -> ranks.put(conjunct, rank(conjunct)));
+        residuals.sort(Comparator.comparingDouble(ranks::get));
+        return new QueryPlan(root, access, driver, bitmapFilter, bitmapMatches, residuals, rows);
+    }
+
+    /**
+     * Returns the positions matching a node made only of type and status criteria.
+     */
+    BitSet evaluate(FilterNode node) {
+        if (node instanceof TypeIs typeIs) {
+            return typeIs.type() == null ? new BitSet() : bitmaps.ofType(typeIs.type());
+        }
+        if (node instanceof StatusIs statusIs) {
+            return bitmaps.withStatus(statusIs.isDone());
+        }
+        if (node instanceof Not not) {
+            BitSet bits = bitmaps.all();
+            bits.andNot(evaluate(not.child()));
+            return bits;
+        }
+        List<FilterNode> children = node instanceof And and ? and.children() : ((Or) node).children();
+        BitSet bits = evaluate(children.get(0));
+        for (FilterNode child : children.subList(1, children.size())) {
+            if (node instanceof And) {
+                bits.and(evaluate(child));
+            } else {
+                bits.or(evaluate(child));
+            }
+        }
+        return bits;
+    }
+
+    private static boolean isBitmapOnly(FilterNode node) {
+        if (node instanceof TypeIs || node instanceof StatusIs) {
+            return true;
+        }
+        if (node instanceof Not not) {
+            return isBitmapOnly(not.child());
+        }
+        if (node instanceof And and) {
+            return and.children().stream().allMatch(QueryPlanner::isBitmapOnly);
+        }
+        if (node instanceof Or or) {
+            return or.children().stream().allMatch(QueryPlanner::isBitmapOnly);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index that answers a criterion exactly, or {@code null} if there is none.
+     */
+    private Access indexFor(FilterNode node) {
+        if (node instanceof HasDate) {
+            return Access.DATE_INDEX;
+        }
+        if (node instanceof Overlaps) {
+            return Access.SPAN_INDEX;
+        }
+        if (node instanceof Contains contains && keywordIndex.estimate(contains.term()) >= 0) {
+            return Access.KEYWORD_INDEX;
+        }
+        return null;
+    }
+
+    /**
+     * Estimates the number of tasks matching a node, probing the indexes for at most {@code cap}
+     * entries. Composite nodes combine the estimates of their children as if they were independent.
+     */
+    private long estimate(FilterNode node, long cap) {
+        if (isBitmapOnly(node)) {
+            long count = count(node);
+            return count >= 0 ? count : evaluate(node).cardinality();
+        }
+        if (node instanceof HasDate hasDate) {
+            return dateIndex.count(hasDate.range(), cap);
+        }
+        if (node instanceof Overlaps overlaps) {
+            return spans.count(overlaps.range(), cap);
+        }
+        if (node instanceof Contains contains) {
+            long estimate = keywordIndex.estimate(contains.term());
+            return estimate < 0 ? taskCount : Math.min(estimate, taskCount);
+        }
+        if (node instanceof Not not) {
+            return Math.max(0, taskCount - estimate(not.child(), taskCount));
+        }
+
+        boolean isAnd = node instanceof And;
+        double fraction = 1;   // of tasks matching all children for AND, matching none for OR
+        for (FilterNode child : isAnd ? ((And) node).children() : ((Or) node).children()) {
+            double selectivity = selectivity(child);
+            fraction *= isAnd ? selectivity : 1 - selectivity;
+        }
+        return Math.round(taskCount * (isAnd ? fraction : 1 - fraction));
+    }
+
+    /**
+     * Returns the exact number of tasks matching a node made only of type and status criteria from
+     * the counters of the bitmaps, or -1 if it combines them in a way the counters cannot answer.
+     */
+    private long count(FilterNode node) {
+        if (node instanceof TypeIs typeIs) {
+            return typeIs.type() == null ? 0 : bitmaps.count(typeIs.type());
+        }
+        if (node instanceof StatusIs statusIs) {
+            return bitmaps.count(statusIs.isDone());
+        }
+        if (node instanceof Not not) {
+            long count = count(not.child());
+            return count < 0 ? -1 : taskCount - count;
+        }
+        if (node instanceof And and && and.children().size() == 2) {
+            TypeIs typeIs = null;
+            StatusIs statusIs = null;
+            for (FilterNode child : and.children()) {
+                if (child instanceof TypeIs t) {
+                    typeIs = t;
+                } else if (child instanceof StatusIs s) {
+                    statusIs = s;
+                }
+            }
+            if (typeIs != null && statusIs != null) {
+                return typeIs.type() == null ? 0 : bitmaps.count(typeIs.type(), statusIs.isDone());
+            }
+        }
+        return -1;
+    }
+
+    private double selectivity(FilterNode node) {
+        if (taskCount == 0) {
+            return 1;
+        }
+        return Math.min(1, (double) estimate(node, taskCount / 4 + 1) / taskCount);
+    }
+
+    /**
+     * Returns the cost of testing a node per task it rules out; lower ranks are tested first.
+     */
+    private double rank(FilterNode node) {
+        double selectivity = selectivity(node);
+        return selectivity >= 1 ? Double.MAX_VALUE : node.cost() / (1 - selectivity);
+    }
+}
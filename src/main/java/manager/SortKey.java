@@ -0,0 +1,90 @@
+package manager;
+
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orderings supported by {@link TaskManager} sort operations, keyed by the word used after {@code /by}.
+ * <p>All comparators are intended for stable sorts, so tasks with equal keys keep their relative order.
+ */
+public enum SortKey {
+    /**
+     * Chronological order on the first date of a task, tasks without dates are placed last.
+     * Comparator implementation referenced from:
+     * <a href="https://dev.java/learn/lambdas/writing-comparators/">...</a>
+     */
+    DATE("date", Comparator.comparing(
+            Task::getFirstDate,
+            Comparator.nullsLast(Comparator.naturalOrder())
+    )),
+
+    /**
+     * Incomplete tasks first, followed by completed tasks.
+     */
+    STATUS("status", Comparator.comparing(Task::isDone));
+
+    private final String keyword;
+    private final Comparator<Task> comparator;
+
+    SortKey(String keyword, Comparator<Task> comparator) {
+        this.keyword = keyword;
+        this.comparator = comparator;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public Comparator<Task> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Looks up a SortKey by keyword using case-insensitive matching.
+     *
+     * @param keyword the sort keyword, e.g. "date"
+     * @return matching SortKey, or {@code null} if no match is found
+     */
+    public static SortKey fromKeyword(String keyword) {
+        for (SortKey key : values()) {
+            if (key.keyword.equalsIgnoreCase(keyword.trim())) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up comma-separated keywords, e.g. {@code "status,date"}, using case-insensitive matching.
+     *
+     * @param keywords the sort keywords, most significant first
+     * @return the matching keys in the same order, or {@code null} if any keyword has no match
+     */
+    public static List<SortKey> fromKeywords(String keywords) {
+        List<SortKey> keys = new ArrayList<>();
+        for (String keyword : keywords.split(",")) {
+            SortKey key = fromKeyword(keyword);
+            if (key == null) {
+                return null;
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the composite order of the given keys: by the first key, ties broken by the next.
+     *
+     * @param keys the keys, most significant first; must not be empty
+     */
+    public static Comparator<Task> comparing(List<SortKey> keys) {
+        Comparator<Task> order = keys.get(0).comparator;
+        for (SortKey key : keys.subList(1, keys.size())) {
+            order = order.thenComparing(key.comparator);
+        }
+        return order;
+    }
+}
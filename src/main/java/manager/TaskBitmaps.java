@@ -0,0 +1,195 @@
+package manager;
+
+import task.Task;
+import task.TaskType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Bitmaps over task positions, one per {@link TaskType} and one for completed tasks, kept up to
+ * date by {@link TaskManager}.
+ * <p>Bit {@code i} describes the task at 0-based position {@code i}, so filters on type and status
+ * combine with {@link BitSet#and}/{@link BitSet#or} a word at a time without touching any task.
+ * Every query method returns a fresh {@link BitSet} that the caller may modify.
+ * <p>Appends and status changes set a single bit. Inserting or deleting in the middle of the list
+ * shifts the bits above that position by one, which is done in place as one pass over the words
+ * of each bitmap; a sort rebuilds them.
+ * <p>The number of tasks of each type and status is counted as bits are set and cleared, so counts
+ * are read in O(1) rather than by counting the bits of a bitmap.
+ */
+public final class TaskBitmaps {
+
+    private static final int DONE = TaskType.values().length;   // index of the status bitmap
+
+    private final long[][] words = new long[DONE + 1][1];
+    private final int[][] counts = new int[DONE][2];    // by type, then 1 if done
+    private int size;
+
+    TaskBitmaps() {
+    }
+
+    /**
+     * Returns the positions of all tasks of the given type.
+     */
+    public BitSet ofType(TaskType type) {
+        return toBitSet(type.ordinal());
+    }
+
+    /**
+     * Returns the positions of all tasks with the given completion status.
+     */
+    public BitSet withStatus(boolean isDone) {
+        BitSet bits = toBitSet(DONE);
+        if (!isDone) {
+            bits.flip(0, size);
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the positions of all tasks.
+     */
+    public BitSet all() {
+        BitSet bits = new BitSet(size);
+        bits.set(0, size);
+        return bits;
+    }
+
+    /**
+     * Returns the number of tasks of the given type and completion status.
+     */
+    public int count(TaskType type, boolean isDone) {
+        return counts[type.ordinal()][isDone ? 1 : 0];
+    }
+
+    /**
+     * Returns the number of tasks of the given type.
+     */
+    public int count(TaskType type) {
+        return counts[type.ordinal()][0] + counts[type.ordinal()][1];
+    }
+
+    /**
+     * Returns the number of tasks with the given completion status.
+     */
+    public int count(boolean isDone) {
+        int count = 0;
+        for (int[] byStatus : counts) {
+            count += byStatus[isDone ? 1 : 0];
+        }
+        return count;
+    }
+
+    /* ==================== Maintenance ==================== */
+
+    void add(Task task) {
+        add(size, task);
+    }
+
+    void add(int index, Task task) {
+        if ((size >>> 6) >= words[0].length) {
+            for (int i = 0; i < words.length; i++) {
+                words[i] = Arrays.copyOf(words[i], words[i].length * 2);
+            }
+        }
+        if (index < size) {
+            for (long[] bitmap : words) {
+                insertBit(bitmap, index, size);
+            }
+        }
+        size++;
+        set(task.getTaskType().ordinal(), index, true);
+        set(DONE, index, task.isDone());
+        counts[task.getTaskType().ordinal()][task.isDone() ? 1 : 0]++;
+    }
+
+    void setDone(int index, boolean isDone) {
+        boolean wasDone = get(DONE, index);
+        if (wasDone != isDone) {
+            int[] byStatus = counts[typeAt(index)];
+            byStatus[wasDone ? 1 : 0]--;
+            byStatus[isDone ? 1 : 0]++;
+        }
+        set(DONE, index, isDone);
+    }
+
+    void remove(int index) {
+        counts[typeAt(index)][get(DONE, index) ? 1 : 0]--;
+        for (long[] bitmap : words) {
+            removeBit(bitmap, index, size);
+        }
+        size--;
+    }
+
+    void rebuild(List<Task> tasks) {
+        for (long[] bitmap : words) {
+            Arrays.fill(bitmap, 0);
+        }
+        for (int[] byStatus : counts) {
+            Arrays.fill(byStatus, 0);
+        }
+        size = 0;
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    private void set(int bitmap, int index, boolean value) {
+        if (value) {
+            words[bitmap][index >>> 6] |= 1L << index;
+        } else {
+            words[bitmap][index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private boolean get(int bitmap, int index) {
+        return (words[bitmap][index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the type ordinal of the task at the given position, i.e. the type bitmap with its bit set.
+     */
+    private int typeAt(int index) {
+        for (int type = 0; type < DONE; type++) {
+            if (get(type, index)) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("No type recorded at " + index);
+    }
+
+    private BitSet toBitSet(int bitmap) {
+        return BitSet.valueOf(Arrays.copyOf(words[bitmap], (size + 63) >>> 6));
+    }
+
+    /**
+     * Moves the bits from {@code index} up by one, leaving bit {@code index} clear.
+     * The array must have room for bit {@code size}.
+     */
+    private static void insertBit(long[] bitmap, int index, int size) {
+        int first = index >>> 6;
+        long below = (1L << index) - 1;     // shift distance is taken mod 64
+        long firstWord = bitmap[first];
+        for (int i = size >>> 6; i > first; i--) {
+            bitmap[i] = (bitmap[i] << 1) | (bitmap[i - 1] >>> 63);
+        }
+        bitmap[first] = (firstWord & below) | ((firstWord << 1) & (~below << 1));
+    }
+
+    /**
+     * Drops bit {@code index} and moves all higher bits of the {@code size} in use down by one.
+     */
+    private static void removeBit(long[] bitmap, int index, int size) {
+        int first = index >>> 6;
+        int last = (size - 1) >>> 6;
+        long below = (1L << index) - 1;
+        long firstWord = bitmap[first];
+        for (int i = first; i <= last; i++) {
+            long carry = i < last ? bitmap[i + 1] << 63 : 0;
+            bitmap[i] = (bitmap[i] >>> 1) | carry;
+        }
+        bitmap[first] = (firstWord & below) | (bitmap[first] & ~below);
+    }
+}
@@ -0,0 +1,62 @@
+package manager;
+
+import task.Task;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Callback interface for components that need to observe mutations of the task list,
+ * e.g. persistence layers that record each change instead of rewriting the whole list.
+ * <p>All indexes passed to listeners are 0-based positions at the time of the change.
+ * While a sort order is kept, tasks may be added at any position, and a task whose status changed
+ * is moved afterwards to keep the order. Replaying the same calls in the same mode reproduces these
+ * moves, so they are not reported separately.
+ * Callbacks are invoked synchronously after the {@link TaskManager} has applied the change.
+ * All methods default to no-ops so implementations only override what they need.
+ */
+public interface TaskChangeListener {
+
+    /**
+     * Called after a task has been inserted at the given position.
+     */
+    default void taskAdded(int index, Task task) {
+    }
+
+    /**
+     * Called after the completion status of the task at the given position has changed.
+     */
+    default void taskStatusChanged(int index, Task task) {
+    }
+
+    /**
+     * Called after the task previously at the given position has been removed.
+     */
+    default void taskDeleted(int index, Task task) {
+    }
+
+    /**
+     * Called after one bulk operation has set the completion status of the tasks at the given
+     * positions. Only tasks whose status actually changed are included. The bit set must not be
+     * modified.
+     */
+    default void tasksStatusChanged(BitSet indexes, boolean isDone) {
+    }
+
+    /**
+     * Called after one bulk operation has removed the tasks previously at the given positions.
+     * The bit set must not be modified.
+     *
+     * @param tasks the removed tasks, in their former order
+     */
+    default void tasksDeleted(BitSet indexes, List<Task> tasks) {
+    }
+
+    /**
+     * Called after the whole list has been reordered by the given key.
+     *
+     * @param isKept whether the order is kept in force for later changes
+     */
+    default void tasksSorted(SortKey key, boolean isKept) {
+    }
+}
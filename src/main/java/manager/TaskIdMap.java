@@ -0,0 +1,112 @@
+package manager;
+
+import task.Task;
+
+import java.util.Arrays;
+
+/**
+ * Map from positive task ids to tasks, using open addressing with linear probing over a primitive
+ * {@code long[]} of keys, so lookups neither box the id nor follow any entry objects.
+ * <p>The table is kept at most half full. Removal shifts later entries of the same probe run back
+ * into the freed slot instead of leaving a tombstone, so lookups never slow down over time.
+ */
+final class TaskIdMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long EMPTY = 0;    // ids are positive
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Task[] values = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the task with the given id, or {@code null} if there is none.
+     */
+    Task get(long id) {
+        if (id == EMPTY) {
+            return null;
+        }
+        for (int slot = slotOf(id); keys[slot] != EMPTY; slot = next(slot)) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the task's id, which must be positive and not yet in the map, to the task.
+     */
+    void put(Task task) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = slotOf(task.getId());
+        while (keys[slot] != EMPTY) {
+            slot = next(slot);
+        }
+        keys[slot] = task.getId();
+        values[slot] = task;
+        size++;
+    }
+
+    /**
+     * Removes the given id, if present.
+     */
+    void remove(long id) {
+        int slot = slotOf(id);
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = next(slot);
+        }
+
+        // Move back any later entry of the run that may no longer be reachable past the gap
+        int gap = slot;
+        for (slot = next(slot); keys[slot] != EMPTY; slot = next(slot)) {
+            int home = slotOf(keys[slot]);
+            boolean isPastGap = gap <= slot ? home <= gap || home > slot : home <= gap && home > slot;
+            if (isPastGap) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slotOf(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;   // Fibonacci hashing spreads sequential ids
+        return (int) (hash >>> (64 - Integer.numberOfTrailingZeros(keys.length)));
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (keys.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new long[capacity];
+        values = new Task[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldValues[i]);
+            }
+        }
+    }
+}
@@ -1,29 +1,83 @@
 package manager;
 
 import exception.InvalidTaskOperationException;
+import task.EventTask;
 import task.Task;
+import task.TaskType;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
  * Owns the data model and manages task collection with basic CRUD operations.
- * Tasks are stored in insertion order and accessed by 0-based index internally.
+ * Tasks are stored in insertion order and accessed by 0-based index internally. The list is a
+ * {@link TaskRope}, so getting, inserting and deleting by index, as well as finding the index of
+ * a task, stay cheap even for very large lists.
+ * <p>A {@link DateIndex} over the tasks' dates, a {@link KeywordIndex} over their descriptions and
+ * {@link TaskBitmaps} over their types and status are maintained alongside the list, so that filters
+ * and searches do not need to scan every task. The bitmaps also count the tasks of each type and
+ * status. A {@link DueQueue} orders the pending tasks by when they are due, for the next and overdue
+ * tasks.
+ * <p>Every task is given a stable id when added (see {@link Task#getId()}), and a {@link TaskIdMap}
+ * finds tasks by id in O(1), so commands can refer to a task regardless of its current position.
+ * <p>After {@link #sortBy(SortKey, boolean)} with {@code isKept} set, the order stays in force:
+ * new tasks are inserted at their sorted position found by a tree search, and a status change
+ * that breaks the order moves only that task, instead of requiring another full sort.
  */
 public class TaskManager {
 
-    private final List<Task> taskList = new ArrayList<>();
+    private final TaskRope taskList = new TaskRope();
+    private final List<TaskChangeListener> listeners = new ArrayList<>();
+    private final DateIndex dateIndex = new DateIndex();
+    private final IntervalTree spans = new IntervalTree();
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final TaskBitmaps bitmaps = new TaskBitmaps();
+    private final DueQueue dueQueue = new DueQueue();
+    private final TaskIdMap tasksById = new TaskIdMap();
+    private long nextId = 1;
     private boolean isSorted = false;
+    private SortKey keptOrder;  // null unless the sort order is kept across changes
 
     /**
-     * Adds task to end of collection.
+     * Registers a listener to be notified after every mutation of the task list.
+     */
+    public void addListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously added listener. Does nothing if the listener is not registered.
+     */
+    public void removeListener(TaskChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Adds task to end of collection, or at its sorted position if a sort order is kept.
+     * <p>The task keeps its id if it has one that is not taken yet, e.g. when loaded from a file,
+     * and is otherwise given the next free id.
      */
     public void addTask(Task task) {
-        taskList.add(task);
-        isSorted = false;
+        assignId(task);
+        int index = keptOrder == null ? taskList.size() : insertionPoint(task, taskList.size());
+        insert(index, task);
+        dateIndex.add(task);
+        spans.add(task);
+        keywordIndex.add(task);
+        dueQueue.add(task);
+        isSorted = keptOrder != null;
+        for (TaskChangeListener l : listeners) {
+            l.taskAdded(index, task);
+        }
     }
 
     /**
@@ -41,7 +95,10 @@ public class TaskManager {
         validateTaskState(actualIndex, true);
         Task task = taskList.get(actualIndex);
         task.markAsDone();
-        isSorted = false;
+        bitmaps.setDone(actualIndex, true);
+        dueQueue.remove(task);
+        notifyStatusChanged(actualIndex, task);
+        keepInOrder(actualIndex);
     }
 
     /**
@@ -59,7 +116,10 @@ public class TaskManager {
         validateTaskState(actualIndex, false);
         Task task = taskList.get(actualIndex);
         task.markAsUndone();
-        isSorted = false;
+        bitmaps.setDone(actualIndex, false);
+        dueQueue.add(task);
+        notifyStatusChanged(actualIndex, task);
+        keepInOrder(actualIndex);
     }
 
     /**
@@ -71,31 +131,182 @@ public class TaskManager {
      */
     public void deleteTask(int userIndex) throws InvalidTaskOperationException {
         int actualIndex = toActualIndex(userIndex);
-        Task task = taskList.get(actualIndex);
-        taskList.remove(task);
+        Task task = taskList.remove(actualIndex);
+        tasksById.remove(task.getId());
+        dateIndex.remove(task);
+        spans.remove(task);
+        keywordIndex.remove(task);
+        dueQueue.remove(task);
+        bitmaps.remove(actualIndex);
+        for (TaskChangeListener l : listeners) {
+            l.taskDeleted(actualIndex, task);
+        }
+    }
+
+    /**
+     * Sets the completion status of all selected tasks in one bulk operation. Tasks already in
+     * that state are left alone, and listeners are notified once for all changed tasks.
+     * <p>If a sort order is kept, the list is then sorted again once. The unchanged tasks are still
+     * in order, so the stable sort only merges the changed ones in, and changed tasks with equal
+     * keys keep their relative order, as if the whole list had been sorted again.
+     *
+     * @param positions bit {@code i} selects the task at 0-based position {@code i}, as in {@link TaskBitmaps}
+     * @param isDone    the status to set
+     * @return the number of tasks whose status changed
+     * @throws InvalidTaskOperationException if a selected position is out of bounds
+     */
+    public int setStatus(BitSet positions, boolean isDone) throws InvalidTaskOperationException {
+        validateSelection(positions);
+        BitSet changed = new BitSet();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            Task task = taskList.get(i);
+            if (task.isDone() == isDone) {
+                continue;
+            }
+            if (isDone) {
+                task.markAsDone();
+                dueQueue.remove(task);
+            } else {
+                task.markAsUndone();
+                dueQueue.add(task);
+            }
+            bitmaps.setDone(i, isDone);
+            changed.set(i);
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        for (TaskChangeListener l : listeners) {
+            l.tasksStatusChanged(changed, isDone);
+        }
+        if (keptOrder == null) {
+            isSorted = false;
+        } else {
+            taskList.sort(keptOrder.getComparator());
+            bitmaps.rebuild(taskList);
+        }
+        return changed.cardinality();
+    }
+
+    /**
+     * Removes all selected tasks in a single pass over the list, notifying listeners once.
+     *
+     * @param positions bit {@code i} selects the task at 0-based position {@code i}, as in {@link TaskBitmaps}
+     * @return the removed tasks, in their former order
+     * @throws InvalidTaskOperationException if a selected position is out of bounds
+     */
+    public List<Task> deleteTasks(BitSet positions) throws InvalidTaskOperationException {
+        validateSelection(positions);
+        if (positions.isEmpty()) {
+            return List.of();
+        }
+        List<Task> removed = taskList.removeAll(positions);
+        for (Task task : removed) {
+            tasksById.remove(task.getId());
+            dateIndex.remove(task);
+            spans.remove(task);
+            keywordIndex.remove(task);
+            dueQueue.remove(task);
+        }
+        bitmaps.rebuild(taskList);
+        for (TaskChangeListener l : listeners) {
+            l.tasksDeleted(positions, removed);
+        }
+        return removed;
     }
 
     /**
      * Sorts the task list in chronological order based on their first date.
      * <p>This is a stable sort and uses natural ordering, i.e. tasks without date are placed last.
-     * Comparator implementation referenced from:
-     * <a href="https://dev.java/learn/lambdas/writing-comparators/">...</a>
+     *
+     * @see SortKey#DATE
      */
     public void sortByDate() {
-        taskList.sort(Comparator.comparing(
-                task -> task.getDates().isEmpty() ? null : task.getDates().get(0),
-                Comparator.nullsLast(Comparator.naturalOrder())
-        ));
-        isSorted = true;
+        sortBy(SortKey.DATE);
     }
 
     /**
      * Sorts the task list by completion status. This is a stable sort.
      * <p>Tasks are sorted with incomplete tasks appearing first, followed by completed tasks.
+     *
+     * @see SortKey#STATUS
      */
     public void sortByStatus() {
-        taskList.sort(Comparator.comparing(Task::isDone));
+        sortBy(SortKey.STATUS);
+    }
+
+    /**
+     * Sorts the task list by the given key once. This is a stable sort.
+     * Any order kept by an earlier sort is dropped.
+     *
+     * @param key the ordering to apply
+     */
+    public void sortBy(SortKey key) {
+        sortBy(key, false);
+    }
+
+    /**
+     * Sorts the task list by the given key. This is a stable sort.
+     *
+     * @param key    the ordering to apply
+     * @param isKept whether to keep the list in this order as tasks are added, marked and unmarked,
+     *               until the next sort
+     */
+    public void sortBy(SortKey key, boolean isKept) {
+        taskList.sort(key.getComparator());
+        bitmaps.rebuild(taskList);
         isSorted = true;
+        keptOrder = isKept ? key : null;
+        for (TaskChangeListener l : listeners) {
+            l.tasksSorted(key, isKept);
+        }
+    }
+
+    /**
+     * Sorts the task list once by several keys, most significant first. This is a stable sort.
+     * <p>The list is sorted by each key in turn from the least significant one, so listeners see
+     * one sort per key and a replay of those sorts gives the same order. Any kept order is dropped.
+     *
+     * @param keys the orderings to apply, most significant first; must not be empty
+     */
+    public void sortBy(List<SortKey> keys) {
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            sortBy(keys.get(i), false);
+        }
+    }
+
+    /**
+     * Returns the positions of the first tasks in the order of the given keys, without changing
+     * the list. This is the same as the start of a stable sort by those keys, but takes
+     * O(n log k) for k tasks instead of sorting all n.
+     * <p>If the list is kept in the order of the only key, the first positions are returned directly.
+     *
+     * @param keys  the orderings to apply, most significant first; must not be empty
+     * @param limit the maximum number of positions to return
+     * @return 0-based positions, first task first
+     */
+    public int[] top(List<SortKey> keys, int limit) {
+        int count = Math.min(limit, taskList.size());
+        if (keys.size() == 1 && keys.get(0) == keptOrder) {
+            int[] positions = new int[count];
+            Arrays.setAll(positions, i -> i);
+            return positions;
+        }
+
+        TopTaskSelector selector = new TopTaskSelector(SortKey.comparing(keys), count);
+        int position = 0;
+        for (Task task : taskList) {
+            selector.offer(task, position++);
+        }
+        return selector.drain();
+    }
+
+    /**
+     * Returns the sort order kept in force, or {@code null} if tasks are simply appended.
+     */
+    public SortKey getKeptOrder() {
+        return keptOrder;
     }
 
     /**
@@ -119,16 +330,185 @@ public class TaskManager {
         return filteredResults;
     }
 
-    public List<Task> search(String[] terms) {
-        return filter(task -> {
-            String desc = task.getDescription().toLowerCase();
-            for (String term : terms) {
-                if (desc.contains(term)) {
-                    return true;
+    /**
+     * Filters tasks using a query, in their current order.
+     * <p>A {@link QueryPlanner} first picks the cheapest way to fetch candidates: the type and status
+     * bitmaps, the date index, the interval tree, the keyword postings or a scan of all n tasks. An
+     * index lookup takes O(log n + k) for k candidates, plus O(k log k) to put them back in list
+     * order. The other criteria are then tested on each candidate, the cheapest and most selective first.
+     *
+     * @param query the filter expression
+     * @return a new list containing only tasks that match the query
+     * @see #explain(TaskQuery)
+     */
+    public List<Task> filter(TaskQuery query) {
+        BitSet positions = select(query);
+        List<Task> filteredResults = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            filteredResults.add(taskList.get(i));
+        }
+        return filteredResults;
+    }
+
+    /**
+     * Returns the positions of the tasks matching a query, planned the same way as
+     * {@link #filter(TaskQuery)}.
+     *
+     * @return bit {@code i} is set if the task at 0-based position {@code i} matches
+     */
+    public BitSet select(TaskQuery query) {
+        QueryPlan plan = explain(query);
+        BitSet bitmapMatches = plan.getBitmapMatches();
+        List<FilterNode> residuals = plan.getResiduals();
+        BitSet positions = new BitSet();
+        switch (plan.getAccess()) {
+        case SCAN -> {
+            int i = 0;
+            for (Task task : taskList) {
+                if (matchesAll(residuals, task)) {
+                    positions.set(i);
+                }
+                i++;
+            }
+        }
+        case BITMAPS -> {
+            for (int i = bitmapMatches.nextSetBit(0); i >= 0; i = bitmapMatches.nextSetBit(i + 1)) {
+                if (matchesAll(residuals, taskList.get(i))) {
+                    positions.set(i);
+                }
+            }
+        }
+        default -> {
+            for (Task task : findIndexed(plan)) {
+                int i = taskList.indexOf(task);
+                if ((bitmapMatches == null || bitmapMatches.get(i)) && matchesAll(residuals, task)) {
+                    positions.set(i);
                 }
             }
-            return false;
-        });
+        }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the plan {@link #filter(TaskQuery)} would follow for a query, without running it.
+     */
+    public QueryPlan explain(TaskQuery query) {
+        return new QueryPlanner(bitmaps, dateIndex, spans, keywordIndex, taskList.size()).plan(query.root());
+    }
+
+    /**
+     * Returns the tasks matching the criterion a plan looks up in an index, in no particular order.
+     */
+    private Collection<Task> findIndexed(QueryPlan plan) {
+        FilterNode driver = plan.getDriver();
+        if (driver instanceof FilterNode.HasDate hasDate) {
+            return dateIndex.find(hasDate.range());
+        }
+        if (driver instanceof FilterNode.Overlaps overlaps) {
+            return spans.overlapping(overlaps.range());
+        }
+        return keywordIndex.find(((FilterNode.Contains) driver).term());
+    }
+
+    private static boolean matchesAll(List<FilterNode> criteria, Task task) {
+        for (FilterNode criterion : criteria) {
+            if (!criterion.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the positions of up to {@code limit} pending deadlines and events not yet due at the
+     * given time, the soonest first, without changing the list. A deadline without time is due at
+     * the end of its day and an event without time at the start of its day.
+     * <p>The pending tasks are kept in a heap by when they are due, so this takes O(k log n) for k
+     * tasks instead of sorting the whole list.
+     *
+     * @return 0-based positions, soonest first
+     */
+    public int[] nextDue(LocalDateTime now, int limit) {
+        return positionsOf(dueQueue.next(now, limit));
+    }
+
+    /**
+     * Returns the positions of the pending deadlines already due at the given time, the longest
+     * overdue first, without changing the list. Takes O(k log n) for k overdue deadlines.
+     *
+     * @return 0-based positions, longest overdue first
+     */
+    public int[] overdue(LocalDateTime now) {
+        return positionsOf(dueQueue.overdue(now));
+    }
+
+    /**
+     * Returns how many tasks there are of each type and status, and how many are overdue or due
+     * within the next 7 days at the given time.
+     * <p>Type and status counts are kept as tasks change, and the overdue and due soon tasks are
+     * kept in heaps of their own, so this takes O(1), apart from moving the tasks that have become
+     * due since the last query from one heap to the next.
+     */
+    public TaskStats getStats(LocalDateTime now) {
+        return new TaskStats(bitmaps, dueQueue.countOverdue(now), dueQueue.countDueSoon(now));
+    }
+
+    /**
+     * Returns the tasks whose span overlaps a range of days, i.e. events running on any of those
+     * days and deadlines due on them, in order of their start.
+     * <p>Spans are looked up in an interval tree, which takes O(log n + k) for k results in
+     * typical lists rather than checking every task.
+     *
+     * @param range the inclusive range of days, either end of which may be open
+     */
+    public List<Task> findOverlapping(DateRange range) {
+        return spans.overlapping(range);
+    }
+
+    /**
+     * Returns the pending events that run at the same time as an event, in order of their start.
+     * An event ending exactly when another starts does not clash with it, and neither do
+     * deadlines, which are not blocks of time.
+     *
+     * @param event the event to check, which need not be in the list yet
+     */
+    public List<Task> findClashes(EventTask event) {
+        List<LocalDateTime> dates = event.getDates();
+        List<Task> clashes = new ArrayList<>();
+        for (Task task : spans.overlapping(IntervalTree.startOf(dates, event.hasTime()),
+                IntervalTree.endOf(dates, event.hasTime()))) {
+            if (task != event && task.getTaskType() == TaskType.EVENT && !task.isDone()) {
+                clashes.add(task);
+            }
+        }
+        return clashes;
+    }
+
+    /**
+     * Finds tasks whose description contains any of the terms, ignoring case, in their current order.
+     * <p>Terms are looked up in the keyword index. Only terms without any letter or digit
+     * (e.g. "-") fall back to scanning every description.
+     *
+     * @param terms lowercased search terms
+     * @return a new list of tasks matching at least one term
+     */
+    public List<Task> search(String[] terms) {
+        Set<Task> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> unindexedTerms = new ArrayList<>();
+        for (String term : terms) {
+            Set<Task> found = keywordIndex.find(term);
+            if (found == null) {
+                unindexedTerms.add(term);
+            } else {
+                matches.addAll(found);
+            }
+        }
+        if (unindexedTerms.isEmpty()) {
+            return inListOrder(matches);
+        }
+        return filter(task -> matches.contains(task) || unindexedTerms.stream()
+                .anyMatch(task.getDescription().toLowerCase()::contains));
     }
 
     /**
@@ -154,6 +534,28 @@ public class TaskManager {
         return taskList.get(toActualIndex(userIndex));
     }
 
+    /**
+     * Returns the task with the given id, or {@code null} if no task has it.
+     */
+    public Task findTask(long id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Returns the current 1-based position of the task with the given id.
+     *
+     * @param id stable id of the task
+     * @throws InvalidTaskOperationException if no task has the id
+     */
+    public int getUserIndex(long id) throws InvalidTaskOperationException {
+        Task task = tasksById.get(id);
+        if (task == null) {
+            throw new InvalidTaskOperationException(
+                    InvalidTaskOperationException.ErrorType.TASK_ID_NOT_FOUND, id);
+        }
+        return taskList.indexOf(task) + 1;
+    }
+
     /**
      * Checks if the task list was sorted.
      */
@@ -177,6 +579,87 @@ public class TaskManager {
         return taskList.size();
     }
 
+    private void assignId(Task task) {
+        if (task.getId() <= 0 || tasksById.get(task.getId()) != null) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+        tasksById.put(task);
+    }
+
+    /* ==================== Kept order ==================== */
+
+    private void insert(int index, Task task) {
+        taskList.add(index, task);
+        bitmaps.add(index, task);
+    }
+
+    /**
+     * Moves the task at the given position, whose status has just changed, to where a stable sort
+     * by the kept order would put it. Without a kept order the list is simply no longer sorted.
+     */
+    private void keepInOrder(int index) {
+        if (keptOrder == null) {
+            isSorted = false;
+            return;
+        }
+
+        Comparator<Task> order = keptOrder.getComparator();
+        Task task = taskList.get(index);
+        boolean isInOrder = (index == 0 || order.compare(taskList.get(index - 1), task) <= 0)
+                && (index == taskList.size() - 1 || order.compare(task, taskList.get(index + 1)) <= 0);
+        if (isInOrder) {
+            return;
+        }
+        taskList.remove(index);
+        bitmaps.remove(index);
+        insert(insertionPoint(task, index), task);
+    }
+
+    /**
+     * Returns where a stable sort by the kept order would place a task that is not in the list,
+     * given its position before it was taken out. Among tasks with an equal key it keeps that
+     * position, so a task appended at the end goes after all of them.
+     */
+    private int insertionPoint(Task task, int index) {
+        Comparator<Task> order = keptOrder.getComparator();
+        int first = taskList.bound(task, order, false);
+        int last = taskList.bound(task, order, true);
+        return Math.max(first, Math.min(index, last));
+    }
+
+    private int[] positionsOf(List<Task> tasks) {
+        int[] positions = new int[tasks.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = taskList.indexOf(tasks.get(i));
+        }
+        return positions;
+    }
+
+    /**
+     * Sorts tasks, which must all be in the list, by their current position.
+     */
+    private List<Task> inListOrder(Collection<Task> tasks) {
+        int[] order = new int[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            order[i++] = taskList.indexOf(task);
+        }
+        Arrays.sort(order);
+
+        List<Task> ordered = new ArrayList<>(order.length);
+        for (int position : order) {
+            ordered.add(taskList.get(position));
+        }
+        return ordered;
+    }
+
+    private void notifyStatusChanged(int index, Task task) {
+        for (TaskChangeListener l : listeners) {
+            l.taskStatusChanged(index, task);
+        }
+    }
+
     /* ==================== Validators ==================== */
 
     private int toActualIndex(int userIndex) throws InvalidTaskOperationException {
@@ -221,4 +704,16 @@ public class TaskManager {
             );
         }
     }
+
+    /**
+     * Validates that every selected position is within the valid range of task list.
+     *
+     * @param positions 0-based positions of the selected tasks, possibly none
+     * @throws InvalidTaskOperationException if the highest selected position is out of bounds
+     */
+    private void validateSelection(BitSet positions) throws InvalidTaskOperationException {
+        if (!positions.isEmpty()) {
+            validateIndex(positions.length() - 1);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package manager;
+
+import task.Task;
+
+import java.util.function.Predicate;
+
+/**
+ * A filter over the task list, as built by {@link util.TaskFilterParser#parseQuery(String)}.
+ * <p>The expression is kept as a tree of criteria rather than a single predicate, so that
+ * {@link TaskManager#filter(TaskQuery)} can have a {@link QueryPlanner} answer parts of it from the
+ * date index, interval tree, keyword postings and type and status bitmaps instead of testing every task.
+ *
+ * @param root the parsed filter expression
+ */
+public record TaskQuery(FilterNode root) {
+
+    /**
+     * Returns the whole expression as a predicate, tested on every task.
+     */
+    public Predicate<Task> condition() {
+        return root::test;
+    }
+}
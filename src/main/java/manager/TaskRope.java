@@ -0,0 +1,388 @@
+package manager;
+
+import task.Task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * List of tasks stored as a rope of fixed-capacity blocks, used as the task list of {@link TaskManager}.
+ * <p>A Fenwick tree over the block sizes finds the block holding a position in O(log(n/B)), and
+ * inserting or removing then only shifts the at most {@value #BLOCK_SIZE} tasks of that block, so
+ * positional {@link #get}, {@link #add(int, Task)} and {@link #remove(int)} take O(log n) for large
+ * lists instead of shifting one huge array. Full blocks are split in half, and a block is merged
+ * with a neighbour once both together fit in half a block, so blocks stay reasonably full.
+ * <p>Every task is mapped by identity to its block, which makes {@link #indexOf(Object)} a prefix
+ * sum plus a scan of one block rather than a scan of the whole list. A task may therefore only be
+ * in the list once. Iteration walks the block arrays in order, almost as fast as an array list.
+ */
+class TaskRope extends AbstractList<Task> {
+
+    static final int BLOCK_SIZE = 512;
+    private static final int MERGE_SIZE = BLOCK_SIZE / 2;
+    private static final int FILL_SIZE = BLOCK_SIZE * 3 / 4;  // block size when rebuilding
+
+    private static final class Block {
+        private final Task[] tasks = new Task[BLOCK_SIZE];
+        private int size;
+        private int index;  // position in the list of blocks
+    }
+
+    private final List<Block> blocks = new ArrayList<>();
+    private final Map<Task, Block> owners = new IdentityHashMap<>();
+    private int[] sizeTree = new int[1];   // Fenwick tree over block sizes, 1-based
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        int block = blockAt(index);
+        return blocks.get(block).tasks[index - prefixSize(block)];
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Objects.checkIndex(index, size);
+        Block block = blocks.get(blockAt(index));
+        int offset = index - prefixSize(block.index);
+        Task previous = block.tasks[offset];
+        if (previous == task) {
+            return previous;
+        }
+        requireAbsent(task);
+        owners.remove(previous);
+        block.tasks[offset] = task;
+        owners.put(task, block);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        Objects.checkIndex(index, size + 1);
+        requireAbsent(task);
+        modCount++;
+
+        Block block;
+        if (index == size) {
+            block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (block == null || block.size == BLOCK_SIZE) {
+                block = new Block();
+                insertBlock(blocks.size(), block);
+            }
+        } else {
+            block = blocks.get(blockAt(index));
+            if (block.size == BLOCK_SIZE) {
+                split(block);
+                block = blocks.get(blockAt(index));
+            }
+        }
+
+        int offset = index - prefixSize(block.index);
+        System.arraycopy(block.tasks, offset, block.tasks, offset + 1, block.size - offset);
+        block.tasks[offset] = task;
+        block.size++;
+        size++;
+        updateSize(block.index, 1);
+        owners.put(task, block);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Objects.checkIndex(index, size);
+        modCount++;
+
+        Block block = blocks.get(blockAt(index));
+        int offset = index - prefixSize(block.index);
+        Task task = block.tasks[offset];
+        System.arraycopy(block.tasks, offset + 1, block.tasks, offset, block.size - offset - 1);
+        block.tasks[--block.size] = null;
+        size--;
+        updateSize(block.index, -1);
+        owners.remove(task);
+
+        if (block.size == 0) {
+            removeBlock(block.index);
+        } else if (block.index + 1 < blocks.size() && block.size + blocks.get(block.index + 1).size <= MERGE_SIZE) {
+            merge(block, blocks.get(block.index + 1));
+        } else if (block.index > 0 && blocks.get(block.index - 1).size + block.size <= MERGE_SIZE) {
+            merge(blocks.get(block.index - 1), block);
+        }
+        return task;
+    }
+
+    @Override
+    public void clear() {
+        blocks.clear();
+        owners.clear();
+        sizeTree = new int[1];
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the position of the task, found by identity, or -1 if it is not in the list.
+     */
+    @Override
+    public int indexOf(Object o) {
+        Block block = owners.get(o);
+        if (block == null) {
+            return -1;
+        }
+        int offset = 0;
+        while (block.tasks[offset] != o) {
+            offset++;
+        }
+        return prefixSize(block.index) + offset;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return owners.containsKey(o);
+    }
+
+    /**
+     * Sorts the tasks into an array and refills the blocks from it.
+     */
+    @Override
+    public void sort(Comparator<? super Task> order) {
+        Task[] tasks = toArray(new Task[0]);
+        Arrays.sort(tasks, order);
+        refill(tasks);
+    }
+
+    /**
+     * Removes the tasks at all given positions in one pass over the list, refilling the blocks
+     * with the remaining tasks.
+     *
+     * @param positions bit {@code i} selects the task at position {@code i}
+     * @return the removed tasks, in list order
+     */
+    List<Task> removeAll(BitSet positions) {
+        Objects.checkFromToIndex(0, positions.length(), size);
+        List<Task> removed = new ArrayList<>(positions.cardinality());
+        Task[] remaining = new Task[size - positions.cardinality()];
+        int position = 0;
+        int kept = 0;
+        for (Task task : this) {
+            if (positions.get(position++)) {
+                removed.add(task);
+            } else {
+                remaining[kept++] = task;
+            }
+        }
+        refill(remaining);
+        return removed;
+    }
+
+    private void refill(Task[] tasks) {
+        blocks.clear();
+        owners.clear();
+        for (int from = 0; from < tasks.length; from += FILL_SIZE) {
+            Block block = new Block();
+            block.size = Math.min(FILL_SIZE, tasks.length - from);
+            block.index = blocks.size();
+            System.arraycopy(tasks, from, block.tasks, 0, block.size);
+            for (int i = 0; i < block.size; i++) {
+                owners.put(block.tasks[i], block);
+            }
+            blocks.add(block);
+        }
+        size = tasks.length;
+        rebuildSizeTree();
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int block;
+            private int offset;
+
+            @Override
+            public boolean hasNext() {
+                return block < blocks.size();
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Block current = blocks.get(block);
+                Task task = current.tasks[offset++];
+                if (offset == current.size) {
+                    block++;
+                    offset = 0;
+                }
+                return task;
+            }
+        };
+    }
+
+    /**
+     * Returns the first position whose task compares greater than, or with {@code isUpper} false
+     * at least equal to, the given task. The list must be sorted by the given order.
+     */
+    int bound(Task task, Comparator<Task> order, boolean isUpper) {
+        // Find the first block whose last task is past the bound, then search inside it
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Block block = blocks.get(mid);
+            if (isBefore(block.tasks[block.size - 1], task, order, isUpper)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == blocks.size()) {
+            return size;
+        }
+
+        Block block = blocks.get(low);
+        int first = 0;
+        int last = block.size;
+        while (first < last) {
+            int mid = (first + last) >>> 1;
+            if (isBefore(block.tasks[mid], task, order, isUpper)) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return prefixSize(low) + first;
+    }
+
+    private static boolean isBefore(Task candidate, Task task, Comparator<Task> order, boolean isUpper) {
+        int cmp = order.compare(candidate, task);
+        return cmp < 0 || (isUpper && cmp == 0);
+    }
+
+    /* ==================== Blocks ==================== */
+
+    private void requireAbsent(Task task) {
+        if (owners.containsKey(Objects.requireNonNull(task))) {
+            throw new IllegalArgumentException("Task is already in the list");
+        }
+    }
+
+    /**
+     * Moves the upper half of a full block into a new block right after it.
+     */
+    private void split(Block block) {
+        Block upper = new Block();
+        upper.size = block.size / 2;
+        block.size -= upper.size;
+        System.arraycopy(block.tasks, block.size, upper.tasks, 0, upper.size);
+        Arrays.fill(block.tasks, block.size, BLOCK_SIZE, null);
+        for (int i = 0; i < upper.size; i++) {
+            owners.put(upper.tasks[i], upper);
+        }
+        insertBlock(block.index + 1, upper);
+    }
+
+    /**
+     * Appends all tasks of a block to the block before it and removes the emptied block.
+     */
+    private void merge(Block into, Block from) {
+        System.arraycopy(from.tasks, 0, into.tasks, into.size, from.size);
+        for (int i = 0; i < from.size; i++) {
+            owners.put(from.tasks[i], into);
+        }
+        into.size += from.size;
+        removeBlock(from.index);
+    }
+
+    private void insertBlock(int index, Block block) {
+        blocks.add(index, block);
+        reindexFrom(index);
+    }
+
+    private void removeBlock(int index) {
+        blocks.remove(index);
+        reindexFrom(index);
+    }
+
+    /**
+     * Renumbers the blocks from the given one on and rebuilds the size tree, which takes
+     * O(n / B) and is only needed when blocks are split, merged or emptied.
+     */
+    private void reindexFrom(int index) {
+        for (int i = index; i < blocks.size(); i++) {
+            blocks.get(i).index = i;
+        }
+        rebuildSizeTree();
+    }
+
+    /* ==================== Fenwick tree over block sizes ==================== */
+
+    private void rebuildSizeTree() {
+        int count = blocks.size();
+        sizeTree = new int[count + 1];
+        for (int i = 1; i <= count; i++) {
+            sizeTree[i] += blocks.get(i - 1).size;
+            int parent = i + (i & -i);
+            if (parent <= count) {
+                sizeTree[parent] += sizeTree[i];
+            }
+        }
+    }
+
+    private void updateSize(int block, int delta) {
+        for (int i = block + 1; i < sizeTree.length; i += i & -i) {
+            sizeTree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the total size of the blocks before the given block.
+     */
+    private int prefixSize(int block) {
+        int sum = 0;
+        for (int i = block; i > 0; i -= i & -i) {
+            sum += sizeTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the block holding the given position, i.e. the last block whose prefix size is at most it.
+     */
+    private int blockAt(int index) {
+        int block = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(sizeTree.length - 1); step > 0; step >>= 1) {
+            int next = block + step;
+            if (next < sizeTree.length && sizeTree[next] <= remaining) {
+                block = next;
+                remaining -= sizeTree[next];
+            }
+        }
+        return block;
+    }
+}
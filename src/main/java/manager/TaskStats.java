@@ -0,0 +1,64 @@
+package manager;
+
+import task.TaskType;
+
+/**
+ * Number of tasks of each type and status, and of tasks overdue or due soon, at one point in time.
+ * <p>Taken by {@link TaskManager#getStats(java.time.LocalDateTime)} from counters kept up to date on
+ * every change, so it costs the same however many tasks there are.
+ */
+public final class TaskStats {
+
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private final int[] pending = new int[TYPES.length];
+    private final int[] done = new int[TYPES.length];
+    private final int overdue;
+    private final int dueSoon;
+
+    TaskStats(TaskBitmaps bitmaps, int overdue, int dueSoon) {
+        for (TaskType type : TYPES) {
+            pending[type.ordinal()] = bitmaps.count(type, false);
+            done[type.ordinal()] = bitmaps.count(type, true);
+        }
+        this.overdue = overdue;
+        this.dueSoon = dueSoon;
+    }
+
+    /**
+     * Returns the number of tasks of the given type and completion status.
+     */
+    public int count(TaskType type, boolean isDone) {
+        return isDone ? done[type.ordinal()] : pending[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks with the given completion status.
+     */
+    public int count(boolean isDone) {
+        int count = 0;
+        for (TaskType type : TYPES) {
+            count += count(type, isDone);
+        }
+        return count;
+    }
+
+    public int total() {
+        return count(false) + count(true);
+    }
+
+    /**
+     * Returns the number of pending deadlines that are past due.
+     */
+    public int overdue() {
+        return overdue;
+    }
+
+    /**
+     * Returns the number of pending deadlines, events and occurrences of recurring tasks due within
+     * the next 7 days, counting each task once.
+     */
+    public int dueSoon() {
+        return dueSoon;
+    }
+}
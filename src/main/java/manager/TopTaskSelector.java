@@ -0,0 +1,107 @@
+package manager;
+
+import task.Task;
+
+import java.util.Comparator;
+
+/**
+ * Selects the first {@code k} tasks under an order from tasks offered in list order, without
+ * sorting them all. The best {@code k} seen so far are kept in a binary max-heap whose root is the
+ * worst of them, so each offer costs O(log k) and selecting from n tasks takes O(n log k) time and
+ * O(k) space.
+ * <p>Tasks with equal keys are ranked by position, like a stable sort. As tasks are offered in
+ * increasing position, a task only displaces the root if its key is strictly smaller.
+ */
+final class TopTaskSelector {
+
+    private final Comparator<Task> order;
+    private final Task[] tasks;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * @param order the order to select by
+     * @param limit the number of tasks to select, at most the number of tasks offered
+     */
+    TopTaskSelector(Comparator<Task> order, int limit) {
+        this.order = order;
+        this.tasks = new Task[limit];
+        this.positions = new int[limit];
+    }
+
+    /**
+     * Offers the task at the given position, which must be greater than that of any earlier offer.
+     */
+    void offer(Task task, int position) {
+        if (size < tasks.length) {
+            tasks[size] = task;
+            positions[size] = position;
+            siftUp(size++);
+        } else if (size > 0 && order.compare(task, tasks[0]) < 0) {
+            tasks[0] = task;
+            positions[0] = position;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the selector and returns the positions of the selected tasks, first task first.
+     */
+    int[] drain() {
+        int[] selected = new int[size];
+        while (size > 0) {
+            selected[size - 1] = positions[0];
+            size--;
+            tasks[0] = tasks[size];
+            positions[0] = positions[size];
+            tasks[size] = null;
+            siftDown(0);
+        }
+        return selected;
+    }
+
+    /**
+     * Returns whether the entry at slot {@code i} comes after the one at slot {@code j}.
+     */
+    private boolean isAfter(int i, int j) {
+        int cmp = order.compare(tasks[i], tasks[j]);
+        return cmp > 0 || cmp == 0 && positions[i] > positions[j];
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!isAfter(slot, parent)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && isAfter(child + 1, child)) {
+                child++;
+            }
+            if (!isAfter(child, slot)) {
+                return;
+            }
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Task task = tasks[i];
+        tasks[i] = tasks[j];
+        tasks[j] = task;
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+    }
+}
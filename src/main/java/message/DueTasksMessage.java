@@ -0,0 +1,48 @@
+package message;
+
+import manager.TaskManager;
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message displaying the tasks due next, or the overdue deadlines, without reordering the list.
+ * Each task is numbered by its position in the list, so the numbers can be used with other commands.
+ */
+public class DueTasksMessage implements Message {
+    private final List<Task> tasks;
+    private final int[] positions;
+    private final boolean isOverdue;
+
+    /**
+     * @param taskManager the task manager holding the tasks
+     * @param positions   0-based positions of the tasks to show, in display order
+     * @param isOverdue   whether the tasks are overdue rather than coming up
+     */
+    public DueTasksMessage(TaskManager taskManager, int[] positions, boolean isOverdue) {
+        this.positions = positions.clone();
+        this.tasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            tasks.add(taskManager.getTask(position + 1));
+        }
+        this.isOverdue = isOverdue;
+    }
+
+    @Override
+    public String message() {
+        if (tasks.isEmpty()) {
+            return isOverdue
+                    ? "Nothing overdue, steady lah! Reward yourself with a bowl of mee."
+                    : "Nothing coming up, time for a kopi break!";
+        }
+
+        StringBuilder content = new StringBuilder(isOverdue
+                ? String.format("Aiyo, %d overdue - numbers are as in 'list':\n", tasks.size())
+                : String.format("Next %d coming up - numbers are as in 'list':\n", tasks.size()));
+        for (int i = 0; i < tasks.size(); i++) {
+            content.append(String.format("%d. %s\n", positions[i] + 1, tasks.get(i).toString()));
+        }
+        return content.toString().trim();
+    }
+}
@@ -25,6 +25,7 @@ public record ErrorMessage(String message) implements Message {
             """;
     public static final String INVALID_NUMBER_FORMAT = """
             Eh friend, '%s' is not a number lah. Task numbers are whole numbers like 1, 2, 3.
+            Task ids start with a # like #12.
             """;
     public static final String DEADLINE_FORMAT = """
             Your command is messier than mee goreng!
@@ -38,20 +39,56 @@ public record ErrorMessage(String message) implements Message {
             Try: event meeting /from 1/11/2025 /to 1/11/2025
             Or : event meeting /from 1/11/2025 1400 /to 1/11/2025 1500
             """;
+    public static final String RECURRING_FORMAT = """
+            Your command is messier than mee goreng!
+            Recurring task needs a description, '/from' start,
+            '/every' day, week or month, and how many times with
+            '/count' (1-99999) or up to which date with '/until'.
+            Try: recurring gym /from 1/9/2025 0700 /every week /count 5
+            Or : recurring rent /from 1/9/2025 /every month /count 12
+            Or : recurring jog /from 1/9/2025 /every day /until 7/9/2025
+            """;
     public static final String FILTER_FORMAT = """
-            %s Pick at least 1 from these 3 criteria:
-            • task:todo | deadline | event
+            %s Pick at least 1 from these 5 criteria:
+            • task:todo | deadline | event | recurring
             • done:true | false
-            • date:YYYY-MM-DD
+            • date:YYYY-MM-DD | YYYY-MM-DD..YYYY-MM-DD
+            • during:YYYY-MM-DD | YYYY-MM-DD..YYYY-MM-DD
+            • desc:<text>
+            Combine them with & (and), | (or), ! (not) and brackets.
             Try: filter task:deadline
             Or : filter task:deadline & done:false
             Or : filter task:deadline & done:false & date:2024-01-15
+            Or : filter date:2024-01-01..2024-01-31
+            Or : filter (task:deadline | task:event) & !done:true
             """;
 
+    public static final String LIST_FORMAT = """
+            Try: list
+            Or : list /ids
+            Or : list /page 2
+            Or : list /page 2 /size 50
+            Or : list /ids /next
+            """;
+    public static final String LIST_PAGE_RANGE = """
+            Page %d got nothing leh, your list only has %d page(s).
+            """;
+    public static final String STATS_FORMAT = """
+            Stats no need extra ingredients lah.
+            Try: stats
+            """;
     public static final String SORT_FORMAT = """
             Your command is more confusing than exiting VivoCity carpark!
             Try: sort /by date
             Or : sort /by status
+            Or : sort /by date /keep
+            Or : sort /by status,date /limit 20
+            """;
+    public static final String DUE_FORMAT = """
+            How many tasks ah? Give mee a whole number from 1.
+            Try: next
+            Or : next 10
+            Or : overdue
             """;
 
     // Task existence and state errors
@@ -63,6 +100,13 @@ public record ErrorMessage(String message) implements Message {
             Task %d doesn't exist.
             Type 'list' to see what's actually in your task list lah!
             """;
+    public static final String TASK_ID_NOT_FOUND = """
+            No task has id #%d.
+            Type 'list /ids' to see the id of each task lah!
+            """;
+    public static final String NO_MATCHING_TASKS = """
+            No task matches '%s', so nothing was changed.
+            """;
     public static final String TASK_STATE = """
             Task is already %s, no point doing it again what!
             Try '%s %d' instead.
@@ -0,0 +1,27 @@
+package message;
+
+import manager.QueryPlan;
+
+import java.util.List;
+
+/**
+ * Message describing the plan chosen for a filter, one numbered step per line.
+ */
+public class ExplainMessage implements Message {
+    private final String filter;
+    private final List<String> steps;
+
+    public ExplainMessage(QueryPlan plan) {
+        this.filter = plan.getRoot().toString();
+        this.steps = plan.describe();
+    }
+
+    @Override
+    public String message() {
+        StringBuilder content = new StringBuilder(String.format("Recipe for '%s':\n", filter));
+        for (int i = 0; i < steps.size(); i++) {
+            content.append(String.format("%d. %s\n", i + 1, steps.get(i)));
+        }
+        return content.toString().trim();
+    }
+}
@@ -4,15 +4,40 @@ import manager.TaskManager;
 import task.Task;
 
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 /**
- * Dynamic task listing with 1-based numbering for user display.
+ * Dynamic task listing with 1-based numbering for user display, optionally followed by each
+ * task's stable id (e.g. {@code 1. #12 [T][ ] water plants}).
+ * <p>A listing may cover only a window of the list, a page, in which case a footer tells which
+ * tasks were shown and how to continue. Lines are produced one task at a time, so only the
+ * window is ever read and a long list is never built as a whole.
  */
 public class ListTaskMessage implements Message {
+    private static final String HEADER = "Here's your current mee-x of responsibilities:";
+
     private final TaskManager taskManager;
+    private final boolean isShowingIds;
+    private final int from;
+    private final int to;   // -1 for the whole list
 
     public ListTaskMessage(TaskManager taskManager) {
+        this(taskManager, false);
+    }
+
+    public ListTaskMessage(TaskManager taskManager, boolean isShowingIds) {
+        this(taskManager, isShowingIds, 0, -1);
+    }
+
+    /**
+     * Creates a listing of the tasks from position {@code from} up to, but excluding, position {@code to}.
+     */
+    public ListTaskMessage(TaskManager taskManager, boolean isShowingIds, int from, int to) {
         this.taskManager = taskManager;
+        this.isShowingIds = isShowingIds;
+        this.from = from;
+        this.to = to;
     }
 
     /**
@@ -20,14 +45,37 @@ public class ListTaskMessage implements Message {
      */
     @Override
     public String message() {
+        StringJoiner content = new StringJoiner("\n");
+        forEachLine(content::add);
+        return content.toString().trim();
+    }
+
+    /**
+     * Produces the header, one line per task in the window and, for a page, the footer.
+     */
+    @Override
+    public void forEachLine(Consumer<String> lines) {
         List<Task> tasks = taskManager.getReadOnlyList();
+        boolean isPage = to >= 0;
+        lines.accept(HEADER);
 
-        // Builds numbered task list with 1-based indexing
-        StringBuilder content = new StringBuilder("Here's your current mee-x of responsibilities:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            content.append(String.format("%d. %s\n", i + 1, task.toString()));
+        // Numbered with 1-based indexing, iterating as the list may not be random access
+        int taskNumber = from + 1;
+        StringBuilder line = new StringBuilder();
+        for (Task task : isPage ? tasks.subList(from, to) : tasks) {
+            line.setLength(0);
+            line.append(taskNumber++).append(". ");
+            if (isShowingIds) {
+                line.append('#').append(task.getId()).append(' ');
+            }
+            lines.accept(line.append(task).toString());
+        }
+
+        if (isPage) {
+            String next = to < tasks.size()
+                    ? "Next up: list /next"
+                    : "That's all! /next goes back to the top.";
+            lines.accept(String.format("Showing %d-%d of %d. %s", from + 1, to, tasks.size(), next));
         }
-        return content.toString().trim();
     }
 }
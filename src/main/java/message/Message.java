@@ -1,5 +1,7 @@
 package message;
 
+import java.util.function.Consumer;
+
 /**
  * Interface for all user-facing messages generated by MeeBot.
  * <p>Implementing classes should:
@@ -11,4 +13,14 @@ public interface Message {
      * Retrieves the message content for UI components
      */
     String message();
+
+    /**
+     * Passes the message content to {@code lines} one line at a time. Messages that can be very long
+     * override this to produce their lines as they go, without building the whole content first.
+     */
+    default void forEachLine(Consumer<String> lines) {
+        for (String line : message().split("\n")) {
+            lines.accept(line);
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package message;
+
+import reminder.Reminder;
+import task.TaskType;
+
+import java.time.Duration;
+
+/**
+ * Reminder shown on its own, between commands, when a deadline is near or an event starts.
+ */
+public class ReminderMessage implements Message {
+    private final Reminder reminder;
+
+    public ReminderMessage(Reminder reminder) {
+        this.reminder = reminder;
+    }
+
+    @Override
+    public String message() {
+        String task = reminder.task().toString();
+        if (!reminder.task().hasTime()) {
+            return String.format("Mee-minder: '%s' is on today's menu!", task);
+        }
+        if (reminder.task().getTaskType() != TaskType.DEADLINE) {
+            return String.format("Mee-minder: '%s' is starting now, don't be late ah!", task);
+        }
+        Duration timeLeft = reminder.timeLeft();
+        if (timeLeft.toMinutes() == 0) {
+            return String.format("Mee-minder: '%s' is due now, faster faster!", task);
+        }
+        return String.format("Mee-minder: '%s' is due in %s, better start cooking!", task, formatDuration(timeLeft));
+    }
+
+    private static String formatDuration(Duration duration) {
+        long hours = duration.toHours();
+        int minutes = duration.toMinutesPart();
+        if (hours == 0) {
+            return minutes + " min";
+        }
+        return minutes == 0 ? hours + " h" : hours + " h " + minutes + " min";
+    }
+}
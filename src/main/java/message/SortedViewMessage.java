@@ -0,0 +1,46 @@
+package message;
+
+import manager.SortKey;
+import manager.TaskManager;
+import task.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Message displaying the first tasks in a sort order without reordering the list. Each task is
+ * numbered by its position in the list, so the numbers can be used with other commands.
+ */
+public class SortedViewMessage implements Message {
+    private final List<Task> tasks;
+    private final int[] positions;
+    private final String keys;
+
+    /**
+     * @param taskManager the task manager holding the tasks
+     * @param positions   0-based positions of the tasks to show, in display order
+     * @param keys        the keys the tasks are sorted by, for display
+     */
+    public SortedViewMessage(TaskManager taskManager, int[] positions, List<SortKey> keys) {
+        this.positions = positions.clone();
+        this.tasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            tasks.add(taskManager.getTask(position + 1));
+        }
+        this.keys = keys.stream().map(SortKey::getKeyword).collect(Collectors.joining(", "));
+    }
+
+    @Override
+    public String message() {
+        StringBuilder content = new StringBuilder(String.format(
+                "Top %d by %s - your list order is untouched, numbers are as in 'list':\n",
+                tasks.size(),
+                keys
+        ));
+        for (int i = 0; i < tasks.size(); i++) {
+            content.append(String.format("%d. %s\n", positions[i] + 1, tasks.get(i).toString()));
+        }
+        return content.toString().trim();
+    }
+}
@@ -0,0 +1,37 @@
+package message;
+
+import manager.TaskStats;
+import task.TaskType;
+
+/**
+ * Message displaying the number of pending and done tasks of each type, followed by the totals
+ * and the number of tasks overdue or due within the next 7 days.
+ */
+public class StatsMessage implements Message {
+    private static final String TOTAL = "total";
+
+    private final TaskStats stats;
+
+    public StatsMessage(TaskStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public String message() {
+        StringBuilder content = new StringBuilder("Mee-count time! Here's what's in your bowl:\n");
+
+        int maxKeywordLength = TOTAL.length();
+        for (TaskType type : TaskType.values()) {
+            maxKeywordLength = Math.max(maxKeywordLength, type.getKeyword().length());
+        }
+
+        String line = "• %-" + maxKeywordLength + "s : %d pending, %d done\n";
+        for (TaskType type : TaskType.values()) {
+            content.append(String.format(line, type.getKeyword(),
+                    stats.count(type, false), stats.count(type, true)));
+        }
+        content.append(String.format(line, TOTAL, stats.count(false), stats.count(true)));
+        content.append(String.format("Overdue: %d | Due in the next 7 days: %d", stats.overdue(), stats.dueSoon()));
+        return content.toString();
+    }
+}
@@ -3,6 +3,8 @@ package message;
 import manager.TaskManager;
 import task.Task;
 
+import java.util.List;
+
 /**
  * Confirmation message when a task is successfully added.
  * Shows the description of the newly added task and current task count.
@@ -11,11 +13,20 @@ public class TaskAddedMessage implements Message {
     private final Task task;
     private final int taskCount;
     private final boolean showSortWarning;
+    private final List<Task> clashes;
 
     public TaskAddedMessage(Task task, TaskManager tm, boolean showSortWarning) {
+        this(task, tm, showSortWarning, List.of());
+    }
+
+    /**
+     * @param clashes events running at the same time as the added task, to warn about
+     */
+    public TaskAddedMessage(Task task, TaskManager tm, boolean showSortWarning, List<Task> clashes) {
         this.task = task;
         this.taskCount = tm.getTotalTasks();
         this.showSortWarning = showSortWarning;
+        this.clashes = List.copyOf(clashes);
     }
 
     @Override
@@ -25,11 +36,20 @@ public class TaskAddedMessage implements Message {
                 Mee-ssage: list may not be sorted now, sort again to put it in order.
                 """;
 
+        StringBuilder clashWarning = new StringBuilder();
+        if (!clashes.isEmpty()) {
+            clashWarning.append("\nAiyo, this clashes with:\n");
+            for (Task clash : clashes) {
+                clashWarning.append(clash.toString()).append("\n");
+            }
+        }
+
         return String.format("""
                         Mee-rvelous! I've added that to your bowl... I mean, list!
-                        '%s' is now one of the %d tasks simmering.%s
+                        '%s' is now one of the %d tasks simmering.%s%s
                         """,
                 task.toString(), taskCount,
+                clashWarning,
                 showSortWarning
                         ? warning
                         : ""
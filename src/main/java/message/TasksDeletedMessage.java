@@ -0,0 +1,26 @@
+package message;
+
+/**
+ * Confirmation message when several tasks are deleted with one command.
+ * Shows how many tasks were deleted and the current task count.
+ */
+public class TasksDeletedMessage implements Message {
+    private final int deletedCount;
+    private final int taskCount;
+
+    public TasksDeletedMessage(int deletedCount, int taskCount) {
+        this.deletedCount = deletedCount;
+        this.taskCount = taskCount;
+    }
+
+    @Override
+    public String message() {
+        return String.format("""
+                        Bye bye %d tasks!
+                        Removed like unwanted beansprouts from your laksa.
+                        Now you have %d tasks in the list.""",
+                deletedCount,
+                taskCount
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package message;
+
+/**
+ * Summary message when several tasks are marked as done or as pending with one command.
+ * Shows how many of the selected tasks changed, rather than listing each of them.
+ */
+public class TasksStatusMessage implements Message {
+    private final int changedCount;
+    private final int selectedCount;
+    private final boolean isDone;
+    private final boolean showSortWarning;
+
+    public TasksStatusMessage(int changedCount, int selectedCount, boolean isDone, boolean showSortWarning) {
+        this.changedCount = changedCount;
+        this.selectedCount = selectedCount;
+        this.isDone = isDone;
+        this.showSortWarning = showSortWarning;
+    }
+
+    @Override
+    public String message() {
+        String warning = """
+                
+                Mee-ssage: list may not be sorted now, sort again to put it in order.
+                """;
+        String skipped = String.format("""
+                        %d of them were already %s, so I left them alone.
+                        """,
+                selectedCount - changedCount,
+                isDone ? "done" : "pending"
+        );
+
+        return String.format("""
+                        %s
+                        %s%s""",
+                isDone
+                        ? String.format("%d tasks accomplished in one go - efficient and effective!", changedCount)
+                        : String.format("%d tasks are back to pending - hawker uncle changed his mind again.",
+                        changedCount),
+                changedCount < selectedCount
+                        ? skipped
+                        : "",
+                showSortWarning
+                        ? warning
+                        : ""
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package reminder;
+
+import task.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A reminder fired by {@link ReminderScheduler} for a pending deadline or event.
+ *
+ * @param task     the task reminded about
+ * @param dueAt    when the deadline is due or the event starts; the start of the day for tasks without time
+ * @param timeLeft time from firing until {@code dueAt}, never negative
+ */
+public record Reminder(Task task, LocalDateTime dueAt, Duration timeLeft) {
+}
@@ -0,0 +1,224 @@
+package reminder;
+
+import manager.TaskChangeListener;
+import manager.TaskManager;
+import task.RecurringTask;
+import task.Task;
+import task.TaskType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fires reminders for pending deadlines and events, kept up to date as the task list changes.
+ * <p>A deadline with a time of day is reminded about a lead time before it is due, and an event with
+ * a time of day when it starts. A deadline or event without time is reminded about at the start of
+ * its day. Done tasks and tasks whose time, or day, is over get no reminder, while one whose reminder
+ * time has passed but that is still ahead is reminded about at once. A recurring task is reminded
+ * about like an event at each occurrence: once one fires, the next is scheduled.
+ * <p>Reminders wait in a {@link TimingWheel} ticking once a second, with the entry of each task kept
+ * by id, so adding, marking or deleting a task schedules or cancels its reminder in O(1). A single
+ * daemon thread turns the wheel to the time of the {@link Clock} and hands what is due to the
+ * notifier, outside the lock guarding the wheel, so a slow notifier never holds up commands.
+ */
+public class ReminderScheduler implements TaskChangeListener {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final TaskManager tm;
+    private final Clock clock;
+    private final Duration leadTime;
+    private final Consumer<Reminder> notifier;
+    private final TimingWheel<Due> wheel;
+    private final Map<Long, TimingWheel.Entry<Due>> entries = new HashMap<>();
+    private ScheduledExecutorService timer;
+
+    /**
+     * A task waiting in the wheel, with when it is due or, for a recurring task, when the occurrence is.
+     */
+    private record Due(Task task, LocalDateTime dueAt) {
+    }
+
+    /**
+     * Creates a scheduler that is not yet running. It should be added as a listener of the task
+     * manager before the tasks are loaded, so every loaded task is scheduled.
+     *
+     * @param clock    source of the current time and time zone of the task dates
+     * @param leadTime how long before a deadline with a time of day its reminder fires
+     * @param notifier receives each reminder on the timer thread
+     */
+    public ReminderScheduler(TaskManager tm, Clock clock, Duration leadTime, Consumer<Reminder> notifier) {
+        this.tm = tm;
+        this.clock = clock;
+        this.leadTime = leadTime;
+        this.notifier = notifier;
+        this.wheel = new TimingWheel<>(clock.instant().getEpochSecond());
+    }
+
+    /**
+     * Starts the timer thread, which fires due reminders once a second until {@link #close()}.
+     */
+    public void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reminder-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleAtFixedRate(() -> {
+            try {
+                fireDue();
+            } catch (RuntimeException e) {
+                // a failed notification must not stop later reminders
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer thread, if started. Reminders still pending are dropped.
+     */
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Fires every reminder due by the current time of the clock, in order of their reminder time.
+     * Called by the timer thread on each tick.
+     *
+     * @return the number of reminders fired
+     */
+    public int fireDue() {
+        List<Due> due = new ArrayList<>();
+        Instant now;
+        synchronized (this) {
+            now = clock.instant();
+            wheel.advanceTo(now.getEpochSecond(), due::add);
+            for (Due d : due) {
+                entries.remove(d.task().getId());
+                if (d.task() instanceof RecurringTask r) {
+                    scheduleOccurrence(r, d.dueAt().plusMinutes(1));
+                }
+            }
+        }
+
+        LocalDateTime localNow = LocalDateTime.ofInstant(now, clock.getZone());
+        for (Due d : due) {
+            Duration timeLeft = Duration.between(localNow, d.dueAt());
+            notifier.accept(new Reminder(d.task(), d.dueAt(), timeLeft.isNegative() ? Duration.ZERO : timeLeft));
+        }
+        return due.size();
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    /* ==================== Task list changes ==================== */
+
+    @Override
+    public synchronized void taskAdded(int index, Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public synchronized void taskStatusChanged(int index, Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public synchronized void taskDeleted(int index, Task task) {
+        cancel(task);
+    }
+
+    @Override
+    public synchronized void tasksStatusChanged(BitSet indexes, boolean isDone) {
+        List<Task> tasks = tm.getReadOnlyList();    // not reordered yet, so the positions still hold
+        for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+            schedule(tasks.get(i));
+        }
+    }
+
+    @Override
+    public synchronized void tasksDeleted(BitSet indexes, List<Task> tasks) {
+        for (Task task : tasks) {
+            cancel(task);
+        }
+    }
+
+    /* ==================== Scheduling ==================== */
+
+    /**
+     * Replaces any reminder of the task by one matching its current state.
+     */
+    private void schedule(Task task) {
+        cancel(task);
+        LocalDateTime dueAt = dueAt(task);
+        if (task.isDone() || dueAt == null) {
+            return;
+        }
+        if (task instanceof RecurringTask r) {
+            scheduleOccurrence(r, dueAt);
+            return;
+        }
+
+        long over = toEpochSecond(task.hasTime() ? dueAt : dueAt.plusDays(1));
+        if (over <= wheel.getCurrentTick()) {
+            return;
+        }
+        boolean hasLead = task.hasTime() && task.getTaskType() == TaskType.DEADLINE;
+        long remindAt = toEpochSecond(hasLead ? dueAt.minus(leadTime) : dueAt);
+        // a passed time fires on the next tick
+        entries.put(task.getId(), wheel.schedule(remindAt, new Due(task, dueAt)));
+    }
+
+    /**
+     * Schedules the first occurrence of a recurring task from the given time on that is not over yet.
+     * Occurrences missed while the timer was not running are skipped rather than all fired at once.
+     */
+    private void scheduleOccurrence(RecurringTask task, LocalDateTime from) {
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochSecond(wheel.getCurrentTick()), clock.getZone());
+        LocalDateTime notOver = task.hasTime() ? now.plusSeconds(1) : now.toLocalDate().atStartOfDay();
+        LocalDateTime next = task.nextOccurrence(from.isAfter(notOver) ? from : notOver);
+        if (next != null) {
+            entries.put(task.getId(), wheel.schedule(toEpochSecond(next), new Due(task, next)));
+        }
+    }
+
+    private void cancel(Task task) {
+        TimingWheel.Entry<Due> entry = entries.remove(task.getId());
+        if (entry != null) {
+            wheel.cancel(entry);
+        }
+    }
+
+    /**
+     * Returns when a deadline is due or an event, or a recurring task, starts, or {@code null} for
+     * tasks without dates.
+     */
+    private static LocalDateTime dueAt(Task task) {
+        LocalDateTime first = task.getFirstDate();
+        if (first == null) {
+            return null;
+        }
+        return task.hasTime() ? first : first.toLocalDate().atStartOfDay();
+    }
+
+    private long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toEpochSecond();
+    }
+}
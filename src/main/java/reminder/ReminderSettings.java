@@ -0,0 +1,30 @@
+package reminder;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration for {@link ReminderScheduler}.
+ * <p>Settings are read from JVM system properties, e.g. {@code java -Dmeebot.reminder.leadMinutes=30 -jar duke.jar}:
+ * <ul>
+ * <li>{@code meebot.reminders} - whether reminders are shown at all (default {@code true})</li>
+ * <li>{@code meebot.reminder.leadMinutes} - how long before a deadline with a time of day
+ * to remind about it (default 60)</li>
+ * </ul>
+ *
+ * @param isEnabled whether reminders are scheduled and shown
+ * @param leadTime  how long before a deadline with a time of day its reminder fires
+ */
+public record ReminderSettings(boolean isEnabled, Duration leadTime) {
+
+    public static final long DEFAULT_LEAD_MINUTES = 60;
+
+    /**
+     * Returns the default settings, overridden by any {@code meebot.reminder*} system properties present.
+     */
+    public static ReminderSettings fromSystemProperties() {
+        return new ReminderSettings(
+                Boolean.parseBoolean(System.getProperty("meebot.reminders", "true")),
+                Duration.ofMinutes(Math.max(0, Long.getLong("meebot.reminder.leadMinutes", DEFAULT_LEAD_MINUTES)))
+        );
+    }
+}
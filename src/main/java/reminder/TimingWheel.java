@@ -0,0 +1,190 @@
+package reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel holding values that expire at a given tick.
+ * <p>The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Reading a tick as base-256
+ * digits, an entry sits at the highest level where its tick and the current tick differ, in the
+ * slot given by its digit at that level. When the current tick carries into a level, the slot for
+ * the new digit there is emptied and its entries move down to the levels they now belong to, until
+ * they reach the lowest level and expire when the wheel turns to their slot. As every tick fits in
+ * the eight digits, no entry is ever too far away to be placed.
+ * <p>Each slot is a doubly-linked list, so scheduling and cancelling take O(1) regardless of how
+ * many entries are held, and each entry moves down at most once per level before it expires.
+ * Advancing one tick costs O(1) plus the entries that expire or move down, and as the number of
+ * entries on each level is kept, stretches of ticks that cannot expire or move anything are skipped,
+ * so the wheel can also be turned far ahead at once, e.g. after the computer slept.
+ * <p>The wheel is not thread-safe.
+ *
+ * @param <T> type of the values held
+ */
+class TimingWheel<T> {
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = Long.SIZE / BITS;
+
+    /**
+     * A scheduled value, which can be cancelled until it expires.
+     */
+    static final class Entry<T> {
+        private final long deadline;
+        private final T value;
+        private int level;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(long deadline, T value) {
+            this.deadline = deadline;
+            this.value = value;
+        }
+
+        long getDeadline() {
+            return deadline;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns whether the entry is still waiting in the wheel, i.e. has neither expired nor been cancelled.
+         */
+        boolean isPending() {
+            return prev != null;
+        }
+    }
+
+    private final Entry<T>[] slots;
+    private final int[] levelSizes = new int[LEVELS];
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param startTick the current tick; entries are only expired by advancing past it
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.slots = (Entry<T>[]) new Entry<?>[LEVELS * SLOTS];
+        for (int i = 0; i < slots.length; i++) {
+            Entry<T> sentinel = new Entry<>(0, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            slots[i] = sentinel;
+        }
+    }
+
+    /**
+     * Schedules a value to expire when the wheel reaches the given tick. A tick that has already
+     * passed expires on the next advance.
+     */
+    Entry<T> schedule(long deadline, T value) {
+        Entry<T> entry = new Entry<>(Math.max(deadline, currentTick + 1), value);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Removes an entry before it expires.
+     *
+     * @return {@code false} if the entry had already expired or been cancelled
+     */
+    boolean cancel(Entry<T> entry) {
+        if (!entry.isPending()) {
+            return false;
+        }
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Turns the wheel up to and including the given tick, passing the values of expired entries to
+     * {@code expired} in order of their deadlines. Entries with the same deadline expire in no particular order.
+     */
+    void advanceTo(long tick, Consumer<? super T> expired) {
+        while (currentTick < tick) {
+            int level = lowestOccupiedLevel();
+            if (level != 0) {
+                // Nothing happens until the next carry into the lowest occupied level, if any
+                long beforeCarry = level < 0 ? Long.MAX_VALUE : currentTick | ((1L << (BITS * level)) - 1);
+                if (beforeCarry >= tick) {
+                    currentTick = tick;
+                    return;
+                }
+                currentTick = beforeCarry;
+            }
+            currentTick++;
+            cascade();
+            Entry<T> sentinel = slots[(int) (currentTick & MASK)];
+            while (sentinel.next != sentinel) {
+                Entry<T> entry = sentinel.next;
+                unlink(entry);
+                size--;
+                expired.accept(entry.value);
+            }
+        }
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the entries of the slot that the current tick has just reached on each level it carried into.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) {
+                return;     // no carry into this level, nor any above
+            }
+            Entry<T> sentinel = slots[level * SLOTS + (int) ((currentTick >>> (BITS * level)) & MASK)];
+            Entry<T> entry = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (entry != sentinel) {
+                Entry<T> next = entry.next;
+                levelSizes[level]--;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long differingBits = entry.deadline ^ currentTick;     // none when moved down on its own tick
+        int level = differingBits == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(differingBits)) / BITS;
+        Entry<T> sentinel = slots[level * SLOTS + (int) ((entry.deadline >>> (BITS * level)) & MASK)];
+        entry.level = level;
+        levelSizes[level]++;
+        entry.prev = sentinel.prev;
+        entry.next = sentinel;
+        sentinel.prev.next = entry;
+        sentinel.prev = entry;
+    }
+
+    private int lowestOccupiedLevel() {
+        for (int level = 0; level < LEVELS; level++) {
+            if (levelSizes[level] > 0) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    private void unlink(Entry<T> entry) {
+        levelSizes[entry.level]--;
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+}
@@ -0,0 +1,251 @@
+package storage;
+
+import exception.FileContentException;
+import exception.FileContentException.ErrorType;
+import exception.MeeBotException;
+import task.DeadlineTask;
+import task.EventTask;
+import task.RecurringTask;
+import task.Task;
+import task.TaskType;
+import task.TodoTask;
+import util.EpochMinutes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Utility class to read and write tasks in the arena snapshot format, whose records are preceded by
+ * a table of their offsets so that any record can be found without reading the ones before it.
+ * <p>Loading uses the table to decode the records of a large file in parallel on the common
+ * {@link ForkJoinPool}, while the records of a {@link BinaryTaskCodec binary} snapshot can only be
+ * found one after another and are decoded on a single thread. Layout (big-endian):
+ * <pre>
+ * header  : magic "MEEA" (int) | version (short) | reserved (short) | task count (int) | end of records (int)
+ * offsets : record offset (int) per task
+ * record  : flags (byte) | type (byte) | length (int) | start (long) | end (long) | id (long)
+ *           | UTF-8 description | CRC32C of the preceding record bytes (int)
+ * </pre>
+ * Types are {@link TaskType} ordinals. Flag bit 0 is the done state and bit 1 marks dates with a
+ * time of day. Dates are minutes since the epoch, see {@link EpochMinutes}, and unused ones are 0.
+ * A recurring task keeps its rule in place of the end, as packed by {@link RecurringTask#getRuleCode()}.
+ * <p>A file with a bad header, or an offset or length running outside the records, is rejected.
+ * As with the other formats, records failing checksum verification or validation are skipped and
+ * counted, and the positions of corrupt records are reported.
+ *
+ * @see SnapshotFormat#ARENA
+ */
+public final class ArenaTaskCodec {
+
+    static final int MAGIC = 0x4D454541;    // "MEEA"
+    static final short VERSION = 3;
+    static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORDS_END_OFFSET = 12;
+
+    private static final int RECORD_HEADER_SIZE = 30;
+    private static final int LENGTH_OFFSET = 2;
+    private static final int START_OFFSET = 6;
+    private static final int END_OFFSET = 14;
+    private static final int ID_OFFSET = 22;
+    private static final int CHECKSUM_SIZE = 4;
+    private static final int MIN_RECORD_SIZE = RECORD_HEADER_SIZE + CHECKSUM_SIZE;
+    private static final int FLAG_DONE = 1;
+    private static final int FLAG_HAS_TIME = 1 << 1;
+
+    private static final int MIN_CHUNK_TASKS = 16 * 1024;
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private ArenaTaskCodec() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Writes all tasks to the channel, replacing its content. The file is sized up front
+     * and filled through a single mapping; the caller decides whether to force it to disk.
+     *
+     * @param taskList the tasks to write
+     * @param channel  a channel opened for reading and writing
+     * @throws IOException if the file cannot be mapped or is larger than a single mapping allows
+     */
+    public static void write(List<Task> taskList, FileChannel channel) throws IOException {
+        long size = HEADER_SIZE + (long) Integer.BYTES * taskList.size();
+        for (Task task : taskList) {
+            size += MIN_RECORD_SIZE + BinaryTaskCodec.utf8Length(task.getDescription());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Arena snapshot too large: " + size + " bytes");
+        }
+
+        channel.truncate(0);
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buf.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(taskList.size())
+                .putInt((int) size);
+
+        CRC32C crc = new CRC32C();
+        int offsets = HEADER_SIZE;
+        buf.position(HEADER_SIZE + Integer.BYTES * taskList.size());
+        for (Task task : taskList) {
+            int record = buf.position();
+            buf.putInt(offsets, record);
+            offsets += Integer.BYTES;
+            writeRecord(task, buf);
+            crc.reset();
+            crc.update(buf.duplicate().position(record).limit(buf.position()));
+            buf.putInt((int) crc.getValue());
+        }
+        buf.force();
+    }
+
+    private static void writeRecord(Task task, ByteBuffer buf) {
+        long start = 0;
+        long end = 0;
+        if (task instanceof DeadlineTask d) {
+            start = EpochMinutes.toEpochMinute(d.getDeadline());
+        } else if (task instanceof EventTask e) {
+            start = EpochMinutes.toEpochMinute(e.getStart());
+            end = EpochMinutes.toEpochMinute(e.getEnd());
+        } else if (task instanceof RecurringTask r) {
+            start = EpochMinutes.toEpochMinute(r.getStart());
+            end = r.getRuleCode();
+        }
+        int flags = (task.isDone() ? FLAG_DONE : 0) | (task.hasTime() ? FLAG_HAS_TIME : 0);
+        String description = task.getDescription();
+        buf.put((byte) flags)
+                .put((byte) task.getTaskType().ordinal())
+                .putInt(BinaryTaskCodec.utf8Length(description))
+                .putLong(start)
+                .putLong(end)
+                .putLong(task.getId());
+        BinaryTaskCodec.putUtf8(description, buf);
+    }
+
+    /**
+     * Reads all tasks from the channel, decoding runs of records in parallel once there are enough
+     * of them. Tasks that fail validation are skipped and counted.
+     *
+     * @param channel a channel opened for reading
+     * @return a list of successfully decoded tasks, in file order
+     * @throws IOException          if the file cannot be mapped
+     * @throws FileContentException if the header is invalid or a record lies outside the records
+     */
+    public static List<Task> read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int count = buf.getInt(COUNT_OFFSET);
+        int recordsEnd = buf.getInt(RECORDS_END_OFFSET);
+        if (buf.getInt(0) != MAGIC || buf.getShort(4) != VERSION
+                || count < 0 || count > (size - HEADER_SIZE) / (Integer.BYTES + MIN_RECORD_SIZE)
+                || recordsEnd < HEADER_SIZE + Integer.BYTES * count || recordsEnd > size) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_TASKS, count / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        List<ChunkResult> results = IntStream.range(0, (count + chunkSize - 1) / chunkSize)
+                .parallel()
+                .mapToObj(chunk -> decodeChunk(buf, count, recordsEnd,
+                        chunk * chunkSize, Math.min(count, (chunk + 1) * chunkSize)))
+                .toList();
+
+        List<Task> tasks = new ArrayList<>(count);
+        List<Integer> corruptRecords = new ArrayList<>();
+        int failedTasks = 0;
+        for (ChunkResult result : results) {
+            tasks.addAll(result.tasks());
+            failedTasks += result.failedTasks();
+            corruptRecords.addAll(result.corruptRecords());
+        }
+        TaskDeserializer.reportFailures(failedTasks, corruptRecords);
+        return tasks;
+    }
+
+    /**
+     * Outcome of decoding a run of records. {@code corruptRecords} holds 1-based positions in the file.
+     */
+    private record ChunkResult(List<Task> tasks, int failedTasks, List<Integer> corruptRecords) {
+    }
+
+    /**
+     * Decodes the records at positions {@code from} up to, but excluding, {@code to}. Only absolute
+     * reads are made on the shared buffer, so chunks can be decoded at the same time.
+     */
+    private static ChunkResult decodeChunk(ByteBuffer buf, int count, int recordsEnd, int from, int to) {
+        ByteBuffer view = buf.duplicate();
+        CRC32C crc = new CRC32C();
+        List<Task> tasks = new ArrayList<>(to - from);
+        List<Integer> corruptRecords = new ArrayList<>();
+        int failedTasks = 0;
+        for (int i = from; i < to; i++) {
+            int record = buf.getInt(HEADER_SIZE + Integer.BYTES * i);
+            if (record < HEADER_SIZE + Integer.BYTES * count || record > recordsEnd - MIN_RECORD_SIZE) {
+                throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+            }
+            int length = buf.getInt(record + LENGTH_OFFSET);
+            if (length < 0 || length > recordsEnd - record - MIN_RECORD_SIZE) {
+                // Checked before allocating, so a corrupt length cannot exhaust the heap
+                throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+            }
+
+            int checksumOffset = record + RECORD_HEADER_SIZE + length;
+            crc.reset();
+            crc.update(view.limit(checksumOffset).position(record));
+            view.limit(view.capacity());
+            if (buf.getInt(checksumOffset) != (int) crc.getValue()) {
+                failedTasks++;
+                corruptRecords.add(i + 1);
+                continue;
+            }
+
+            try {
+                tasks.add(decodeRecord(buf, record, length));
+            } catch (MeeBotException | DateTimeException e) {
+                failedTasks++;
+            }
+        }
+        return new ChunkResult(tasks, failedTasks, corruptRecords);
+    }
+
+    private static Task decodeRecord(ByteBuffer buf, int record, int length) {
+        int flags = buf.get(record);
+        int type = buf.get(record + 1);
+        if (type < 0 || type >= TYPES.length) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+        boolean isTimed = (flags & FLAG_HAS_TIME) != 0;
+        long start = buf.getLong(record + START_OFFSET);
+        long end = buf.getLong(record + END_OFFSET);
+        byte[] text = new byte[length];
+        buf.get(record + RECORD_HEADER_SIZE, text);
+        String description = new String(text, StandardCharsets.UTF_8);
+
+        Task task = switch (TYPES[type]) {
+        case TODO -> new TodoTask(description);
+        case DEADLINE -> new DeadlineTask(description, EpochMinutes.toDateTime(start, isTimed));
+        case EVENT -> new EventTask(description,
+                EpochMinutes.toDateTime(start, isTimed), EpochMinutes.toDateTime(end, isTimed));
+        case RECURRING -> RecurringTask.fromRuleCode(description,
+                EpochMinutes.toDateTime(start, isTimed), end);
+        };
+        if ((flags & FLAG_DONE) != 0) {
+            task.markAsDone();
+        }
+        task.setId(buf.getLong(record + ID_OFFSET));
+        return task;
+    }
+}
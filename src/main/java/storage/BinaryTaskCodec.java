@@ -0,0 +1,298 @@
+package storage;
+
+import exception.FileContentException;
+import exception.FileContentException.ErrorType;
+import exception.MeeBotException;
+import task.DeadlineTask;
+import task.EventTask;
+import task.RecurringTask;
+import task.Task;
+import task.TodoTask;
+import util.ParsedDateTime;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Utility class to read and write tasks in the versioned binary snapshot format.
+ * <p>Files are accessed through {@link FileChannel#map}, so loading is a single sequential
+ * pass over memory without any text parsing. Layout (big-endian):
+ * <pre>
+ * header : magic "MEEB" (int) | version (short) | reserved (short) | task count (int) | reserved (int)
+ * record : type (byte) | flags (byte) | id (long, since version 3) | dates (long epoch-second each)
+ *          | length (int) | UTF-8 description | CRC32C of the preceding record bytes (int, since version 2)
+ * </pre>
+ * Types are 0 for todo, 1 for deadline (one date), 2 for event (start and end) and 3 for recurring
+ * (start, then the rule packed by {@link RecurringTask#getRuleCode()} in place of a second date).
+ * Flag bit 0 is the done state and bit 1 marks that the dates carry a time of day. Dates are stored
+ * as UTC epoch seconds of the local date-time, i.e. without any time zone conversion.
+ * <p>As with JSON, records that decode but do not form a valid task (e.g. an event ending before
+ * it starts) are skipped and counted, as are records failing checksum verification, whose positions
+ * are reported. A file with a bad header or a truncated record is rejected. Version 1 files, which
+ * have no checksums, and version 2 files, which have no task ids, are still read.
+ *
+ * @see SnapshotFormat#BINARY
+ */
+public final class BinaryTaskCodec {
+
+    static final int MAGIC = 0x4D454542;    // "MEEB"
+    static final short VERSION = 3;
+    private static final short FIRST_CHECKSUM_VERSION = 2;
+    private static final short FIRST_ID_VERSION = 3;
+    static final int HEADER_SIZE = 16;
+
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final byte TYPE_RECURRING = 3;
+    private static final int FLAG_DONE = 1;
+    private static final int FLAG_HAS_TIME = 1 << 1;
+    private static final int MIN_RECORD_SIZE = 2 + 4;     // type, flags and length of a version 1 todo
+
+    private BinaryTaskCodec() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Writes all tasks to the channel, replacing its content. The file is sized up front
+     * and filled through a single mapping; the caller decides whether to force it to disk.
+     *
+     * @param taskList the tasks to write
+     * @param channel  a channel opened for reading and writing
+     * @throws IOException if the file cannot be mapped or is larger than a single mapping allows
+     */
+    public static void write(List<Task> taskList, FileChannel channel) throws IOException {
+        long size = HEADER_SIZE;
+        for (Task task : taskList) {
+            size += recordSize(task);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Binary snapshot too large: " + size + " bytes");
+        }
+
+        channel.truncate(0);
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buf.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(taskList.size())
+                .putInt(0);
+
+        CRC32C crc = new CRC32C();
+        for (Task task : taskList) {
+            int start = buf.position();
+            writeRecord(task, buf);
+            buf.putInt(checksum(buf, start, crc));
+        }
+        buf.force();
+    }
+
+    /**
+     * Reads all tasks from the channel. Tasks that fail validation are skipped and counted.
+     *
+     * @param channel a channel opened for reading
+     * @return a list of successfully decoded tasks, in file order
+     * @throws IOException          if the file cannot be mapped
+     * @throws FileContentException if the header is invalid or a record is truncated
+     */
+    public static List<Task> read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int magic = buf.getInt();
+        short version = buf.getShort();
+        buf.getShort();
+        int count = buf.getInt();
+        buf.getInt();
+        if (magic != MAGIC || version < 1 || version > VERSION
+                || count < 0 || count > buf.remaining() / MIN_RECORD_SIZE) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+        boolean hasChecksums = version >= FIRST_CHECKSUM_VERSION;
+        boolean hasIds = version >= FIRST_ID_VERSION;
+
+        List<Task> tasks = new ArrayList<>(count);
+        List<Integer> corruptRecords = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+        byte[] scratch = new byte[256];
+        int failedTasks = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                int start = buf.position();
+                byte type = buf.get();
+                int flags = buf.get();
+                boolean hasTime = (flags & FLAG_HAS_TIME) != 0;
+                long id = hasIds ? buf.getLong() : 0;
+                long first = type == TYPE_TODO ? 0 : buf.getLong();
+                long second = type == TYPE_EVENT || type == TYPE_RECURRING ? buf.getLong() : 0;
+
+                int length = buf.getInt();
+                if (length < 0 || length > buf.remaining()) {
+                    // Checked before allocating, so a corrupt length cannot exhaust the heap
+                    throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buf.get(scratch, 0, length);
+                String description = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                if (hasChecksums && buf.getInt(buf.position()) != checksum(buf, start, crc)) {
+                    buf.getInt();
+                    failedTasks++;
+                    corruptRecords.add(i + 1);
+                    continue;
+                }
+                if (hasChecksums) {
+                    buf.getInt();
+                }
+
+                try {
+                    Task task = switch (type) {
+                    case TYPE_TODO -> new TodoTask(description);
+                    case TYPE_DEADLINE -> new DeadlineTask(description, toDateTime(first, hasTime));
+                    case TYPE_EVENT -> new EventTask(description,
+                            toDateTime(first, hasTime), toDateTime(second, hasTime));
+                    case TYPE_RECURRING -> RecurringTask.fromRuleCode(description,
+                            toDateTime(first, hasTime), second);
+                    default -> throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+                    };
+                    if ((flags & FLAG_DONE) != 0) {
+                        task.markAsDone();
+                    }
+                    task.setId(id);
+                    tasks.add(task);
+                } catch (FileContentException e) {
+                    throw e;    // unknown type, the record boundaries can no longer be trusted
+                } catch (MeeBotException | DateTimeException e) {
+                    failedTasks++;
+                }
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new FileContentException(ErrorType.INVALID_SNAPSHOT_FORMAT);
+        }
+
+        TaskDeserializer.reportFailures(failedTasks, corruptRecords);
+        return tasks;
+    }
+
+    /* ==================== Records ==================== */
+
+    private static long recordSize(Task task) {
+        int dates = task instanceof EventTask || task instanceof RecurringTask ? 2
+                : task instanceof DeadlineTask ? 1 : 0;
+        return 2 + 8 + 8L * dates + 4 + utf8Length(task.getDescription()) + 4;
+    }
+
+    /**
+     * Returns the CRC32C of the bytes from {@code start} up to the buffer's position,
+     * leaving the position unchanged.
+     */
+    private static int checksum(ByteBuffer buf, int start, CRC32C crc) {
+        int end = buf.position();
+        int limit = buf.limit();
+        crc.reset();
+        buf.position(start);
+        buf.limit(end);
+        crc.update(buf);
+        buf.limit(limit);
+        return (int) crc.getValue();
+    }
+
+    private static void writeRecord(Task task, ByteBuffer buf) {
+        int flags = (task.isDone() ? FLAG_DONE : 0) | (task.hasTime() ? FLAG_HAS_TIME : 0);
+        if (task instanceof DeadlineTask d) {
+            buf.put(TYPE_DEADLINE).put((byte) flags).putLong(task.getId())
+                    .putLong(toEpochSecond(d.getDeadline()));
+        } else if (task instanceof EventTask e) {
+            buf.put(TYPE_EVENT).put((byte) flags).putLong(task.getId())
+                    .putLong(toEpochSecond(e.getStart()))
+                    .putLong(toEpochSecond(e.getEnd()));
+        } else if (task instanceof RecurringTask r) {
+            buf.put(TYPE_RECURRING).put((byte) flags).putLong(task.getId())
+                    .putLong(toEpochSecond(r.getStart()))
+                    .putLong(r.getRuleCode());
+        } else {
+            buf.put(TYPE_TODO).put((byte) flags).putLong(task.getId());
+        }
+
+        String description = task.getDescription();
+        buf.putInt(utf8Length(description));
+        putUtf8(description, buf);
+    }
+
+    private static long toEpochSecond(LocalDateTime dt) {
+        return dt.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static ParsedDateTime toDateTime(long epochSecond, boolean hasTime) {
+        return new ParsedDateTime(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), hasTime);
+    }
+
+    /* ==================== UTF-8 ==================== */
+
+    /**
+     * Returns the number of bytes {@link #putUtf8} writes for the value. Unpaired surrogates
+     * are counted as a single replacement byte, matching {@link String#getBytes}.
+     */
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes the value as UTF-8 at the buffer's position, without allocating an encoded copy.
+     */
+    static void putUtf8(String value, ByteBuffer buf) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf.put((byte) (0xF0 | (cp >> 18)))
+                        .put((byte) (0x80 | ((cp >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((cp >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buf.put((byte) '?');
+            } else {
+                buf.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package storage;
+
+/**
+ * How soon the effects of a command are written to disk, selected with
+ * {@link StorageSettings#durability()}.
+ * <p>Every level only writes after commands that changed the task list, and every write is
+ * forced to the storage device. They differ in when that write happens and how much may be
+ * lost if the process is killed:
+ * <ul>
+ * <li>{@link #SYNC} - before the next prompt is shown; nothing is lost</li>
+ * <li>{@link #INTERVAL} - on a background thread at most every configured interval, coalescing
+ * all commands in between into one write; up to one interval of changes may be lost</li>
+ * <li>{@link #ON_EXIT} - once when the application exits normally</li>
+ * </ul>
+ *
+ * @see PersistenceWorker
+ */
+public enum Durability {
+    SYNC("sync"),
+    INTERVAL("interval"),
+    ON_EXIT("exit");
+
+    private final String keyword;
+
+    Durability(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Looks up a Durability by keyword using case-insensitive matching.
+     *
+     * @return matching level, or {@code null} if no match is found
+     */
+    public static Durability fromKeyword(String keyword) {
+        for (Durability level : values()) {
+            if (level.keyword.equalsIgnoreCase(keyword.trim())) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
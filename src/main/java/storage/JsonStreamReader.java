@@ -0,0 +1,265 @@
+package storage;
+
+import exception.FileContentException;
+import exception.FileContentException.ErrorType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Single-pass streaming scanner for flat JSON objects.
+ * <p>Reads characters from a {@link Reader} through a fixed-size buffer and emits one
+ * {@link SimpleJsonObject} at a time, so memory use is bounded by the largest object rather
+ * than by the size of the file. It accepts either a JSON array of objects
+ * ({@code [{...}, {...}]}) or a sequence of top-level objects such as one object per line.
+ * <p>Only flat objects are supported: values are strings, numbers, booleans or {@code null}.
+ * String values are unescaped ({@code \"}, {@code \\}, {@code \n}, {@code \\u} hex escapes, ...);
+ * other values are returned as their raw text, e.g. {@code "true"} or {@code "42"}.
+ * Unknown escapes are kept literally so files written before escaping was introduced still load.
+ *
+ * @see TaskDeserializer#reconstructTask(Reader)
+ */
+public class JsonStreamReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+    private int limit;
+    private boolean isInArray;
+    private boolean isFirst = true;
+
+    public JsonStreamReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Parses a single flat JSON object string (e.g. {@code {"type":"todo","done":false}}).
+     *
+     * @param json the JSON object string including its surrounding braces
+     * @return the parsed key-value pairs
+     * @throws FileContentException if the string is not exactly one well-formed object
+     */
+    public static SimpleJsonObject parseObject(String json) {
+        try (JsonStreamReader reader = new JsonStreamReader(new StringReader(json))) {
+            SimpleJsonObject obj = reader.nextObject();
+            if (obj == null || reader.nextObject() != null) {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+            }
+            return obj;
+        } catch (IOException e) {
+            throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);   // unreachable for StringReader
+        }
+    }
+
+    /**
+     * Reads the next object from the stream.
+     *
+     * @return the next object, or {@code null} once the closing bracket or end of input is reached
+     * @throws IOException          if the underlying reader fails
+     * @throws FileContentException if the input is not well-formed
+     */
+    public SimpleJsonObject nextObject() throws IOException {
+        int c = skipWhitespace();
+        if (isFirst) {
+            isFirst = false;
+            if (c == '[') {
+                isInArray = true;
+                pos++;
+                c = skipWhitespace();
+                if (c == ']') {
+                    pos++;
+                    return expectEnd();
+                }
+                return readObject();
+            }
+        } else if (isInArray) {
+            pos++;
+            if (c == ']') {
+                return expectEnd();
+            }
+            if (c != ',') {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+            }
+            c = skipWhitespace();
+        } else if (c == ',') {
+            pos++;  // tolerate separators between top-level objects
+            c = skipWhitespace();
+        }
+
+        if (c == EOF) {
+            if (isInArray) {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);  // missing ']'
+            }
+            return null;
+        }
+        return readObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /* ==================== Scanner ==================== */
+
+    private SimpleJsonObject readObject() throws IOException {
+        if (skipWhitespace() != '{') {
+            throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+        }
+        pos++;
+
+        SimpleJsonObject obj = new SimpleJsonObject();
+        int c = skipWhitespace();
+        if (c == '}') {
+            throw new FileContentException(ErrorType.MISSING_FIELD);
+        }
+
+        while (true) {
+            if (c != '"') {
+                throw new FileContentException(ErrorType.MISSING_FIELD);
+            }
+            String key = readString();
+            if (skipWhitespace() != ':') {
+                throw new FileContentException(ErrorType.MISSING_FIELD);
+            }
+            pos++;
+            c = skipWhitespace();
+            String value = c == '"' ? readString() : readLiteral();
+            obj.put(key, value);
+
+            c = skipWhitespace();
+            pos++;
+            if (c == '}') {
+                return obj;
+            }
+            if (c != ',') {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    /**
+     * Reads a quoted string starting at the opening quote and returns its unescaped content.
+     */
+    private String readString() throws IOException {
+        pos++;  // opening quote
+        text.setLength(0);
+        while (true) {
+            // Copy runs of plain characters in bulk
+            int start = pos;
+            while (pos < limit) {
+                char ch = buffer[pos];
+                if (ch == '"' || ch == '\\') {
+                    break;
+                }
+                pos++;
+            }
+            text.append(buffer, start, pos - start);
+
+            int c = peek();
+            if (c == EOF) {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+            }
+            if (c == '"') {
+                pos++;
+                return text.toString();
+            }
+            if (c == '\\') {
+                pos++;
+                readEscape();
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int c = peek();
+        if (c == EOF) {
+            throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+        }
+        pos++;
+        switch (c) {
+        case '"', '\\', '/' -> text.append((char) c);
+        case 'b' -> text.append('\b');
+        case 'f' -> text.append('\f');
+        case 'n' -> text.append('\n');
+        case 'r' -> text.append('\r');
+        case 't' -> text.append('\t');
+        case 'u' -> text.append(readHexChar());
+        default -> text.append('\\').append((char) c);
+        }
+    }
+
+    private char readHexChar() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(peek(), 16);
+            if (digit < 0) {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+            }
+            pos++;
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    /**
+     * Reads an unquoted value (number, boolean or null) up to the next delimiter.
+     */
+    private String readLiteral() throws IOException {
+        text.setLength(0);
+        int c;
+        while ((c = peek()) != EOF && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            if (c == '{' || c == '[' || c == '"') {
+                throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);  // nested values unsupported
+            }
+            text.append((char) c);
+            pos++;
+        }
+        if (text.length() == 0) {
+            throw new FileContentException(ErrorType.MISSING_FIELD);
+        }
+        return text.toString();
+    }
+
+    private SimpleJsonObject expectEnd() throws IOException {
+        if (skipWhitespace() != EOF) {
+            throw new FileContentException(ErrorType.INVALID_JSON_FORMAT);
+        }
+        isInArray = false;
+        return null;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     */
+    private int skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) != EOF && Character.isWhitespace(c)) {
+            pos++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        pos = 0;
+        limit = Math.max(n, 0);
+        return n > 0;
+    }
+}
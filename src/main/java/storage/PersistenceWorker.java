@@ -0,0 +1,169 @@
+package storage;
+
+import manager.SortKey;
+import manager.TaskChangeListener;
+import task.Task;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decides when changes to the task list are written, according to a {@link Durability} level.
+ * <p>The worker listens to the task manager only to learn that something changed. After each
+ * command, {@link #commit()} does nothing at all unless the command mutated the list, so
+ * read-only commands never touch the disk. Otherwise the write is either done right away, handed
+ * to a single background thread that coalesces everything since its last run into one write, or
+ * left until {@link #close()}.
+ * <p>What is written is supplied by a {@link WriteSource}, which runs on the command thread and
+ * captures whatever state the write needs, so that the write itself can safely run on another
+ * thread while later commands keep changing the list.
+ *
+ * @see Storage#commit()
+ */
+public class PersistenceWorker implements TaskChangeListener {
+
+    /**
+     * A captured write, ready to be performed on any thread.
+     */
+    @FunctionalInterface
+    public interface PendingWrite {
+        /**
+         * @param isForced whether the written data must be forced to the storage device
+         */
+        void write(boolean isForced) throws IOException;
+    }
+
+    /**
+     * Captures the state to write. Always called on the thread that mutates the task list.
+     */
+    @FunctionalInterface
+    public interface WriteSource {
+        /**
+         * @param isDeferred {@code true} if the returned write will run later on another thread,
+         *                   in which case it must not read the live task list
+         */
+        PendingWrite capture(boolean isDeferred) throws IOException;
+    }
+
+    private final Durability durability;
+    private final WriteSource source;
+    private final AtomicBoolean isDirty = new AtomicBoolean();
+    private final AtomicReference<PendingWrite> pending = new AtomicReference<>();
+    private final ScheduledExecutorService writer;
+
+    /**
+     * @param durability     when writes happen
+     * @param intervalMillis minimum time between background writes, used by {@link Durability#INTERVAL}
+     * @param source         captures the state to write after a mutating command
+     */
+    public PersistenceWorker(Durability durability, long intervalMillis, WriteSource source) {
+        this.durability = durability;
+        this.source = source;
+        if (durability == Durability.INTERVAL) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "persistence-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            writer.scheduleWithFixedDelay(this::writePending, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            writer = null;
+        }
+    }
+
+    /* ==================== Dirty tracking ==================== */
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        isDirty.set(true);
+    }
+
+    @Override
+    public void taskStatusChanged(int index, Task task) {
+        isDirty.set(true);
+    }
+
+    @Override
+    public void taskDeleted(int index, Task task) {
+        isDirty.set(true);
+    }
+
+    @Override
+    public void tasksStatusChanged(BitSet indexes, boolean isDone) {
+        isDirty.set(true);
+    }
+
+    @Override
+    public void tasksDeleted(BitSet indexes, List<Task> tasks) {
+        isDirty.set(true);
+    }
+
+    @Override
+    public void tasksSorted(SortKey key, boolean isKept) {
+        isDirty.set(true);
+    }
+
+    /* ==================== Writing ==================== */
+
+    /**
+     * Called after every command. Writes, schedules or defers the changes made since the
+     * previous call, depending on the durability level; returns immediately if there are none.
+     *
+     * @throws IOException if a synchronous write fails
+     */
+    public void commit() throws IOException {
+        if (durability == Durability.ON_EXIT || !isDirty.getAndSet(false)) {
+            return;
+        }
+        if (durability == Durability.SYNC) {
+            source.capture(false).write(true);
+        } else {
+            pending.set(source.capture(true));   // replaces any older capture not yet written
+        }
+    }
+
+    /**
+     * Stops the background thread and writes any outstanding changes, forced to disk.
+     * Should be called once before the application exits.
+     *
+     * @throws IOException if the final write fails
+     */
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean hasPending = pending.getAndSet(null) != null;
+        if (isDirty.getAndSet(false) || hasPending) {
+            source.capture(false).write(true);
+        }
+    }
+
+    /**
+     * Runs on the background thread. A failed write is kept for the next run, unless a newer
+     * capture has replaced it in the meantime.
+     */
+    private void writePending() {
+        PendingWrite write = pending.getAndSet(null);
+        if (write == null) {
+            return;
+        }
+        try {
+            write.write(true);
+        } catch (IOException | RuntimeException e) {
+            pending.compareAndSet(null, write);
+            System.err.println("Failed to save tasks: " + e.getMessage());
+        }
+    }
+}
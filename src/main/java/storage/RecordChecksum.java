@@ -0,0 +1,109 @@
+package storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C of one task record in a JSON snapshot or journal, stored in its {@code "crc"} field.
+ * <p>The checksum covers the decoded values of the task fields rather than the JSON text, so it
+ * does not depend on pretty-printing or escaping and can be checked right after an object has been
+ * scanned, without re-reading the file. Each value is UTF-8 encoded and prefixed with the index of
+ * its field in {@link #FIELDS}. Instances are reused from record to record and are not thread-safe.
+ *
+ * @see TaskSerializer
+ * @see TaskDeserializer
+ */
+final class RecordChecksum {
+
+    static final String FIELD = "crc";
+
+    /**
+     * Checksummed fields. They are added in this order, except that the rule of a recurring task,
+     * {@code "every"} and {@code "count"}, comes right after its {@code "start"}.
+     */
+    static final String[] FIELDS = {
+        "type", "done", "description", "deadline", "start", "end", "id", "every", "count"
+    };
+
+    private final CRC32C crc = new CRC32C();
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    RecordChecksum reset() {
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Adds the value of the field at the given index of {@link #FIELDS}, or nothing if the value
+     * is {@code null}. Values are collected without allocating and checksummed in one call by
+     * {@link #value()}.
+     */
+    RecordChecksum add(int field, String value) {
+        if (value == null) {
+            return this;    // field not present in this record
+        }
+        int n = value.length();
+        if (length + 1 + 3 * n > bytes.length) {   // at most 3 UTF-8 bytes per char
+            bytes = Arrays.copyOf(bytes, Math.max(length + 1 + 3 * n, bytes.length * 2));
+        }
+
+        byte[] b = bytes;
+        int pos = length;
+        b[pos++] = (byte) field;
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                byte[] rest = value.substring(i).getBytes(StandardCharsets.UTF_8);  // rare
+                System.arraycopy(rest, 0, b, pos, rest.length);
+                pos += rest.length;
+                break;
+            }
+            b[pos++] = (byte) c;
+        }
+        length = pos;
+        return this;
+    }
+
+    /**
+     * Returns the checksum of the values added since the last reset, as an unsigned 32-bit value.
+     */
+    long value() {
+        crc.reset();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Compares the checksum of the values added since the last reset with a stored one.
+     *
+     * @param stored the stored checksum, as written by {@link #toHex(long)}
+     */
+    boolean matches(String stored) {
+        if (stored.length() != 8) {
+            return false;
+        }
+        long parsed = 0;
+        for (int i = 0; i < 8; i++) {
+            int digit = Character.digit(stored.charAt(i), 16);
+            if (digit < 0) {
+                return false;
+            }
+            parsed = (parsed << 4) | digit;
+        }
+        return parsed == value();
+    }
+
+    /**
+     * Returns the unsigned value as 8 lowercase hex digits.
+     */
+    static char[] toHex(long value) {
+        char[] digits = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            digits[i] = Character.forDigit((int) (value & 0xF), 16);
+            value >>>= 4;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,131 @@
+package storage;
+
+import task.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * On-disk formats for the full task snapshot, selected with {@link StorageSettings#format()}.
+ * <p>JSON is human-readable and remains the import/export format; BINARY is a compact,
+ * memory-mapped format for large task lists. ARENA adds a table of record offsets to the binary
+ * idea, so that very large lists load on all cores. Each format has its own file name, so switching
+ * the setting loads the other format's snapshot once and migrates it.
+ *
+ * @see TaskSerializer
+ * @see BinaryTaskCodec
+ * @see ArenaTaskCodec
+ */
+public enum SnapshotFormat {
+    JSON("tasks.json"),
+    BINARY("tasks.bin"),
+    ARENA("tasks.arena");
+
+    private static final String SAVING_SUFFIX = ".saving";
+
+    private final String fileName;
+
+    SnapshotFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Looks up a SnapshotFormat by name using case-insensitive matching.
+     *
+     * @return matching format, or {@code null} if no match is found
+     */
+    public static SnapshotFormat fromName(String name) {
+        for (SnapshotFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads all tasks from a snapshot file in this format.
+     *
+     * @param file the snapshot file to read
+     * @return a list of successfully deserialized tasks
+     * @throws IOException if the file cannot be read
+     */
+    public List<Task> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return switch (this) {
+            case JSON -> TaskDeserializer.reconstructTaskParallel(channel);
+            case BINARY -> BinaryTaskCodec.read(channel);
+            case ARENA -> ArenaTaskCodec.read(channel);
+            };
+        }
+    }
+
+    /**
+     * Writes all tasks to a snapshot file in this format, replacing its content.
+     *
+     * @param taskList the tasks to write
+     * @param file     the snapshot file to write
+     * @param isPretty whether JSON output is pretty-printed; ignored for binary formats
+     * @param isForced whether to force the content to disk before returning
+     * @throws IOException if the file cannot be written
+     */
+    public void write(List<Task> taskList, Path file, boolean isPretty, boolean isForced) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            switch (this) {
+            case JSON -> {
+                Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+                TaskSerializer.writeTasks(taskList, out, isPretty);
+                out.flush();
+            }
+            case BINARY -> BinaryTaskCodec.write(taskList, channel);
+            case ARENA -> ArenaTaskCodec.write(taskList, channel);
+            }
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Replaces a snapshot file so that a crash at any point leaves either the old or the new
+     * content in place, never a mix. The tasks are written to a temporary file next to the target
+     * and forced to disk, the temporary file is atomically renamed over the target, and the
+     * directory is forced so the rename itself survives a power loss.
+     *
+     * @param taskList the tasks to write
+     * @param file     the snapshot file to replace
+     * @param isPretty whether JSON output is pretty-printed; ignored for binary formats
+     * @throws IOException if the file cannot be written or renamed
+     */
+    public void writeAtomically(List<Task> taskList, Path file, boolean isPretty) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + SAVING_SUFFIX);
+        write(taskList, temp, isPretty, true);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory's entries to disk. Not every platform allows opening a directory,
+     * in which case the rename is left to the file system's own ordering.
+     */
+    static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // e.g. on Windows, directories cannot be opened as channels
+        }
+    }
+}
@@ -4,50 +4,68 @@ import exception.MeeBotException;
 import manager.TaskManager;
 import task.Task;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 /**
  * Handles persistent storage of tasks to and from the file system.
  * <p>This class manages the creation and maintenance of storage directories and files,
- * and provides methods to save tasks in JSON format. It uses a key-based access pattern
+ * and provides methods to save tasks in JSON or binary format. It uses a key-based access pattern
  * to ensure that only authorized operations can modify the underlying task data.
+ * <p>When journaling is enabled (the default), mutations are appended to a {@link TaskJournal}
+ * after each command and the snapshot is only rewritten when the journal is compacted, which the
+ * journal checks for itself as records are appended.
+ * <p>When changes are written is decided by a {@link PersistenceWorker} according to the configured
+ * {@link Durability}; commands that do not change the task list never write anything.
+ *
+ * @see StorageSettings
+ * @see SnapshotFormat
  */
 public class Storage {
 
-    private static final String DEFAULT_DIR = "data";
-    private static final String DEFAULT_FILE = "tasks.json";
+    private static final String IMPORTED_SUFFIX = ".imported";
     private final File dataFile;
     private final TaskManager tm;
+    private final StorageSettings settings;
+    private final TaskJournal journal;
+    private final PersistenceWorker worker;
 
     public Storage(TaskManager tm) {
+        this(tm, StorageSettings.fromSystemProperties());
+    }
+
+    public Storage(TaskManager tm, StorageSettings settings) {
         this.tm = tm;
+        this.settings = settings;
         this.dataFile = initStorage();
+        this.journal = new TaskJournal(tm, dataFile.toPath(), settings);
+        this.worker = new PersistenceWorker(settings.durability(), settings.flushIntervalMillis(),
+                this::captureWrite);
     }
 
     /**
      * Initializes the storage directory if it doesn't exist, and creates an empty
-     * storage file initialized with "[]" if the file doesn't exist.
+     * storage file (e.g. "[]" for JSON) if neither this nor another format's file exists.
      *
      * @return the File object representing the storage file
      * @throws RuntimeException if the directory cannot be created or if there's
      *                          an IOException while creating or writing to the storage file
      */
     private File initStorage() {
-        File dir = new File(DEFAULT_DIR);
+        File dir = new File(settings.dataDir());
 
         if (!dir.exists() && !dir.mkdirs()) {
             throw new RuntimeException("Unable to create storage directory: " + dir.getAbsolutePath());
         }
 
-        File file = new File(dir, DEFAULT_FILE);
-        if (!file.exists()) {
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-                writer.write("[]");
+        File file = new File(dir, settings.format().getFileName());
+        if (!file.exists() && findOtherSnapshot(dir) == null) {
+            try {
+                settings.format().writeAtomically(List.of(), file.toPath(), settings.isPrettyJson());
             } catch (IOException e) {
                 throw new RuntimeException("Unable to create storage file: " + file.getAbsolutePath());
             }
@@ -56,46 +74,128 @@ public class Storage {
     }
 
     /**
-     * Persists all current tasks to the storage file in JSON format.
-     * <p>Retrieves the current task list from the {@link TaskManager}, serializes
-     * it to JSON format using {@link TaskSerializer}, and writes the complete
-     * JSON array to the storage file. The entire file is overwritten with the current state.
+     * Returns the format of an existing snapshot written in a format other than the configured one.
+     */
+    private SnapshotFormat findOtherSnapshot(File dir) {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            if (format != settings.format() && new File(dir, format.getFileName()).exists()) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Persists all current tasks to the storage file in the configured format.
+     * <p>Retrieves the current task list from the {@link TaskManager} and streams it
+     * into a temporary file, so no JSON string of the whole list is built, then atomically
+     * replaces the storage file with it. A crash during the save leaves the previous file intact.
      *
      * @throws RuntimeException if there's an IOException while writing to the file
-     * @see TaskSerializer#tasksToJson(List)
+     * @see SnapshotFormat#writeAtomically(List, Path, boolean)
      */
     public void saveTasks() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(dataFile))) {
+        try {
             List<Task> taskList = tm.getReadOnlyList();
-            writer.write(TaskSerializer.tasksToJson(taskList));
+            settings.format().writeAtomically(taskList, dataFile.toPath(), settings.isPrettyJson());
         } catch (IOException e) {
             throw new RuntimeException("Failed to save tasks", e);
         }
     }
 
     /**
-     * Loads tasks from storage file in JSON format and populates the task list.
+     * Hands the effects of the last command to the {@link PersistenceWorker}, which writes them
+     * now, later or on exit depending on the configured {@link Durability}. Does nothing if the
+     * command did not change the task list.
+     *
+     * @throws RuntimeException if there's an IOException while writing
+     */
+    public void commit() {
+        try {
+            worker.commit();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save tasks", e);
+        }
+    }
+
+    /**
+     * Writes all outstanding changes, forced to disk, and waits for any background compaction
+     * to finish. Should be called once before the application exits.
+     */
+    public void close() {
+        try {
+            worker.close();
+            if (settings.isJournalEnabled()) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save tasks", e);
+        }
+    }
+
+    /**
+     * Captures what a write of the current state needs. In journal mode the buffered records are
+     * flushed; otherwise the whole task list is rewritten, from a copy if the write is deferred.
+     */
+    private PersistenceWorker.PendingWrite captureWrite(boolean isDeferred) throws IOException {
+        if (settings.isJournalEnabled()) {
+            return journal::flush;
+        }
+        List<Task> tasks = isDeferred ? TaskJournal.copyTasks(tm.getReadOnlyList()) : tm.getReadOnlyList();
+        return isForced -> settings.format().writeAtomically(tasks, dataFile.toPath(), settings.isPrettyJson());
+    }
+
+    /**
+     * Loads tasks from the storage file and populates the task list.
      * <p>
-     * Reconstruct the appropriate task from the JSON data using TaskDeserializer
-     * and adds it to the task list managed by {@link TaskManager}.
+     * Reconstruct the appropriate task from the snapshot and adds it to the task list
+     * managed by {@link TaskManager}. Any journal left on disk is replayed on top of the
+     * snapshot, even if journaling is disabled, in which case it is folded into the snapshot
+     * and removed.
+     * <p>If only a snapshot in another format exists (e.g. {@code tasks.json} after switching to
+     * binary), it is imported, immediately rewritten in the configured format, and renamed with
+     * an {@code .imported} suffix so it is not picked up again.
      *
      * @throws RuntimeException if the file cannot be read due to I/O errors
-     * @see TaskDeserializer#reconstructTask(String)
+     * @see SnapshotFormat#read(Path)
+     * @see TaskJournal#replay()
      */
     public void loadTasks() {
         try {
-            String content = Files.readString(dataFile.toPath()).trim();
-//            System.out. println("Raw JSON content:\n" + content);
-            List<Task> tasks = TaskDeserializer.reconstructTask(content);
-            for (Task task : tasks) {
-                tm.addTask(task);
+            journal.recover();
+            SnapshotFormat source = settings.format();
+            Path sourceFile = dataFile.toPath();
+            if (!dataFile.exists()) {
+                source = findOtherSnapshot(dataFile.getParentFile());
+                sourceFile = dataFile.toPath().resolveSibling(source.getFileName());
             }
+
+            try {
+                List<Task> tasks = source.read(sourceFile);
+                for (Task task : tasks) {
+                    tm.addTask(task);
+                }
+            } catch (MeeBotException e) {
+                System.err.println(e.toErrorMessage());
+            }
+            int replayed = journal.replay();
             System.out.printf("%d tasks loaded%n", tm.getTotalTasks());
 
+            boolean isImported = source != settings.format();
+            if (isImported || (!settings.isJournalEnabled() && replayed > 0)) {
+                journal.foldIntoSnapshot();
+            }
+            if (isImported) {
+                // Keep the old snapshot as a backup, but out of the way of future loads
+                Files.move(sourceFile, sourceFile.resolveSibling(sourceFile.getFileName() + IMPORTED_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (settings.isJournalEnabled()) {
+                journal.open();
+            }
+            tm.addListener(worker);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load tasks: ", e);
-        } catch (MeeBotException e) {
-            System.err.println(e.toErrorMessage());
         }
     }
 }
@@ -0,0 +1,65 @@
+package storage;
+
+/**
+ * Immutable configuration for {@link Storage}.
+ * <p>Settings are read from JVM system properties so they can be changed without code changes,
+ * e.g. {@code java -Dmeebot.journal=false -jar duke.jar}:
+ * <ul>
+ * <li>{@code meebot.dir} - directory holding the data files (default {@code data})</li>
+ * <li>{@code meebot.journal} - append one record per mutation instead of rewriting
+ * the whole file after every command (default {@code true})</li>
+ * <li>{@code meebot.journal.compactBytes} - journal size that triggers a background
+ * compaction into a fresh snapshot (default 1 MiB)</li>
+ * <li>{@code meebot.json.pretty} - write the JSON snapshot with one field per line instead of
+ * compact output (default {@code true})</li>
+ * <li>{@code meebot.format} - snapshot format, {@code json}, {@code binary} or {@code arena}
+ * (default {@code json})</li>
+ * <li>{@code meebot.durability} - when changes are written, {@code sync}, {@code interval} or
+ * {@code exit} (default {@code sync}), see {@link Durability}</li>
+ * <li>{@code meebot.durability.intervalMs} - time between background writes for
+ * {@code interval} (default 1000)</li>
+ * </ul>
+ *
+ * @param dataDir                directory holding the snapshot and journal files
+ * @param isJournalEnabled       whether mutations are journaled instead of rewriting the snapshot
+ * @param compactThresholdBytes  journal size in bytes after which a compaction is started
+ * @param isPrettyJson           whether the JSON snapshot is pretty-printed
+ * @param format                 on-disk format of the snapshot
+ * @param durability             when changes are written to disk
+ * @param flushIntervalMillis    time between background writes for {@link Durability#INTERVAL}
+ */
+public record StorageSettings(String dataDir, boolean isJournalEnabled, long compactThresholdBytes,
+                              boolean isPrettyJson, SnapshotFormat format,
+                              Durability durability, long flushIntervalMillis) {
+
+    public static final String DEFAULT_DIR = "data";
+    public static final long DEFAULT_COMPACT_THRESHOLD = 1024 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    /**
+     * Returns settings with synchronous durability, for callers that do not care when
+     * changes reach the disk beyond "after each command".
+     */
+    public StorageSettings(String dataDir, boolean isJournalEnabled, long compactThresholdBytes,
+                           boolean isPrettyJson, SnapshotFormat format) {
+        this(dataDir, isJournalEnabled, compactThresholdBytes, isPrettyJson, format,
+                Durability.SYNC, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Returns the default settings, overridden by any {@code meebot.*} system properties present.
+     */
+    public static StorageSettings fromSystemProperties() {
+        SnapshotFormat format = SnapshotFormat.fromName(System.getProperty("meebot.format", "json"));
+        Durability durability = Durability.fromKeyword(System.getProperty("meebot.durability", "sync"));
+        return new StorageSettings(
+                System.getProperty("meebot.dir", DEFAULT_DIR),
+                Boolean.parseBoolean(System.getProperty("meebot.journal", "true")),
+                Long.getLong("meebot.journal.compactBytes", DEFAULT_COMPACT_THRESHOLD),
+                Boolean.parseBoolean(System.getProperty("meebot.json.pretty", "true")),
+                format != null ? format : SnapshotFormat.JSON,
+                durability != null ? durability : Durability.SYNC,
+                Math.max(1, Long.getLong("meebot.durability.intervalMs", DEFAULT_FLUSH_INTERVAL))
+        );
+    }
+}
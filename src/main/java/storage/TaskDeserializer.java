@@ -4,13 +4,24 @@ import exception.FileContentException;
 import exception.MeeBotException;
 import task.DeadlineTask;
 import task.EventTask;
+import task.RecurringTask;
 import task.Task;
 import task.TodoTask;
 import util.DateTimeParser;
-import util.TokenizerUtil;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class to deserialize JSON-like task objects into Task instances.
@@ -23,80 +34,326 @@ import java.util.List;
  * <p>The deserialization process is resilient to individual task failures - if some
  * tasks cannot be parsed, the method will continue processing remaining tasks
  * and report the number of failed tasks.
+ * <p>A record's {@code "id"} field, if present, is restored as the task's stable id; tasks from
+ * files written before ids existed are given new ids when added to the task list.
+ * <p>Records carrying a {@code "crc"} field are verified against their {@link RecordChecksum}
+ * as part of the same pass. A mismatching record is skipped like any other failed task, and its
+ * position in the file is reported so the corruption can be located.
  *
  * @see TaskSerializer
  * @see SimpleJsonObject
- * @see TokenizerUtil
+ * @see JsonStreamReader
  */
 public class TaskDeserializer {
 
+    /** Files smaller than this are loaded sequentially, as splitting them is not worth it. */
+    private static final long PARALLEL_THRESHOLD = 1024 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_REPORTED_RECORDS = 10;
+
     private TaskDeserializer() {
         throw new AssertionError("Utility class should not be instantiated");
     }
 
     /**
      * Reconstructs a list of Task objects from a JSON array string.
-     * <p>
-     * Parses the provided JSON array string and attempts to deserialize each
-     * task object. Failed tasks are skipped and counted, while successfully
-     * parsed tasks are added to the returned list.
      *
      * @param jsonArray the JSON array string containing task data
      * @return a list of successfully deserialized Task objects
+     * @see #reconstructTask(Reader)
      */
     public static List<Task> reconstructTask(String jsonArray) {
-        List<SimpleJsonObject> objects = TokenizerUtil.tokenize(jsonArray);
+        try {
+            return reconstructTask(new StringReader(jsonArray));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // unreachable for StringReader
+        }
+    }
+
+    /**
+     * Reconstructs a list of Task objects from a channel containing a UTF-8 encoded JSON array.
+     *
+     * @param channel the channel to read task data from
+     * @return a list of successfully deserialized Task objects
+     * @throws IOException if the channel cannot be read
+     * @see #reconstructTask(Reader)
+     */
+    public static List<Task> reconstructTask(ReadableByteChannel channel) throws IOException {
+        return reconstructTask(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reconstructs a list of Task objects from a JSON array in a single streaming pass.
+     * <p>
+     * Each object is deserialized as soon as it has been scanned, so only the current
+     * object and the resulting tasks are held in memory. Failed tasks are skipped and
+     * counted, while successfully parsed tasks are added to the returned list.
+     *
+     * @param reader the source of the JSON array containing task data
+     * @return a list of successfully deserialized Task objects
+     * @throws IOException if the reader fails
+     * @throws FileContentException if the JSON structure itself is malformed
+     */
+    public static List<Task> reconstructTask(Reader reader) throws IOException {
+        ChunkResult result = deserializeAll(new JsonStreamReader(reader));
+        reportFailures(result.failedTasks(), result.corruptRecords());
+        return result.tasks();
+    }
+
+    /**
+     * Reconstructs a list of Task objects from a JSON array file, using all cores.
+     * <p>
+     * The file is memory-mapped and split into chunks at object boundaries by a cheap byte scan
+     * that only tracks strings and braces. Chunks are then scanned and deserialized in parallel
+     * on the common {@link ForkJoinPool}, and the results are concatenated in file order.
+     * Small files, or files too large for a single mapping, use the sequential streaming path.
+     *
+     * @param channel a channel opened for reading on a JSON array file
+     * @return a list of successfully deserialized Task objects, in file order
+     * @throws IOException if the file cannot be read
+     * @throws FileContentException if the JSON structure itself is malformed
+     * @see #reconstructTask(Reader)
+     */
+    public static List<Task> reconstructTaskParallel(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < PARALLEL_THRESHOLD || size > Integer.MAX_VALUE
+                || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return reconstructTask(Channels.newReader(channel, StandardCharsets.UTF_8));
+        }
+
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int chunkSize = (int) Math.max(MIN_CHUNK_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        List<int[]> chunks = splitAtObjects(buf, chunkSize);
+
+        List<ChunkResult> results = chunks.parallelStream()
+                .map(range -> deserializeChunk(buf, range[0], range[1]))
+                .toList();
+
         List<Task> tasks = new ArrayList<>();
+        List<Integer> corruptRecords = new ArrayList<>();
         int failedTasks = 0;
+        int records = 0;
+        for (ChunkResult result : results) {
+            tasks.addAll(result.tasks());
+            failedTasks += result.failedTasks();
+            for (int record : result.corruptRecords()) {
+                corruptRecords.add(records + record);   // chunk positions are relative
+            }
+            records += result.records();
+        }
+        reportFailures(failedTasks, corruptRecords);
+        return tasks;
+    }
 
-        for (SimpleJsonObject obj : objects) {
+    private static ChunkResult deserializeAll(JsonStreamReader json) throws IOException {
+        RecordChecksum checksum = new RecordChecksum();
+        List<Task> tasks = new ArrayList<>();
+        List<Integer> corruptRecords = new ArrayList<>();
+        int failedTasks = 0;
+        int records = 0;
+        SimpleJsonObject obj;
+        while ((obj = json.nextObject()) != null) {
+            records++;
             try {
-                tasks.add(deserialize(obj));
+                tasks.add(deserialize(obj, checksum));
+            } catch (FileContentException e) {
+                failedTasks++;
+                if (e.getType() == FileContentException.ErrorType.CHECKSUM_MISMATCH) {
+                    corruptRecords.add(records);
+                }
             } catch (MeeBotException e) {
                 failedTasks++;
             }
         }
+        return new ChunkResult(tasks, failedTasks, records, corruptRecords);
+    }
+
+    /**
+     * Prints the number of failed tasks and the 1-based positions of records that failed
+     * checksum verification, if any.
+     */
+    static void reportFailures(int failedTasks, List<Integer> corruptRecords) {
         if (failedTasks > 0) {
             System.out.printf("%d tasks failed to load%n", failedTasks);
         }
-        return tasks;
+        if (!corruptRecords.isEmpty()) {
+            StringJoiner positions = new StringJoiner(", ");
+            corruptRecords.stream()
+                    .limit(MAX_REPORTED_RECORDS)
+                    .forEach(record -> positions.add(String.valueOf(record)));
+            if (corruptRecords.size() > MAX_REPORTED_RECORDS) {
+                positions.add("and " + (corruptRecords.size() - MAX_REPORTED_RECORDS) + " more");
+            }
+            System.out.printf("Checksum mismatch in task record(s) %s%n", positions);
+        }
+    }
+
+    /* ==================== Parallel loading ==================== */
+
+    /**
+     * Outcome of deserializing a run of records. {@code corruptRecords} holds 1-based positions
+     * relative to the first record of the run.
+     */
+    private record ChunkResult(List<Task> tasks, int failedTasks, int records, List<Integer> corruptRecords) {
+    }
+
+    /**
+     * Splits the array body into {@code [start, end)} byte ranges of roughly the given size,
+     * each starting at an object's opening brace (or right after the array's opening bracket).
+     * UTF-8 continuation bytes are never ASCII, so scanning bytes is safe for any content.
+     */
+    private static List<int[]> splitAtObjects(MappedByteBuffer buf, int chunkSize) {
+        int first = 0;
+        int last = buf.limit() - 1;
+        while (first <= last && Character.isWhitespace(buf.get(first))) first++;
+        while (last >= first && Character.isWhitespace(buf.get(last))) last--;
+        if (first >= last || buf.get(first) != '[' || buf.get(last) != ']') {
+            throw new FileContentException(FileContentException.ErrorType.INVALID_JSON_FORMAT);
+        }
+
+        List<int[]> chunks = new ArrayList<>();
+        int chunkStart = first + 1;
+        int nextCut = chunkStart + chunkSize;
+        boolean isInString = false;
+        boolean isEscaped = false;
+        int depth = 0;
+
+        for (int i = first + 1; i < last; i++) {
+            byte b = buf.get(i);
+            if (isInString) {
+                if (isEscaped) {
+                    isEscaped = false;
+                } else if (b == '\\') {
+                    isEscaped = true;
+                } else if (b == '"') {
+                    isInString = false;
+                }
+            } else if (b == '"') {
+                isInString = true;
+            } else if (b == '{') {
+                if (depth == 0 && i >= nextCut) {
+                    chunks.add(new int[]{chunkStart, i});
+                    chunkStart = i;
+                    nextCut = i + chunkSize;
+                }
+                depth++;
+            } else if (b == '}') {
+                depth--;
+            }
+        }
+        chunks.add(new int[]{chunkStart, last});
+        return chunks;
+    }
+
+    /**
+     * Scans and deserializes the objects in one chunk. The chunk holds comma-separated
+     * top-level objects, which {@link JsonStreamReader} accepts outside an array.
+     */
+    private static ChunkResult deserializeChunk(MappedByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        Reader reader = new StringReader(new String(bytes, StandardCharsets.UTF_8));
+
+        try {
+            return deserializeAll(new JsonStreamReader(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // unreachable for StringReader
+        }
     }
 
     /**
      * Deserializes a single SimpleJsonObject into the appropriate Task instance.
      */
     static Task deserialize(SimpleJsonObject obj) throws MeeBotException {
-        String type = requireNonEmpty(obj, "type").toLowerCase();
+        return deserialize(obj, new RecordChecksum());
+    }
 
-        Task task = switch (type) {
+    /**
+     * Verifies the record's checksum, if it has one, and deserializes it into a Task.
+     * Every field is looked up once and the same values are checksummed and parsed.
+     *
+     * @throws FileContentException with {@code CHECKSUM_MISMATCH} if verification fails
+     */
+    private static Task deserialize(SimpleJsonObject obj, RecordChecksum checksum) throws MeeBotException {
+        String type = obj.get("type");
+        String done = obj.get("done");
+        String description = obj.get("description");
+        String deadline = obj.get("deadline");
+        String start = obj.get("start");
+        String end = obj.get("end");
+        String id = obj.get("id");
+        String every = obj.get("every");
+        String count = obj.get("count");
+
+        String stored = obj.get(RecordChecksum.FIELD);
+        if (stored != null && !checksum.reset()
+                .add(0, type).add(1, done).add(2, description)
+                .add(3, deadline).add(4, start).add(7, every).add(8, count).add(5, end).add(6, id)
+                .matches(stored)) {
+            throw new FileContentException(FileContentException.ErrorType.CHECKSUM_MISMATCH);
+        }
+
+        Task task = switch (requireNonEmpty(type).toLowerCase()) {
             case "todo" -> new TodoTask(
-                    requireNonEmpty(obj, "description")
+                    requireNonEmpty(description)
             );
             case "deadline" -> new DeadlineTask(
-                    requireNonEmpty(obj, "description"),
-                    DateTimeParser.parse(requireNonEmpty(obj, "deadline"))
+                    requireNonEmpty(description),
+                    DateTimeParser.parse(requireNonEmpty(deadline))
             );
             case "event" -> new EventTask(
-                    requireNonEmpty(obj, "description"),
-                    DateTimeParser.parse(requireNonEmpty(obj, "start")),
-                    DateTimeParser.parse(requireNonEmpty(obj, "end"))
+                    requireNonEmpty(description),
+                    DateTimeParser.parse(requireNonEmpty(start)),
+                    DateTimeParser.parse(requireNonEmpty(end))
+            );
+            case "recurring" -> new RecurringTask(
+                    requireNonEmpty(description),
+                    DateTimeParser.parse(requireNonEmpty(start)),
+                    parseFrequency(requireNonEmpty(every)),
+                    parseCount(requireNonEmpty(count))
             );
             default -> throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
         };
 
-        if (Boolean.parseBoolean(requireNonEmpty(obj, "done"))) {
+        if (Boolean.parseBoolean(requireNonEmpty(done))) {
             task.markAsDone();
         }
+        if (id != null) {
+            task.setId(parseId(id));
+        }
 
         return task;
     }
 
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
+        }
+    }
+
+    private static RecurringTask.Frequency parseFrequency(String every) {
+        RecurringTask.Frequency frequency = RecurringTask.Frequency.fromKeyword(every);
+        if (frequency == null) {
+            throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
+        }
+        return frequency;
+    }
+
+    private static int parseCount(String count) {
+        try {
+            return Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
+        }
+    }
+
     /**
-     * Validates that a required field exists and is not empty in the SimpleJsonObject.
+     * Validates that a required field value exists and is not empty
      * before creating Task objects.
      */
-    private static String requireNonEmpty(SimpleJsonObject obj, String key) {
-        String value = obj.get(key);
+    private static String requireNonEmpty(String value) {
         if (value == null || value.isBlank()) {
             throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
         }
@@ -0,0 +1,481 @@
+package storage;
+
+import exception.FileContentException;
+import exception.MeeBotException;
+import manager.SortKey;
+import manager.TaskChangeListener;
+import manager.TaskManager;
+import task.Task;
+import util.TaskIndexParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Append-only log of task list mutations, stored next to the snapshot.
+ * <p>Instead of rewriting the whole snapshot after every command, each mutation reported by
+ * {@link TaskManager} is appended as one flat JSON object per line, e.g.
+ * <pre>
+ * {"op":"add","type":"todo","done":false,"description":"water plants","id":1}
+ * {"op":"mark","index":1}
+ * {"op":"delete","indexes":"1-500,720"}
+ * {"op":"sort","by":"date"}
+ * {"op":"sort","by":"status","keep":true}
+ * </pre>
+ * Indexes are 1-based, matching the numbers shown to the user, and a bulk change is recorded as
+ * one record with its positions and ranges. On startup the snapshot is loaded
+ * first and the journal is replayed on top of it. Where tasks are added and moved depends on whether
+ * a sort order is kept, so every fresh journal starts with a sort record restating the kept order.
+ * <p>Once the journal grows past the configured threshold it is compacted, which is checked after
+ * every recorded mutation whatever the durability level, so the journal stays bounded even when
+ * nothing else is written until exit. The current journal is
+ * renamed to a pending file, a fresh journal is started, and a copy of the task list is written
+ * to a new snapshot on a background thread. The snapshot is written to a temporary file and
+ * fsynced before the pending journal is deleted and the snapshot is renamed into place, so a crash
+ * at any point leaves enough on disk for {@link #recover()} to restore a consistent state.
+ * <p>Should writing the snapshot fail, the pending journal holds the only copy of its records, so
+ * the journal is not rotated again while it exists. Instead, the next compaction retries writing
+ * the snapshot the pending journal leads to, which was kept for this.
+ * <p>Records are appended on the command thread, while {@link #flush(boolean)} may be called from
+ * a {@link PersistenceWorker} thread, so both are synchronized on the journal.
+ */
+public class TaskJournal implements TaskChangeListener {
+
+    static final String JOURNAL_FILE = "tasks.journal";
+    private static final String PENDING_SUFFIX = ".compacting";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final TaskManager tm;
+    private final Path snapshotFile;
+    private final Path snapshotTemp;
+    private final Path journalFile;
+    private final Path pendingFile;
+    private final long compactThreshold;
+    private final boolean isPrettySnapshot;
+    private final SnapshotFormat format;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final StringWriter record = new StringWriter();
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private long journalBytes;  // including records not flushed yet
+    private long nextCompactionBytes;
+    private Future<?> compaction;
+    private volatile List<Task> pendingTasks;   // tasks after the pending journal, until in a snapshot
+
+    /**
+     * @param tm           the task manager whose mutations are recorded and replayed
+     * @param snapshotFile the snapshot the journal is applied on top of
+     * @param settings     compaction threshold and snapshot format
+     */
+    public TaskJournal(TaskManager tm, Path snapshotFile, StorageSettings settings) {
+        this.tm = tm;
+        this.snapshotFile = snapshotFile;
+        this.snapshotTemp = snapshotFile.resolveSibling(snapshotFile.getFileName() + TEMP_SUFFIX);
+        this.journalFile = snapshotFile.resolveSibling(JOURNAL_FILE);
+        this.pendingFile = snapshotFile.resolveSibling(JOURNAL_FILE + PENDING_SUFFIX);
+        this.compactThreshold = settings.compactThresholdBytes();
+        this.nextCompactionBytes = compactThreshold;
+        this.isPrettySnapshot = settings.isPrettyJson();
+        this.format = settings.format();
+    }
+
+    /**
+     * Restores a consistent set of files after an interrupted compaction. Must be called
+     * before the snapshot is loaded.
+     * <p>If the pending journal still exists, the new snapshot may be incomplete and is discarded.
+     * Otherwise a leftover temporary snapshot is complete and only missed its final rename.
+     *
+     * @throws IOException if the leftover files cannot be removed or renamed
+     */
+    public void recover() throws IOException {
+        if (Files.exists(pendingFile)) {
+            Files.deleteIfExists(snapshotTemp);
+        } else if (Files.exists(snapshotTemp)) {
+            Files.move(snapshotTemp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Replays the pending and current journal on top of the already loaded snapshot.
+     * If a compaction was interrupted, the tasks after the pending journal are kept so that
+     * {@link #open()} can write the snapshot the compaction was writing.
+     * <p>Records that cannot be applied are skipped and counted, similar to how
+     * {@link TaskDeserializer} treats tasks that fail to load.
+     *
+     * @return number of records that were replayed successfully
+     * @throws IOException if a journal file exists but cannot be read
+     */
+    public int replay() throws IOException {
+        int[] counts = new int[2];  // [replayed, failed]
+        if (Files.exists(pendingFile)) {
+            replayFile(pendingFile, counts);
+            pendingTasks = copyTasks(tm.getReadOnlyList());
+        }
+        replayFile(journalFile, counts);
+
+        if (counts[1] > 0) {
+            System.out.printf("%d journal records failed to replay%n", counts[1]);
+        }
+        return counts[0];
+    }
+
+    /**
+     * Starts recording mutations of the task manager. Must be called after {@link #replay()}.
+     * <p>If a compaction was interrupted, its snapshot is written first, which retires the pending
+     * journal just as the compaction would have. The current journal stays as it is and goes on
+     * applying on top of that snapshot, so a crash at any point never replays a record twice.
+     *
+     * @throws IOException if the snapshot cannot be written or the journal cannot be opened for appending
+     */
+    public synchronized void open() throws IOException {
+        finishInterruptedCompaction();
+        openWriter(StandardOpenOption.APPEND);
+        journalBytes = channel.size();
+        if (journalBytes == 0) {
+            appendKeptOrder();  // the journal was lost right after a rotation, or never written
+        }
+        tm.addListener(this);
+    }
+
+    /**
+     * Writes buffered records to the journal file.
+     *
+     * @param isForced whether to also force the file to the storage device
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void flush(boolean isForced) throws IOException {
+        writer.flush();
+        if (isForced) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Starts a background compaction if the journal has grown past the threshold and no
+     * compaction is running. If an earlier compaction failed, its snapshot is written again
+     * instead, and the journal is left as it is. Called after each recorded mutation, on the
+     * thread that mutates the task list.
+     *
+     * @throws IOException if the journal cannot be rotated
+     */
+    private void compactIfNeeded() throws IOException {
+        boolean isCompacting = compaction != null && !compaction.isDone();
+        if (journalBytes < nextCompactionBytes || isCompacting) {
+            return;
+        }
+        List<Task> retried = pendingTasks;
+        if (Files.exists(pendingFile)) {
+            // Retry no more often than a compaction would run, in case the disk keeps failing
+            nextCompactionBytes = journalBytes + compactThreshold;
+            if (retried != null) {
+                submitSnapshot(retried);
+            }
+            return;
+        }
+        startCompaction();
+    }
+
+    /**
+     * Stops recording, waits for any running compaction and closes the journal file.
+     *
+     * @throws IOException if buffered records cannot be written
+     */
+    public synchronized void close() throws IOException {
+        tm.removeListener(this);
+        awaitCompaction();
+        compactor.shutdown();
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the replayed state to a full snapshot and removes the journal files, for when journaling
+     * is disabled or the snapshot changes format. Must be called after {@link #replay()}, instead of
+     * {@link #open()}.
+     * <p>Any interrupted compaction is completed first. The current journal is then renamed to the
+     * pending journal before the full snapshot is written, so that the files on disk always look like
+     * a compaction in progress and {@link #recover()} never replays a record already in the snapshot.
+     *
+     * @throws IOException if a snapshot cannot be written or the journal cannot be renamed
+     */
+    public synchronized void foldIntoSnapshot() throws IOException {
+        finishInterruptedCompaction();
+        if (Files.exists(journalFile)) {
+            Files.move(journalFile, pendingFile);
+            SnapshotFormat.forceDirectory(snapshotFile.toAbsolutePath().getParent());
+        }
+        writeSnapshot(tm.getReadOnlyList());
+    }
+
+    /* ==================== Recording ==================== */
+
+    @Override
+    public synchronized void taskAdded(int index, Task task) {
+        record.getBuffer().setLength(0);
+        try {
+            TaskSerializer.writeTaskLine(task, record, "\"op\":\"add\",");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to journal", e);   // unreachable for StringWriter
+        }
+        appendMutation(record.getBuffer());
+    }
+
+    @Override
+    public synchronized void taskStatusChanged(int index, Task task) {
+        appendIndexRecord(task.isDone() ? "mark" : "unmark", index);
+    }
+
+    @Override
+    public synchronized void taskDeleted(int index, Task task) {
+        appendIndexRecord("delete", index);
+    }
+
+    @Override
+    public synchronized void tasksStatusChanged(BitSet indexes, boolean isDone) {
+        appendRangesRecord(isDone ? "mark" : "unmark", indexes);
+    }
+
+    @Override
+    public synchronized void tasksDeleted(BitSet indexes, List<Task> tasks) {
+        appendRangesRecord("delete", indexes);
+    }
+
+    @Override
+    public synchronized void tasksSorted(SortKey key, boolean isKept) {
+        appendMutation(sortRecord(key, isKept));
+    }
+
+    /**
+     * Restates the kept sort order, if any, at the start of a fresh journal. Sorting the already
+     * sorted list again on replay leaves it unchanged.
+     */
+    private void appendKeptOrder() {
+        SortKey key = tm.getKeptOrder();
+        if (key != null) {
+            append(sortRecord(key, true));
+        }
+    }
+
+    private static String sortRecord(SortKey key, boolean isKept) {
+        return "{\"op\":\"sort\",\"by\":\"" + key.getKeyword() + (isKept ? "\",\"keep\":true}" : "\"}");
+    }
+
+    private void appendIndexRecord(String op, int index) {
+        appendMutation("{\"op\":\"" + op + "\",\"index\":" + (index + 1) + "}");
+    }
+
+    private void appendRangesRecord(String op, BitSet indexes) {
+        appendMutation("{\"op\":\"" + op + "\",\"indexes\":\"" + TaskIndexParser.formatRanges(indexes) + "\"}");
+    }
+
+    /**
+     * Appends the record of a mutation, then compacts the journal if it has grown past the threshold.
+     */
+    private void appendMutation(CharSequence line) {
+        append(line);
+        try {
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compact journal", e);
+        }
+    }
+
+    /**
+     * Appends one record line. Records are mostly ASCII, so the journal size is tracked in chars
+     * without waiting for a flush.
+     */
+    private void append(CharSequence line) {
+        try {
+            writer.append(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to journal", e);
+        }
+        journalBytes += line.length() + 1;
+    }
+
+    /* ==================== Replay ==================== */
+
+    private void replayFile(Path file, int[] counts) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    apply(JsonStreamReader.parseObject(line));
+                    counts[0]++;
+                } catch (MeeBotException | NumberFormatException e) {
+                    counts[1]++;
+                }
+            }
+        }
+    }
+
+    private void apply(SimpleJsonObject record) throws MeeBotException {
+        String op = record.get("op");
+        if (op == null) {
+            throw new FileContentException(FileContentException.ErrorType.MISSING_FIELD);
+        }
+
+        switch (op) {
+        case "add" -> tm.addTask(TaskDeserializer.deserialize(record));
+        case "mark" -> {
+            if (record.get("indexes") != null) {
+                tm.setStatus(parseRanges(record), true);
+            } else {
+                tm.markTaskDone(Integer.parseInt(record.get("index")));
+            }
+        }
+        case "unmark" -> {
+            if (record.get("indexes") != null) {
+                tm.setStatus(parseRanges(record), false);
+            } else {
+                tm.unmarkTask(Integer.parseInt(record.get("index")));
+            }
+        }
+        case "delete" -> {
+            if (record.get("indexes") != null) {
+                tm.deleteTasks(parseRanges(record));
+            } else {
+                tm.deleteTask(Integer.parseInt(record.get("index")));
+            }
+        }
+        case "sort" -> {
+            SortKey key = SortKey.fromKeyword(String.valueOf(record.get("by")));
+            if (key == null) {
+                throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
+            }
+            tm.sortBy(key, Boolean.parseBoolean(record.get("keep")));
+        }
+        default -> throw new FileContentException(FileContentException.ErrorType.INVALID_INPUT);
+        }
+    }
+
+    private BitSet parseRanges(SimpleJsonObject record) throws MeeBotException {
+        return TaskIndexParser.parseRanges(record.get("indexes"), tm.getTotalTasks());
+    }
+
+    /* ==================== Compaction ==================== */
+
+    /**
+     * Rotates the journal and writes a snapshot of the current state in the background.
+     * The task list is copied on the calling thread so later commands cannot race with the writer.
+     * There must be no pending journal, which would otherwise be overwritten.
+     */
+    private void startCompaction() throws IOException {
+        List<Task> tasks = copyTasks(tm.getReadOnlyList());
+
+        writer.close();
+        Files.move(journalFile, pendingFile);
+        openWriter(StandardOpenOption.TRUNCATE_EXISTING);
+        journalBytes = 0;
+        nextCompactionBytes = compactThreshold;
+        appendKeptOrder();
+        submitSnapshot(tasks);
+    }
+
+    /**
+     * Writes the snapshot that the pending journal leads to in the background. If that fails, the
+     * tasks are kept for a retry and the pending journal stays, so the next startup replays it.
+     */
+    private void submitSnapshot(List<Task> tasks) {
+        pendingTasks = tasks;
+        compaction = compactor.submit(() -> {
+            try {
+                writeSnapshot(tasks);
+                pendingTasks = null;
+            } catch (IOException e) {
+                System.err.println("Journal compaction failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes the snapshot of a compaction interrupted before the last session ended, if any,
+     * from the tasks kept while replaying its pending journal.
+     */
+    private void finishInterruptedCompaction() throws IOException {
+        if (pendingTasks != null) {
+            writeSnapshot(pendingTasks);
+            pendingTasks = null;
+        }
+    }
+
+    /**
+     * Waits for a running compaction, if any, to finish.
+     */
+    void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Journal compaction failed: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it to disk, then retires the pending journal
+     * and renames the snapshot into place. See {@link #recover()} for how each crash point is handled.
+     */
+    private void writeSnapshot(List<Task> tasks) throws IOException {
+        format.write(tasks, snapshotTemp, isPrettySnapshot, true);
+        Files.deleteIfExists(pendingFile);
+        SnapshotFormat.forceDirectory(snapshotFile.toAbsolutePath().getParent());     // pending journal gone first
+        Files.move(snapshotTemp, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        SnapshotFormat.forceDirectory(snapshotFile.toAbsolutePath().getParent());
+    }
+
+    private void openWriter(StandardOpenOption mode) throws IOException {
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies every task, including its completion status and id, so the copy can be serialized
+     * on another thread while the original list keeps changing.
+     */
+    static List<Task> copyTasks(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task copy = task.copy();
+            if (task.isDone()) {
+                copy.markAsDone();
+            }
+            copy.setId(task.getId());
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
@@ -1,56 +1,242 @@
 package storage;
 
+import task.DeadlineTask;
+import task.EventTask;
+import task.RecurringTask;
 import task.Task;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Utility class to serialize Task objects into JSON.
+ * <p>The JSON format includes common task fields (type, done status, description)
+ * as well as task-specific fields for different task types, followed by the task's stable id.</p>
+ * <p>Tasks are written field by field straight into a {@link Writer}, without building
+ * intermediate per-task strings, so peak memory during a save does not grow with the
+ * size of the list. Output is either pretty-printed (one field per line, the format of
+ * {@code tasks.json}) or compact (no whitespace at all).
+ * <p>Every task object ends with a {@code "crc"} field holding the {@link RecordChecksum} of its
+ * values, which the deserializer verifies while loading.
+ *
+ * @see Storage#saveTasks()
+ * @see TaskDeserializer
+ */
 public class TaskSerializer {
 
+    private static final String OBJECT_INDENT = "\n  ";
+    private static final String FIELD_INDENT = "\n    ";
+
     private TaskSerializer() {
         throw new AssertionError("Utility class should not be instantiated");
     }
 
     /**
-     * Utility class to serialize Task objects into JSON string representations.
-     * <p>The JSON format includes common task fields (type, done status, description)
-     * as well as task-specific fields for different task types.</p>
+     * Writes the tasks as a JSON array to the given writer. The writer is not flushed or closed.
      *
-     * @see Storage#saveTasks()
+     * @param taskList the tasks to write
+     * @param out      destination of the JSON text, ideally buffered
+     * @param isPretty {@code true} for one field per line, {@code false} for compact output
+     * @throws IOException if the writer fails
      */
-    public static String tasksToJson(List<Task> taskList) {
-        if (taskList.isEmpty()) return "[]";
-
-        StringBuilder sb = new StringBuilder("[\n");
-        for (int i = 0; i < taskList.size(); i++) {
-            String taskJson = taskToJson(taskList.get(i));
-            String indentedTask = taskJson.replaceAll("(?m)^", "  ");
-            sb.append(indentedTask);
+    public static void writeTasks(List<Task> taskList, Writer out, boolean isPretty) throws IOException {
+        if (taskList.isEmpty()) {
+            out.write("[]");
+            return;
+        }
 
+        RecordChecksum checksum = new RecordChecksum();
+        out.write('[');
+        boolean isFirst = true;
+        for (Task task : taskList) {
             // add comma between tasks
-            if (i != taskList.size() - 1) sb.append(",");
-            sb.append("\n");
+            if (!isFirst) out.write(',');
+            isFirst = false;
+            if (isPretty) out.write(OBJECT_INDENT);
+            writeTask(task, out, isPretty ? FIELD_INDENT : null, "", checksum);
         }
-        sb.append("]");
-        return sb.toString();
+        if (isPretty) out.write('\n');
+        out.write(']');
     }
 
     /**
-     * Converts a single task into a JSON string representation.
+     * Writes a single task as one compact JSON object, prefixed by the given raw fields.
+     * <p>Used for line-oriented records such as {@code {"op":"add","type":"todo",...}}.
+     *
+     * @param t      the task to write
+     * @param out    destination of the JSON text
+     * @param prefix raw JSON fields, each followed by a comma, to write before the task fields
+     * @throws IOException if the writer fails
      */
-    public static String taskToJson(Task t) {
+    public static void writeTaskLine(Task t, Writer out, String prefix) throws IOException {
+        writeTask(t, out, null, prefix, new RecordChecksum());
+    }
+
+    /**
+     * Converts the tasks into a pretty-printed JSON array string.
+     *
+     * @see #writeTasks(List, Writer, boolean)
+     */
+    public static String tasksToJson(List<Task> taskList) {
+        StringWriter out = new StringWriter();
+        try {
+            writeTasks(taskList, out, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // unreachable for StringWriter
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes one task object. A {@code null} indent produces compact output.
+     */
+    private static void writeTask(Task t, Writer out, String indent, String prefix, RecordChecksum checksum)
+            throws IOException {
+        out.write('{');
+        if (indent != null) out.write(indent);
+        out.write(prefix);
+        checksum.reset();
+
         // Common fields
-        String json = """
-                {
-                  "type":"%s",
-                  "done":%s,
-                  "description":"%s"
-                """.formatted(
-                t.getTaskType().getKeyword(),
-                t.isDone(),
-                t.getDescription().replace("\"", "\\\"")   //"description": "Read \"Java\" book"
-        ).stripTrailing();
+        String type = t.getTaskType().getKeyword();
+        String done = t.isDone() ? "true" : "false";
+        writeName("type", out);
+        writeQuoted(type, out);
+        writeSeparator(out, indent);
+        writeName("done", out);
+        out.write(done);
+        writeSeparator(out, indent);
+        writeName("description", out);
+        writeQuoted(t.getDescription(), out);   //"description": "Read \"Java\" book"
+        checksum.add(0, type).add(1, done).add(2, t.getDescription());
 
         // Append specific date-time
-        return json + t.toJsonFields() + "\n}";
+        if (t instanceof DeadlineTask d) {
+            writeSeparator(out, indent);
+            writeDateField(3, d.getDeadline(), d.hasTime(), out, checksum);
+        } else if (t instanceof EventTask e) {
+            writeSeparator(out, indent);
+            writeDateField(4, e.getStart(), e.hasTime(), out, checksum);
+            writeSeparator(out, indent);
+            writeDateField(5, e.getEnd(), e.hasTime(), out, checksum);
+        } else if (t instanceof RecurringTask r) {
+            String every = r.getFrequency().getKeyword();
+            String count = Integer.toString(r.getCount());
+            writeSeparator(out, indent);
+            writeDateField(4, r.getStart(), r.hasTime(), out, checksum);
+            writeSeparator(out, indent);
+            writeName("every", out);
+            writeQuoted(every, out);
+            writeSeparator(out, indent);
+            writeName("count", out);
+            out.write(count);
+            checksum.add(7, every).add(8, count);
+        }
+
+        if (t.getId() > 0) {
+            String id = Long.toString(t.getId());
+            writeSeparator(out, indent);
+            writeName("id", out);
+            out.write(id);
+            checksum.add(6, id);
+        }
+
+        writeSeparator(out, indent);
+        writeName(RecordChecksum.FIELD, out);
+        out.write('"');
+        out.write(RecordChecksum.toHex(checksum.value()));
+        out.write('"');
+
+        if (indent != null) out.write(OBJECT_INDENT);
+        out.write('}');
+    }
+
+    private static void writeSeparator(Writer out, String indent) throws IOException {
+        out.write(',');
+        if (indent != null) out.write(indent);
+    }
+
+    private static void writeName(String name, Writer out) throws IOException {
+        out.write('"');
+        out.write(name);
+        out.write("\":");
+    }
+
+    /**
+     * Writes the value in quotes, escaping backslashes, quotes and control characters so it
+     * can be read back by {@link JsonStreamReader}. Runs of plain characters are written in bulk.
+     */
+    private static void writeQuoted(String value, Writer out) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            out.write(value, start, i - start);
+            start = i + 1;
+            switch (c) {
+            case '"' -> out.write("\\\"");
+            case '\\' -> out.write("\\\\");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            default -> {
+                out.write("\\u00");
+                out.write(Character.forDigit(c >> 4, 16));
+                out.write(Character.forDigit(c & 0xF, 16));
+            }
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * Writes an ISO-8601 date ({@code 2025-09-15}) or date-time ({@code 2025-09-15T18:00})
+     * digit by digit, matching {@link LocalDateTime#toString()} for minute precision values.
+     *
+     * @param field index of the field in {@link RecordChecksum#FIELDS}, which also gives its name
+     */
+    private static void writeDateField(int field, LocalDateTime dt, boolean hasTime, Writer out,
+                                       RecordChecksum checksum) throws IOException {
+        char[] text = new char[24];
+        int length;
+        int year = dt.getYear();
+        if (year < 0 || year > 9999) {
+            String date = dt.toLocalDate().toString();     // rare, let java.time handle the sign
+            date.getChars(0, date.length(), text, 0);
+            length = date.length();
+        } else {
+            length = putDigits(year, 4, text, 0);
+            text[length++] = '-';
+            length = putDigits(dt.getMonthValue(), 2, text, length);
+            text[length++] = '-';
+            length = putDigits(dt.getDayOfMonth(), 2, text, length);
+        }
+        if (hasTime) {
+            text[length++] = 'T';
+            length = putDigits(dt.getHour(), 2, text, length);
+            text[length++] = ':';
+            length = putDigits(dt.getMinute(), 2, text, length);
+        }
+
+        writeName(RecordChecksum.FIELDS[field], out);
+        out.write('"');
+        out.write(text, 0, length);
+        out.write('"');
+        checksum.add(field, new String(text, 0, length));
+    }
+
+    private static int putDigits(int value, int width, char[] text, int pos) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            text[pos++] = (char) ('0' + (value / divisor) % 10);
+        }
+        return pos;
     }
 }
@@ -30,11 +30,17 @@ public class DeadlineTask extends Task {
     }
 
     @Override
-    public String toJsonFields() {
-        String deadlineStr = hasTime
-                ? deadline.toString()
-                : deadline.toLocalDate().toString();
-        return String.format(",\n  \"deadline\":\"%s\"", deadlineStr);
+    public LocalDateTime getFirstDate() {
+        return deadline;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public boolean hasTime() {
+        return hasTime;
     }
 
     @Override
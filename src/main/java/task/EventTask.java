@@ -36,16 +36,21 @@ public class EventTask extends Task {
     }
 
     @Override
-    public String toJsonFields() {
-        String startStr = hasTime
-                ? start.toString()
-                : start.toLocalDate().toString();
+    public LocalDateTime getFirstDate() {
+        return start;
+    }
 
-        String endStr = hasTime
-                ? end.toString()
-                : end.toLocalDate().toString();
+    public LocalDateTime getStart() {
+        return start;
+    }
 
-        return String.format(",\n  \"start\":\"%s\",\n  \"end\":\"%s\"", startStr, endStr);
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public boolean hasTime() {
+        return hasTime;
     }
 
     @Override
@@ -0,0 +1,238 @@
+package task;
+
+import exception.InvalidDateTimeException;
+import exception.InvalidTaskFormatException;
+import util.ParsedDateTime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Task that happens every day, week or month from a start date/time, a given number of times.
+ * <p>Only the rule is stored, so a daily task running for years takes as little memory as any
+ * other task. Occurrences are worked out from the start when needed: {@link #getDates()} is a view
+ * computing each date as it is read, and {@link #nextOccurrence(LocalDateTime)} finds the first one
+ * from a given time in O(1). Monthly occurrences keep the day of the start, falling back to the last
+ * day of shorter months, e.g. 31 Jan, 28 Feb, 31 Mar.
+ */
+public class RecurringTask extends Task {
+
+    /** Highest number of occurrences, e.g. every day for over 270 years. */
+    public static final int MAX_COUNT = 99_999;
+
+    /**
+     * How often a recurring task happens.
+     */
+    public enum Frequency {
+        DAILY("day", ChronoUnit.DAYS),
+        WEEKLY("week", ChronoUnit.WEEKS),
+        MONTHLY("month", ChronoUnit.MONTHS);
+
+        private static final Frequency[] VALUES = values();
+
+        private final String keyword;
+        private final ChronoUnit unit;
+
+        Frequency(String keyword, ChronoUnit unit) {
+            this.keyword = keyword;
+            this.unit = unit;
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        /**
+         * Looks up a Frequency by keyword using case-insensitive matching, e.g. "week".
+         *
+         * @return matching Frequency, or {@code null} if no match is found
+         */
+        public static Frequency fromKeyword(String keyword) {
+            for (Frequency frequency : VALUES) {
+                if (frequency.keyword.equalsIgnoreCase(keyword.trim())) {
+                    return frequency;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final LocalDateTime start;
+    private final boolean hasTime;
+    private final Frequency frequency;
+    private final int count;
+
+    /**
+     * @param count number of occurrences, from 1 to {@link #MAX_COUNT}
+     * @throws InvalidTaskFormatException if the count is out of range
+     */
+    public RecurringTask(String description, ParsedDateTime start, Frequency frequency, int count) {
+        super(description);
+        if (count < 1 || count > MAX_COUNT) {
+            throw InvalidTaskFormatException.ErrorType.RECURRING.createException();
+        }
+        this.start = start.dateTime();
+        this.hasTime = start.hasTime();
+        this.frequency = frequency;
+        this.count = count;
+    }
+
+    /**
+     * Returns the number of occurrences from the start up to and including a last date. A last
+     * date without time includes any occurrence on that day.
+     *
+     * @throws InvalidDateTimeException if the last date is before the start
+     */
+    public static int countUntil(ParsedDateTime start, Frequency frequency, ParsedDateTime until) {
+        LocalDateTime last = until.hasTime()
+                ? until.dateTime()
+                : until.dateTime().toLocalDate().atTime(LocalTime.MAX);
+        if (last.isBefore(start.dateTime())) {
+            throw new InvalidDateTimeException(InvalidDateTimeException.ErrorType.END_BEFORE_START, "");
+        }
+        long count = indexAfter(start.dateTime(), frequency, last);
+        return (int) Math.min(count, MAX_COUNT + 1L);    // too many is rejected by the constructor
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.RECURRING;
+    }
+
+    /**
+     * Returns a view of all occurrences in order, each computed when it is read.
+     */
+    @Override
+    public List<LocalDateTime> getDates() {
+        return new Occurrences();
+    }
+
+    @Override
+    public LocalDateTime getFirstDate() {
+        return start;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * Returns the occurrence at the given index, the start being 0.
+     */
+    public LocalDateTime getOccurrence(int index) {
+        return start.plus(index, frequency.unit);
+    }
+
+    public LocalDateTime getLastOccurrence() {
+        return getOccurrence(count - 1);
+    }
+
+    /**
+     * Returns the first occurrence at or after the given time, or {@code null} if all are before it.
+     */
+    public LocalDateTime nextOccurrence(LocalDateTime from) {
+        long index = indexAfter(start, frequency, from.minusNanos(1));
+        return index < count ? getOccurrence((int) index) : null;
+    }
+
+    /**
+     * Returns whether any occurrence falls on a date from {@code from} to {@code to}, ignoring time.
+     * A {@code null} bound leaves that side open.
+     */
+    public boolean occursBetween(LocalDate from, LocalDate to) {
+        LocalDateTime next = from == null ? start : nextOccurrence(from.atStartOfDay());
+        return next != null && (to == null || !next.toLocalDate().isAfter(to));
+    }
+
+    @Override
+    public Task copy() {
+        return new RecurringTask(this.getDescription(), new ParsedDateTime(start, hasTime), frequency, count);
+    }
+
+    /**
+     * Returns the frequency and count packed into one number, as kept by the off-heap task store
+     * and binary snapshots.
+     */
+    public long getRuleCode() {
+        return (long) count << 2 | frequency.ordinal();
+    }
+
+    /**
+     * Creates a recurring task from a rule packed by {@link #getRuleCode()}.
+     *
+     * @throws InvalidTaskFormatException if the code does not hold a valid rule
+     */
+    public static RecurringTask fromRuleCode(String description, ParsedDateTime start, long ruleCode) {
+        int ordinal = (int) (ruleCode & 3);
+        long count = ruleCode >>> 2;
+        if (ordinal >= Frequency.VALUES.length || count > MAX_COUNT) {
+            throw InvalidTaskFormatException.ErrorType.RECURRING.createException();
+        }
+        return new RecurringTask(description, start, Frequency.VALUES[ordinal], (int) count);
+    }
+
+    /**
+     * Extends base format with the rule in the format "(every week from: start, n times)".
+     */
+    @Override
+    public String toString() {
+        String times = count == 1 ? "once" : count + " times";
+        return super.toString() + String.format(" (every %s from: %s, %s)",
+                frequency.keyword, ParsedDateTime.format(start, hasTime), times);
+    }
+
+    /**
+     * Returns the index of the first occurrence after the given time, which is the number of
+     * occurrences up to it, ignoring the count. Only a few occurrences are computed, however
+     * far the time is from the start.
+     */
+    private static long indexAfter(LocalDateTime start, Frequency frequency, LocalDateTime time) {
+        if (time.isBefore(start)) {
+            return 0;
+        }
+        // Whole units between the two, corrected for months of different lengths
+        long index = frequency.unit.between(start, time);
+        while (!start.plus(index, frequency.unit).isAfter(time)) {
+            index++;
+        }
+        while (index > 0 && start.plus(index - 1, frequency.unit).isAfter(time)) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Read-only view of the occurrences, holding nothing but the task.
+     */
+    private final class Occurrences extends AbstractList<LocalDateTime> implements RandomAccess {
+        @Override
+        public LocalDateTime get(int index) {
+            Objects.checkIndex(index, count);
+            return getOccurrence(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -7,11 +7,14 @@ import java.util.List;
  * Base class for all task types.
  * Tasks are created incomplete and can be toggled between done/undone states.
  * Provides standardized string representation for display purpose.
+ * <p>Every task in a task list has a positive id that, unlike its position, never changes.
+ * Ids are assigned when the task is added to the list and restored when it is loaded.
  */
 public abstract class Task {
 
     private final String description;
     private boolean isDone;
+    private long id;    // 0 until assigned
 
     /**
      * Creates a new task with the given description.
@@ -35,9 +38,21 @@ public abstract class Task {
     public abstract List<LocalDateTime> getDates();
 
     /**
-     * Returns a string representation of date - must be implemented by subclasses
+     * Returns the first date of the task, or {@code null} if it has none.
+     * Subclasses with dates override this to avoid building the list returned by {@link #getDates()}.
      */
-    public abstract String toJsonFields();
+    public LocalDateTime getFirstDate() {
+        List<LocalDateTime> dates = getDates();
+        return dates.isEmpty() ? null : dates.get(0);
+    }
+
+    /**
+     * Returns whether the dates of this task carry a time of day.
+     * Tasks without dates, or with dates entered without time, return false.
+     */
+    public boolean hasTime() {
+        return false;
+    }
 
     /**
      * Create a new Task with the same fields - must be implemented by subclasses
@@ -48,6 +63,20 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the stable id of this task, or 0 if it has not been assigned one yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable id of this task. Only meant for the task list and for loaders restoring ids.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
     /**
      * Returns whether this task has been completed.
      *
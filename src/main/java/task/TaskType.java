@@ -6,7 +6,8 @@ package task;
 public enum TaskType {
     TODO("todo", "T"),
     DEADLINE("deadline", "D"),
-    EVENT("event", "E");
+    EVENT("event", "E"),
+    RECURRING("recurring", "R");
 
     private final String keyword, taskPrefix;
 
@@ -22,4 +23,19 @@ public enum TaskType {
     public String getTaskPrefix() {
         return taskPrefix;
     }
+
+    /**
+     * Looks up a TaskType by keyword using case-insensitive matching.
+     *
+     * @param keyword the type keyword, e.g. "deadline"
+     * @return matching TaskType, or {@code null} if no match is found
+     */
+    public static TaskType fromKeyword(String keyword) {
+        for (TaskType type : values()) {
+            if (type.keyword.equalsIgnoreCase(keyword.trim())) {
+                return type;
+            }
+        }
+        return null;
+    }
 }
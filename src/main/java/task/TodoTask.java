@@ -22,11 +22,6 @@ public class TodoTask extends Task {
         return Collections.emptyList();
     }
 
-    @Override
-    public String toJsonFields() {
-        return "";
-    }
-
     @Override
     public Task copy() {
         return new TodoTask(this.getDescription());
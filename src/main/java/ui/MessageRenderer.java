@@ -8,6 +8,8 @@ import java.util.*;
  * and automatic text wrapping.
  */
 public class MessageRenderer {
+    private static final int FLUSH_CHARS = 8192;    // output is written in chunks of about this size
+
     private final int maxWidth;
     private final int consoleWidth;
 
@@ -23,22 +25,29 @@ public class MessageRenderer {
     /**
      * Displays messages in a right-aligned block with "MeeBot:" header.
      * Preserves original line breaks while applying word wrapping.
+     * <p>Lines are taken from the message one at a time and written out in chunks, so a long
+     * message is never held as a whole, nor printed with a flush per line.
      */
     public void render(Message msg) {
-        String content = msg.message();
-
         // Calculate padding to right-align message block within console
-        int blockPadding = consoleWidth - maxWidth;
-        System.out.println("\n" + " ".repeat(Math.max(blockPadding, 0)) + "MeeBot:");
+        String padding = " ".repeat(Math.max(consoleWidth - maxWidth, 0));
+        String newline = System.lineSeparator();
+        StringBuilder out = new StringBuilder();
+        out.append(newline).append(padding).append("MeeBot:").append(newline);
 
         // Process each line separately to preserve intentional line breaks
-        String[] sentences = content.split("\n");
-        for (String sentence : sentences) {
+        msg.forEachLine(sentence -> {
             // Wrap each sentence and print each wrapped line
             for (String line : wrapText(sentence)) {
-                System.out.println(" ".repeat(Math.max(blockPadding, 0)) + line);
+                out.append(padding).append(line).append(newline);
             }
-        }
+            if (out.length() >= FLUSH_CHARS) {
+                System.out.print(out);
+                out.setLength(0);
+            }
+        });
+        System.out.print(out);
+        System.out.flush();
     }
 
     /**
@@ -13,6 +13,8 @@ public class UserInterface {
     private final MessageRenderer renderer;
     private static final int MAX_WIDTH = 60;      // For MeeBot text wrap
     private static final int CONSOLE_WIDTH = 110;
+    private static final String PROMPT = "You: ";
+    private volatile boolean isAwaitingInput;
 
     public UserInterface() {
         this.renderer = new MessageRenderer(MAX_WIDTH, CONSOLE_WIDTH);
@@ -24,17 +26,33 @@ public class UserInterface {
      * @return user input with leading/trailing whitespace removed
      */
     public String readUserInput() {
-        System.out.print("You: ");
-        return sc.nextLine().trim();
+        synchronized (this) {
+            System.out.print(PROMPT);
+            isAwaitingInput = true;
+        }
+        String input = sc.nextLine().trim();
+        isAwaitingInput = false;
+        return input;
     }
 
     /**
      * Displays a message using the configured renderer for consistent formatting.
      */
-    public void displayMessage(Message msg) {
+    public synchronized void displayMessage(Message msg) {
         renderer.render(msg);
     }
 
+    /**
+     * Displays a message that is not a reply to a command, e.g. a reminder, from any thread.
+     * If the user is being prompted for input, the prompt is shown again below the message.
+     */
+    public synchronized void displayNotification(Message msg) {
+        renderer.render(msg);
+        if (isAwaitingInput) {
+            System.out.print(PROMPT);
+        }
+    }
+
     /**
      * Shows the welcome screen with ASCII logo and initial greeting.
      * Logo is displayed only once during application startup.
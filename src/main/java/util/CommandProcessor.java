@@ -12,7 +12,7 @@ import message.ErrorMessage;
  * <li>Handle parsing errors gracefully</li>
  */
 public final class CommandProcessor {
-    private final TaskManager taskManager;
+    private final CommandSession session;
 
     /**
      * Creates a new CommandProcessor with access to the task management system.
@@ -20,7 +20,7 @@ public final class CommandProcessor {
      * @param taskManager the task manager for command execution, must not be null
      */
     public CommandProcessor(TaskManager taskManager) {
-        this.taskManager = taskManager;
+        this.session = new CommandSession(taskManager);
     }
 
     /**
@@ -44,6 +44,6 @@ public final class CommandProcessor {
             return () -> new ErrorMessage(String.format(ErrorMessage.INVALID_COMMAND_KEYWORD, command));
         }
 
-        return cmdType.createCommand(taskManager, args);
+        return cmdType.createCommand(session, args);
     }
 }
@@ -5,8 +5,12 @@ import exception.InvalidDateTimeException.ErrorType;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.Locale;
 
 /**
  * Utility class for parsing various date and time String inputs into LocalDateTime objects.
@@ -47,6 +51,16 @@ public final class DateTimeParser {
         }
     }
 
+    /** Month names as the {@code MMM} patterns parse them, in the same locale. */
+    private static final String[] SHORT_MONTHS = new String[12];
+
+    static {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        for (Month m : Month.values()) {
+            SHORT_MONTHS[m.ordinal()] = m.getDisplayName(TextStyle.SHORT, locale);
+        }
+    }
+
     private DateTimeParser() {
         throw new AssertionError("Utility class should not be instantiated");
     }
@@ -54,6 +68,9 @@ public final class DateTimeParser {
     /**
      * Parses a date/time string into a LocalDateTime object using known patterns
      * If time is omitted from the input, it defaults to 00:00 (midnight)
+     * <p>Inputs in one of the supported shapes are recognized and parsed directly by
+     * {@link #parseKnownShape(String)} without throwing any exceptions internally. Anything else
+     * falls back to trying each {@link DateTimePattern} in turn, which gives identical results.
      *
      * @param dateTimeString the date/time string to parse
      * @return ParsedDateTime object containing the parsed LocalDateTime and time metadata
@@ -62,6 +79,18 @@ public final class DateTimeParser {
      */
     public static ParsedDateTime parse(String dateTimeString)
             throws InvalidDateTimeException {
+        ParsedDateTime parsed = parseKnownShape(dateTimeString);
+        return parsed != null ? parsed : parseWithPatterns(dateTimeString);
+    }
+
+    /**
+     * Parses the input by trying every {@link DateTimePattern} in order, using thrown
+     * {@link DateTimeParseException}s to move on to the next pattern.
+     *
+     * @see #parse(String)
+     */
+    static ParsedDateTime parseWithPatterns(String dateTimeString)
+            throws InvalidDateTimeException {
 
         for (DateTimePattern p : DateTimePattern.values()) {
             try {
@@ -85,6 +114,142 @@ public final class DateTimeParser {
         throw new InvalidDateTimeException(ErrorType.UNSUPPORTED_FORMAT, dateTimeString);
     }
 
+    /* ==================== Exception-free fast path ==================== */
+
+    /**
+     * Recognizes the common shapes of the supported patterns and parses them directly:
+     * <ul>
+     * <li>{@code yyyy-MM-dd} and {@code yyyy-MM-dd'T'HH:mm} (stored ISO values)</li>
+     * <li>{@code d/M/yyyy}, {@code d-M-yyyy} and {@code d MMM yyyy}, each optionally followed
+     * by {@code " HHmm"}, with 1-2 digit day and month and a 4-digit year</li>
+     * </ul>
+     * Values are resolved like {@link java.time.format.ResolverStyle#SMART}: a field out of its
+     * range (e.g. month 13, hour 25) is an {@link ErrorType#INVALID_DATETIME_VALUE}, while a day
+     * beyond the end of the month (e.g. 31 April) is moved back to the last valid day and
+     * {@code 2400} means midnight at the end of the day.
+     *
+     * @return the parsed value, or {@code null} if the input is not in a recognized shape
+     * @throws InvalidDateTimeException if the shape is recognized but a field is out of range
+     */
+    static ParsedDateTime parseKnownShape(String s) throws InvalidDateTimeException {
+        int len = s.length();
+        int year;
+        int month;
+        int day;
+        int timeStart;  // index of the first time digit, or -1 if there is no time
+
+        if ((len == 10 || len == 16) && s.charAt(4) == '-' && s.charAt(7) == '-') {
+            // ISO: 2025-09-15 or 2025-09-15T18:00
+            year = digits(s, 0, 4);
+            month = digits(s, 5, 2);
+            day = digits(s, 8, 2);
+            timeStart = -1;
+            if (len == 16) {
+                if (s.charAt(10) != 'T' || s.charAt(13) != ':') {
+                    return null;
+                }
+                timeStart = 11;
+            }
+        } else {
+            // d?d separator month separator yyyy [HHmm]
+            int pos = digitRunEnd(s, 0);
+            if (pos < 1 || pos > 2 || pos >= len) {
+                return null;
+            }
+            day = digits(s, 0, pos);
+            char sep = s.charAt(pos++);
+
+            int monthEnd;
+            if (sep == '/' || sep == '-') {
+                monthEnd = digitRunEnd(s, pos);
+                if (monthEnd - pos < 1 || monthEnd - pos > 2) {
+                    return null;
+                }
+                month = digits(s, pos, monthEnd - pos);
+            } else if (sep == ' ') {
+                monthEnd = s.indexOf(' ', pos);
+                if (monthEnd < 0) {
+                    return null;
+                }
+                month = monthFromShortName(s, pos, monthEnd);
+            } else {
+                return null;
+            }
+
+            pos = monthEnd;
+            if (pos >= len || s.charAt(pos) != sep) {
+                return null;
+            }
+            pos++;
+            year = pos + 4 <= len ? digits(s, pos, 4) : -1;
+            pos += 4;
+
+            if (pos == len) {
+                timeStart = -1;
+            } else if (pos + 5 == len && s.charAt(pos) == ' ') {
+                timeStart = pos + 1;
+            } else {
+                return null;
+            }
+        }
+
+        int hour = timeStart < 0 ? 0 : digits(s, timeStart, 2);
+        int minute = timeStart < 0 ? 0 : digits(s, len - 2, 2);
+        if (year <= 0 || month < 0 || day < 0 || hour < 0 || minute < 0) {
+            return null;    // not a recognized shape, or a year the patterns treat specially
+        }
+        boolean isEndOfDay = hour == 24 && minute == 0;
+        if (month < 1 || month > 12 || day < 1 || day > 31
+                || (hour > 23 && !isEndOfDay) || minute > 59) {
+            throw new InvalidDateTimeException(ErrorType.INVALID_DATETIME_VALUE, s);
+        }
+
+        day = Math.min(day, YearMonth.of(year, month).lengthOfMonth());
+        LocalDateTime dateTime = isEndOfDay
+                ? LocalDate.of(year, month, day).plusDays(1).atStartOfDay()
+                : LocalDateTime.of(year, month, day, hour, minute);
+        return new ParsedDateTime(dateTime, timeStart >= 0);
+    }
+
+    /**
+     * Returns the value of {@code count} ASCII digits starting at {@code start},
+     * or -1 if any of them is not a digit.
+     */
+    private static int digits(String s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int digitRunEnd(String s, int start) {
+        int i = start;
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Matches a short month name ("Sep") case-sensitively, as the {@code MMM} patterns do.
+     *
+     * @return month number 1-12, or -1 if the text is not a short month name
+     */
+    private static int monthFromShortName(String s, int start, int end) {
+        for (int i = 0; i < SHORT_MONTHS.length; i++) {
+            String name = SHORT_MONTHS[i];
+            if (name.length() == end - start && s.startsWith(name, start)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Determines if a DateTimeParseException is caused by invalid date-time value,
      * e.g. day out of range, hour out of range.
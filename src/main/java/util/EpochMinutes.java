@@ -0,0 +1,34 @@
+package util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Utility class converting date-times to and from minutes since the epoch, the keys used by the
+ * task manager's date indexes and by the arena snapshot format.
+ * <p>No time zone conversion is done: a date-time is read as if it were UTC, so the minute of a
+ * date-time stays the same wherever and whenever it is computed.
+ */
+public final class EpochMinutes {
+
+    private EpochMinutes() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Converts a minute-precision date-time to minutes since the epoch.
+     * Seconds are dropped, as no date format accepted by the parser carries them.
+     */
+    public static long toEpochMinute(LocalDateTime dt) {
+        return Math.floorDiv(dt.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts minutes since the epoch back to a date-time.
+     *
+     * @param hasTime whether the date-time has a time of day
+     */
+    public static ParsedDateTime toDateTime(long epochMinute, boolean hasTime) {
+        return new ParsedDateTime(LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC), hasTime);
+    }
+}
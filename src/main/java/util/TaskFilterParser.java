@@ -2,59 +2,76 @@ package util;
 
 import exception.InvalidDateTimeException;
 import exception.InvalidFilterException;
+import manager.DateRange;
+import manager.FilterNode;
+import manager.TaskQuery;
 import task.Task;
+import task.TaskType;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
- * Utility class for converting string arguments into task filter {@link Predicate}
- * objects that can be used to filter task collections.
+ * Utility class for parsing filter expressions into a tree of criteria, which can be tested as a
+ * {@link Predicate} or answered from the task manager's indexes as a {@link TaskQuery}.
  * <ul>
  * <p><strong>Supported Filter Types:</strong></p>
  * <li><strong>task:</strong> Filters by task type keyword (case-insensitive)</li>
  * <li><strong>done:</strong> Filters by completion status (true/false)</li>
- * <li><strong>date:</strong> Filters by date (matches any task with the specified date)</li>
+ * <li><strong>date:</strong> Filters by date (matches any task with the specified date), or by an
+ * inclusive range such as {@code date:1/9/2025..30/9/2025}; either end of a range may be left open</li>
+ * <li><strong>during:</strong> Filters by overlap with a date or range, like {@code date:}, but also
+ * matching events that start before it and end after it</li>
+ * <li><strong>desc:</strong> Filters by text in the description (case-insensitive), which may be
+ * double-quoted to hold operator symbols, e.g. {@code desc:"salt & pepper"}</li>
  * </ul>
+ * <p>Criteria are combined with {@code &} (or {@code and}), {@code |} (or {@code or}) and negated
+ * with {@code !} (or {@code not}), where {@code !} binds tightest and {@code |} loosest, e.g.
+ * {@code (task:deadline | task:event) & !done:true}. Brackets group criteria.
  * <p><strong>Thread Safety:</strong> This class is thread-safe as it contains only static methods
  * and maintains no mutable state.</p>
  */
 public final class TaskFilterParser {
+    private static final int MAX_CRITERIA = 16;
+    private static final int MAX_DEPTH = 32;
+    private static final Set<String> KEYS = Set.of("task", "done", "date", "during", "desc");
+
     private TaskFilterParser() {
         throw new AssertionError("Utility class should not be instantiated");
     }
 
     /**
-     * Parses filter argument string into a combined predicate. All predicates are combined
-     * using logical AND, meaning tasks must satisfy ALL criteria to pass the filter.
+     * Parses a filter expression into a predicate tested on every task.
      *
-     * @param args filter criteria string with ampersands(&) delimited filters
-     *             (e.g. "task:deadline & done:true")
-     * @return combined predicate that applies all filters with AND logic
-     * @throws InvalidFilterException   if filter format is invalid or too many filters are provided
+     * @param args filter expression (e.g. "task:deadline & done:true")
+     * @return predicate matching the same tasks as {@link #parseQuery(String)}
+     * @throws InvalidFilterException   if the expression is malformed or has too many criteria
      * @throws InvalidDateTimeException if date filter contains invalid date format
      */
     public static Predicate<Task> chainPredicate(String args)
             throws InvalidFilterException, InvalidDateTimeException {
-        // "task:deadline & done:true & date:2024-01-15" → ["task:deadline", "done:true", "date:2024-01-15"]
-        String[] tokens = args.trim().split("\\s*&\\s*");
-        if (tokens.length > 3) {
-            throw new InvalidFilterException(InvalidFilterException.ErrorType.TOO_MANY_FILTERS);
-        }
+        return parseQuery(args).condition();
+    }
 
-        List<Predicate<Task>> predicates = new ArrayList<>();
-        for (String token : tokens) {
-            predicates.add(parseFilterToken(token));
-        }
-        // Chain all predicates with AND logic
-        Predicate<Task> chained = task -> true;
-        for (Predicate<Task> p : predicates) {
-            chained = chained.and(p);
+    /**
+     * Parses a filter expression into a query answered from the task manager's indexes.
+     *
+     * @param args filter expression (e.g. "(task:deadline | task:event) & date:1/9/2025..30/9/2025")
+     * @return query holding the parsed expression
+     * @throws InvalidFilterException   if the expression is malformed or has too many criteria
+     * @throws InvalidDateTimeException if date filter contains invalid date format
+     */
+    public static TaskQuery parseQuery(String args)
+            throws InvalidFilterException, InvalidDateTimeException {
+        ExpressionParser parser = new ExpressionParser(tokenize(args));
+        FilterNode root = parser.parseOr(0);
+        if (parser.hasNext()) {
+            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
         }
-        return chained;
+        return new TaskQuery(root);
     }
 
     /**
@@ -68,27 +85,15 @@ public final class TaskFilterParser {
      */
     public static Predicate<Task> parseFilterToken(String token)
             throws InvalidFilterException, InvalidDateTimeException {
-        // "task:deadline" → ["task", "deadline"]
-        String[] parts = token.split(":");
-        String key = parts[0].trim().toLowerCase();
-        String value = parts.length > 1 ? parts[1].trim() : "";
-
-        if (parts.length != 2 || key.isEmpty() || value.isEmpty()) {
-            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
-        }
-
-        return createPredicate(key, value);
+        return parseCriterion(token)::test;
     }
 
     /**
-     * Factory for creating appropriate predicate based on filter key and value.
-     * Each predicate type has specific validation and matching logic appropriate for its data type.
-     * <p>Predicate chaining technique referenced from:
-     * <a href="https://www.baeldung.com/java-predicate-chain">...</a></p>
+     * Creates the predicate for a single criterion.
      * <p><strong>Implementation Note:</strong> Date filtering ignores time components and matches
      * on date only.
      *
-     * @param key   filter key (task, done, date)
+     * @param key   filter key (task, done, date, during, desc)
      * @param value filter value
      * @return predicate that matches the specified criteria
      * @throws InvalidFilterException   for unknown keys or invalid values
@@ -96,33 +101,293 @@ public final class TaskFilterParser {
      */
     public static Predicate<Task> createPredicate(String key, String value)
             throws InvalidFilterException, InvalidDateTimeException {
+        return createCriterion(key, value)::test;
+    }
+
+    /* ==================== Expressions ==================== */
+
+    private enum TokenType { AND, OR, NOT, OPEN, CLOSE, CRITERION }
+
+    private record Token(TokenType type, String text) {
+    }
+
+    /**
+     * Splits an expression into operators, brackets and criteria. A criterion runs from its
+     * {@code key:} up to the next operator, bracket or {@code key:} of another criterion, so values
+     * may contain spaces and colons, e.g. a date and time. A word operator such as {@code and} is
+     * part of the value unless another operand follows it, so {@code desc:salt and pepper} is one
+     * criterion. Double quotes keep symbols in a value too, e.g. {@code desc:"salt & pepper"}.
+     */
+    private static List<Token> tokenize(String args) throws InvalidFilterException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < args.length()) {
+            char c = args.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            TokenType symbol = switch (c) {
+            case '&' -> TokenType.AND;
+            case '|' -> TokenType.OR;
+            case '!' -> TokenType.NOT;
+            case '(' -> TokenType.OPEN;
+            case ')' -> TokenType.CLOSE;
+            default -> null;
+            };
+            if (symbol != null) {
+                tokens.add(new Token(symbol, String.valueOf(c)));
+                i++;
+                continue;
+            }
+
+            int end = wordEnd(args, i);
+            String word = args.substring(i, end);
+            i = end;
+            Token previous = tokens.isEmpty() ? null : tokens.get(tokens.size() - 1);
+            boolean isInValue = previous != null && previous.type() == TokenType.CRITERION;
+            TokenType keyword = keywordOf(word);
+            if (keyword != null && !(isInValue && continuesValue(args, end))) {
+                tokens.add(new Token(keyword, word));
+            } else if (isInValue && !isKeyToken(word)) {
+                // "date:15-10-2025 0930" → one criterion
+                tokens.set(tokens.size() - 1, new Token(TokenType.CRITERION, previous.text() + " " + word));
+            } else {
+                tokens.add(new Token(TokenType.CRITERION, word));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the index just after the word starting at {@code start}, which ends at whitespace or
+     * an operator symbol outside double quotes.
+     *
+     * @throws InvalidFilterException if a quote is left open
+     */
+    private static int wordEnd(String args, int start) throws InvalidFilterException {
+        boolean isQuoted = false;
+        int end = start;
+        for (; end < args.length(); end++) {
+            char c = args.charAt(end);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (!isQuoted && (Character.isWhitespace(c) || "&|()".indexOf(c) >= 0)) {
+                break;
+            }
+        }
+        if (isQuoted) {
+            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+        }
+        return end;
+    }
+
+    /**
+     * Checks if the next word from {@code from} carries on a value rather than starting an operand,
+     * i.e. is neither a {@code key:}, an operator nor a bracket, and the expression does not end there.
+     */
+    private static boolean continuesValue(String args, int from) throws InvalidFilterException {
+        while (from < args.length() && Character.isWhitespace(args.charAt(from))) {
+            from++;
+        }
+        if (from == args.length() || "&|()!".indexOf(args.charAt(from)) >= 0) {
+            return false;
+        }
+        String word = args.substring(from, wordEnd(args, from));
+        return keywordOf(word) == null && !isKeyToken(word);
+    }
+
+    private static TokenType keywordOf(String word) {
+        return switch (word.toLowerCase()) {
+        case "and" -> TokenType.AND;
+        case "or" -> TokenType.OR;
+        case "not" -> TokenType.NOT;
+        default -> null;
+        };
+    }
+
+    /**
+     * Checks if a word starts a criterion, i.e. begins with one of the filter keys and a colon.
+     */
+    private static boolean isKeyToken(String word) {
+        int colon = word.indexOf(':');
+        return colon > 0 && KEYS.contains(word.substring(0, colon).toLowerCase());
+    }
+
+    /**
+     * Recursive descent parser over the tokens of one expression:
+     * <pre>
+     * or    := and ('|' and)*
+     * and   := unary ('&amp;' unary)*
+     * unary := '!' unary | '(' or ')' | criterion
+     * </pre>
+     */
+    private static final class ExpressionParser {
+        private final List<Token> tokens;
+        private int next;
+        private int criteria;
+
+        private ExpressionParser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        private boolean hasNext() {
+            return next < tokens.size();
+        }
+
+        private boolean accept(TokenType type) {
+            if (hasNext() && tokens.get(next).type() == type) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private FilterNode parseOr(int depth) throws InvalidFilterException, InvalidDateTimeException {
+            List<FilterNode> children = new ArrayList<>();
+            do {
+                addFlattened(children, parseAnd(depth), FilterNode.Or.class);
+            } while (accept(TokenType.OR));
+            return children.size() == 1 ? children.get(0) : new FilterNode.Or(children);
+        }
+
+        private FilterNode parseAnd(int depth) throws InvalidFilterException, InvalidDateTimeException {
+            List<FilterNode> children = new ArrayList<>();
+            do {
+                addFlattened(children, parseUnary(depth), FilterNode.And.class);
+            } while (accept(TokenType.AND));
+            return children.size() == 1 ? children.get(0) : new FilterNode.And(children);
+        }
+
+        private FilterNode parseUnary(int depth) throws InvalidFilterException, InvalidDateTimeException {
+            if (depth > MAX_DEPTH || !hasNext()) {
+                throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+            }
+            if (accept(TokenType.NOT)) {
+                return new FilterNode.Not(parseUnary(depth + 1));
+            }
+            if (accept(TokenType.OPEN)) {
+                FilterNode inner = parseOr(depth + 1);
+                if (!accept(TokenType.CLOSE)) {
+                    throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+                }
+                return inner;
+            }
+
+            Token token = tokens.get(next++);
+            if (token.type() != TokenType.CRITERION) {
+                throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+            }
+            if (++criteria > MAX_CRITERIA) {
+                throw new InvalidFilterException(InvalidFilterException.ErrorType.TOO_MANY_FILTERS);
+            }
+            return parseCriterion(token.text());
+        }
+
+        /**
+         * Adds a child, or its children if it has the same operator, so "a &amp; (b &amp; c)" has three children.
+         */
+        private static void addFlattened(List<FilterNode> children, FilterNode child,
+                                         Class<? extends FilterNode> operator) {
+            if (child instanceof FilterNode.And and && operator == FilterNode.And.class) {
+                children.addAll(and.children());
+            } else if (child instanceof FilterNode.Or or && operator == FilterNode.Or.class) {
+                children.addAll(or.children());
+            } else {
+                children.add(child);
+            }
+        }
+    }
+
+    /* ==================== Criteria ==================== */
+
+    private static FilterNode parseCriterion(String token)
+            throws InvalidFilterException, InvalidDateTimeException {
+        String[] keyValue = splitFilterToken(token);
+        return createCriterion(keyValue[0], keyValue[1]);
+    }
+
+    /**
+     * Splits a filter token at its first colon into its lowercase key and trimmed value, without
+     * the double quotes around a quoted value.
+     *
+     * @throws InvalidFilterException if token format is invalid (wrong format, empty key/value)
+     */
+    private static String[] splitFilterToken(String token) throws InvalidFilterException {
+        // "task:deadline" → ["task", "deadline"], "desc:"10:30 call"" → ["desc", "10:30 call"]
+        int colon = token.indexOf(':');
+        String key = colon < 0 ? "" : token.substring(0, colon).trim().toLowerCase();
+        String value = colon < 0 ? "" : token.substring(colon + 1).trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+
+        if (key.isEmpty() || value.isEmpty()) {
+            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+        }
+        return new String[]{key, value};
+    }
+
+    /**
+     * Factory for the criterion of a filter key and value.
+     *
+     * @throws InvalidFilterException   for unknown keys or invalid values
+     * @throws InvalidDateTimeException if date value cannot be parsed
+     */
+    private static FilterNode createCriterion(String key, String value)
+            throws InvalidFilterException, InvalidDateTimeException {
 
         switch (key) {
         case "task":
-            return task -> task.getTaskType().getKeyword().equalsIgnoreCase(value);
+            return new FilterNode.TypeIs(TaskType.fromKeyword(value), value.toLowerCase());
 
         case "done":
-            boolean isDone = Boolean.parseBoolean(value);
-            return task -> task.isDone() == isDone;
+            return new FilterNode.StatusIs(Boolean.parseBoolean(value));
 
         case "date":
-            ParsedDateTime parsed = DateTimeParser.parse(value);
-            LocalDate filterDate = parsed.dateTime().toLocalDate(); // ignore time
+            return new FilterNode.HasDate(parseDateRange(value));
 
-            return task -> {
-                List<LocalDateTime> dates = task.getDates();
-                if (dates.isEmpty()) return false;
+        case "during":
+            return new FilterNode.Overlaps(parseDateRange(value));
 
-                for (LocalDateTime dt : dates) {
-                    if (dt.toLocalDate().equals(filterDate)) {
-                        return true;
-                    }
-                }
-                return false;
-            };
+        case "desc":
+            return new FilterNode.Contains(value.toLowerCase());
 
         default:
             throw new InvalidFilterException(InvalidFilterException.ErrorType.UNKNOWN_FILTER_KEY);
         }
     }
+
+    /**
+     * Parses a date filter value, either a single date or a range {@code from..to} where one of
+     * the two ends may be omitted. Time components are ignored.
+     *
+     * @param value date filter value (e.g. "9/9/2025", "1/9/2025..30/9/2025" or "..30/9/2025")
+     * @return inclusive range of dates
+     * @throws InvalidFilterException   if both ends are missing or the range ends before it starts
+     * @throws InvalidDateTimeException if a date cannot be parsed
+     */
+    public static DateRange parseDateRange(String value)
+            throws InvalidFilterException, InvalidDateTimeException {
+        int separator = value.indexOf("..");
+        if (separator < 0) {
+            return DateRange.of(parseDate(value));
+        }
+
+        String fromText = value.substring(0, separator).trim();
+        String toText = value.substring(separator + 2).trim();
+        if (fromText.isEmpty() && toText.isEmpty()) {
+            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_FILTER_FORMAT);
+        }
+        LocalDate from = fromText.isEmpty() ? null : parseDate(fromText);
+        LocalDate to = toText.isEmpty() ? null : parseDate(toText);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidFilterException(InvalidFilterException.ErrorType.INVALID_DATE_RANGE);
+        }
+        return new DateRange(from, to);
+    }
+
+    private static LocalDate parseDate(String value) throws InvalidDateTimeException {
+        return DateTimeParser.parse(value).dateTime().toLocalDate();   // ignore time
+    }
 }
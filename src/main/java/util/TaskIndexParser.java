@@ -1,15 +1,42 @@
 package util;
 
+import exception.InvalidDateTimeException;
+import exception.InvalidFilterException;
 import exception.InvalidTaskOperationException;
 import exception.InvalidTaskOperationException.ErrorType;
 import manager.TaskManager;
 
+import java.util.BitSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class to parse the task referred to by a command, either by its 1-based position
+ * ({@code mark 3}) or by its stable id prefixed with {@code #} ({@code mark #12}).
+ * <p>Commands acting on many tasks at once also accept a selection: a comma-separated list of
+ * positions, ranges and ids ({@code mark 1-500,720,#12}), or filters in the same format as the
+ * {@code filter} command ({@code delete done:true}).
+ */
 public class TaskIndexParser {
 
+    private static final String ID_PREFIX = "#";
+    private static final String ITEM_SEPARATOR = ",";
+    private static final String FILTER_SEPARATOR = ":";
+    private static final Pattern RANGE = Pattern.compile("(\\d+)\\s*-\\s*(\\d+)");
+
     private TaskIndexParser() {
         throw new AssertionError("Utility class should not be instantiated");
     }
 
+    /**
+     * Returns the 1-based position of the task referred to by the arguments. An id is resolved to
+     * the task's current position.
+     *
+     * @param args        a task number, or a task id prefixed with {@code #}
+     * @param taskManager the task manager holding the task
+     * @throws InvalidTaskOperationException if the list is empty, the argument is missing or not a
+     *                                       number, or no task has the given id
+     */
     public static int parseTaskIndex(String args, TaskManager taskManager)
             throws InvalidTaskOperationException {
 
@@ -21,12 +48,122 @@ public class TaskIndexParser {
             throw new InvalidTaskOperationException(ErrorType.MISSING_TASK_NUMBER);
         }
 
-        int taskNumber;
+        String reference = args.trim();
         try {
-            taskNumber = Integer.parseInt(args.trim());
+            if (reference.startsWith(ID_PREFIX)) {
+                return taskManager.getUserIndex(Long.parseLong(reference.substring(ID_PREFIX.length())));
+            }
+            return Integer.parseInt(reference);
         } catch (NumberFormatException e) {
             throw new InvalidTaskOperationException(ErrorType.INVALID_NUMBER_FORMAT, args);
         }
-        return taskNumber;
+    }
+
+    /**
+     * Returns whether the arguments select several tasks, i.e. contain a list, a range or a filter.
+     */
+    public static boolean isSelection(String args) {
+        return args.contains(ITEM_SEPARATOR) || args.contains(FILTER_SEPARATOR)
+                || RANGE.matcher(args.trim()).matches();
+    }
+
+    /**
+     * Returns the positions of the tasks selected by the arguments.
+     *
+     * @param args        positions, ranges and ids separated by commas, or filters
+     * @param taskManager the task manager holding the tasks
+     * @return bit {@code i} is set if the task at 0-based position {@code i} is selected
+     * @throws InvalidTaskOperationException if the list is empty, an item is not a number or range,
+     *                                       refers to no task, or the filters match no task
+     * @throws InvalidFilterException        if the filter format is invalid
+     * @throws InvalidDateTimeException      if a date filter contains an invalid date
+     */
+    public static BitSet parseTaskSelection(String args, TaskManager taskManager)
+            throws InvalidTaskOperationException, InvalidFilterException, InvalidDateTimeException {
+
+        if (taskManager.isEmpty()) {
+            throw new InvalidTaskOperationException(ErrorType.EMPTY_LIST);
+        }
+
+        if (args.contains(FILTER_SEPARATOR)) {
+            BitSet positions = taskManager.select(TaskFilterParser.parseQuery(args));
+            if (positions.isEmpty()) {
+                throw new InvalidTaskOperationException(ErrorType.NO_MATCHING_TASKS, args.trim());
+            }
+            return positions;
+        }
+
+        BitSet positions = new BitSet();
+        for (String item : args.split(ITEM_SEPARATOR)) {
+            String reference = item.trim();
+            if (reference.startsWith(ID_PREFIX)) {
+                positions.set(parseTaskIndex(reference, taskManager) - 1);
+            } else {
+                addRange(reference, taskManager.getTotalTasks(), positions);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Parses positions and ranges in the format written by {@link #formatRanges(BitSet)}.
+     *
+     * @param ranges    1-based positions and ranges separated by commas, e.g. {@code 1-500,720}
+     * @param taskCount the number of tasks in the list
+     * @return bit {@code i} is set for each listed 0-based position {@code i}
+     * @throws InvalidTaskOperationException if an item is not a number or range, or is out of bounds
+     */
+    public static BitSet parseRanges(String ranges, int taskCount) throws InvalidTaskOperationException {
+        BitSet positions = new BitSet();
+        for (String item : ranges.split(ITEM_SEPARATOR)) {
+            addRange(item.trim(), taskCount, positions);
+        }
+        return positions;
+    }
+
+    /**
+     * Formats 0-based positions as 1-based positions and ranges, e.g. {@code 1-500,720}.
+     */
+    public static String formatRanges(BitSet positions) {
+        StringBuilder ranges = new StringBuilder();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i)) {
+            int end = positions.nextClearBit(i);
+            if (!ranges.isEmpty()) {
+                ranges.append(ITEM_SEPARATOR);
+            }
+            ranges.append(i + 1);
+            if (end - i > 1) {
+                ranges.append('-').append(end);
+            }
+            i = end;
+        }
+        return ranges.toString();
+    }
+
+    private static void addRange(String item, int taskCount, BitSet positions)
+            throws InvalidTaskOperationException {
+
+        int first;
+        int last;
+        try {
+            Matcher range = RANGE.matcher(item);
+            if (range.matches()) {
+                first = Integer.parseInt(range.group(1));
+                last = Integer.parseInt(range.group(2));
+            } else {
+                first = Integer.parseInt(item);
+                last = first;
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidTaskOperationException(ErrorType.INVALID_NUMBER_FORMAT, item);
+        }
+
+        if (first > last) {
+            throw new InvalidTaskOperationException(ErrorType.INVALID_NUMBER_FORMAT, item);
+        }
+        if (first < 1 || last > taskCount) {
+            throw new InvalidTaskOperationException(ErrorType.TASK_NOT_FOUND, first < 1 ? first : last);
+        }
+        positions.set(first - 1, last);
     }
 }
@@ -1,19 +1,15 @@
 package util;
 
-import exception.FileContentException;
 import exception.InvalidTaskFormatException;
 import exception.InvalidTaskFormatException.ErrorType;
-import storage.SimpleJsonObject;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Utility class providing methods for tokenizing strings and JSON arrays.
+ * Utility class providing methods for tokenizing strings.
  * <p>This class contains static utility methods for parsing command-line arguments using
- * regex patterns and for splitting JSON arrays into individual JSON object strings.</p>
+ * regex patterns. JSON content is parsed by {@link storage.JsonStreamReader}.</p>
  */
 public final class TokenizerUtil {
 
@@ -57,65 +53,4 @@ public final class TokenizerUtil {
         }
         return tokens;
     }
-
-    /**
-     * Splits a JSON array string into individual JSON object strings.
-     * <p>
-     * Parses a JSON array and extracts each JSON object as a separate string.
-     * Handles both single objects and arrays containing multiple objects.
-     * <p>
-     * <strong>Usage Note:</strong> This is a simplified JSON parser that uses regex
-     * splitting and may not handle all edge cases of complex JSON structures.
-     * It assumes well-formed JSON objects separated by commas.
-     *
-     * @param jsonArray the JSON array string to tokenize (e.g., "[{...}, {...}]")
-     * @return a list of individual JSON object strings, each representing one object
-     * from the array (without surrounding array brackets)
-     * @throws IllegalArgumentException if the input is not a valid JSON array format
-     */
-    public static List<SimpleJsonObject> tokenize(String jsonArray) {
-        List<SimpleJsonObject> tokens = new ArrayList<>();
-        String json = jsonArray.trim();
-
-        if (json.equals("[]") || json.isBlank()) return tokens;
-
-        if (!json.startsWith("[") || !json.endsWith("]")) {
-            throw new FileContentException(FileContentException.ErrorType.INVALID_JSON_FORMAT);
-        }
-
-        json = json.substring(1, json.length() - 1).trim(); // Remove surrounding square brackets
-        String[] joArray = json.split("(?<=})\\s*,\\s*(?=\\{)");
-
-        for (String jo : joArray) {
-            tokens.add(parseObject(jo.trim()));
-        }
-        return tokens;
-    }
-
-    private static SimpleJsonObject parseObject(String jsonObject) {
-        if (!jsonObject.startsWith("{") || !jsonObject.endsWith("}")) {
-            throw new FileContentException(FileContentException.ErrorType.INVALID_JSON_FORMAT);
-        }
-
-        jsonObject = jsonObject.substring(1, jsonObject.length() - 1).trim();
-        if (jsonObject.isEmpty()) {
-            throw new FileContentException(FileContentException.ErrorType.MISSING_FIELD);
-        }
-
-        // Split by commas not inside quotes
-        // Assume },{ format is respected
-        String[] pairs = jsonObject.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
-
-        SimpleJsonObject obj = new SimpleJsonObject();
-        for (String pair : pairs) {
-            String[] kv = pair.split(":", 2);
-            if (kv.length != 2) {
-                throw new FileContentException(FileContentException.ErrorType.MISSING_FIELD);
-            }
-            String key = kv[0].trim().replaceAll("^\"|\"$", "");
-            String value = kv[1].trim().replaceAll("^\"|\"$", "");
-            obj.put(key, value);
-        }
-        return obj;
-    }
 }
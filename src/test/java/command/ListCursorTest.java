@@ -0,0 +1,99 @@
+package command;
+
+import manager.SortKey;
+import manager.TaskManager;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.SampleTasks;
+import task.Task;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static task.SampleTasks.on;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Paging through the list shows every task kept throughout exactly once, while tasks are added and deleted on both sides of the cursor</li>
+ * <li>Deleting the last task listed, on its own or in bulk, moves the cursor back to the nearest task before it that remains</li>
+ * </ol>
+ */
+class ListCursorTest {
+
+    @Test
+    void pagingSkipsAndRepeatsNothingThroughChanges() throws Exception {
+        Random random = new Random(25);
+        for (int round = 0; round < 50; round++) {
+            TaskManager tm = new TaskManager();
+            tm.sortBy(SortKey.DATE, true);      // so added tasks land anywhere in the list
+            for (int i = 0; i < 200; i++) {
+                tm.addTask(SampleTasks.random(random, 28, "task " + i));
+            }
+            Set<Task> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            kept.addAll(tm.getReadOnlyList());
+            Set<Task> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            ListCursor cursor = new ListCursor(tm);
+            int pageSize = 1 + random.nextInt(30);
+            while (true) {
+                int from = cursor.position();
+                int to = Math.min(from + pageSize, tm.getTotalTasks());
+                for (Task task : tm.getReadOnlyList().subList(from, to)) {
+                    assertTrue(shown.add(task), "shown twice: " + task);
+                }
+                cursor.moveTo(tm.getTask(to).getId());
+                if (to == tm.getTotalTasks()) {
+                    break;
+                }
+
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    tm.addTask(SampleTasks.random(random, 28, "task " + (1000 + i)));
+                }
+                if (random.nextBoolean()) {
+                    Task deleted = tm.getReadOnlyList().get(random.nextInt(tm.getTotalTasks()));
+                    kept.remove(deleted);
+                    tm.deleteTask(tm.getReadOnlyList().indexOf(deleted) + 1);
+                } else {
+                    BitSet positions = new BitSet();
+                    for (int i = random.nextInt(6); i >= 0; i--) {
+                        positions.set(Math.max(0, cursor.position() - 3 + random.nextInt(6)));
+                    }
+                    positions.clear(tm.getTotalTasks(), Integer.MAX_VALUE);
+                    for (Task deleted : tm.deleteTasks(positions)) {
+                        kept.remove(deleted);
+                    }
+                }
+            }
+            assertTrue(shown.containsAll(kept));
+        }
+    }
+
+    @Test
+    void deletingListedTasksMovesCursorBack() throws Exception {
+        TaskManager tm = new TaskManager();
+        for (int i = 0; i < 5; i++) {
+            tm.addTask(new DeadlineTask("task " + i, on(1, 10)));
+        }
+        ListCursor cursor = new ListCursor(tm);
+        cursor.moveTo(tm.getTask(4).getId());
+        tm.deleteTask(4);
+        assertEquals(3, cursor.position());
+
+        BitSet positions = new BitSet();
+        positions.set(1, 3);
+        tm.deleteTasks(positions);
+        assertEquals(1, cursor.position());
+
+        positions.clear();
+        positions.set(0);
+        tm.deleteTasks(positions);
+        assertEquals(0, cursor.position());
+        assertEquals(1, tm.getTotalTasks());
+    }
+}
@@ -0,0 +1,134 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.EventTask;
+import task.SampleTasks;
+import task.Task;
+import task.TodoTask;
+import util.DateTimeParser;
+import util.EpochMinutes;
+import util.ParsedDateTime;
+import util.TaskFilterParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static task.SampleTasks.at;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Overlap lookups match a scan of all spans through many adds and removes</li>
+ * <li>The during: filter finds events running through a range, unlike date:</li>
+ * <li>Clashes are pending events overlapping in time, not ones that merely touch</li>
+ * <li>The tree and a scan agree on spans touching midnight, whichever plan a filter takes</li>
+ * </ol>
+ */
+class IntervalTreeTest {
+
+    @Test
+    void lookupsMatchScan() {
+        Random random = new Random(13);
+        IntervalTree tree = new IntervalTree();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            if (tasks.isEmpty() || random.nextInt(3) > 0) {
+                Task task = SampleTasks.random(random, 28, "task " + i);
+                task.setId(i + 1);
+                tasks.add(task);
+                tree.add(task);
+            } else {
+                tree.remove(tasks.remove(random.nextInt(tasks.size())));
+            }
+
+            if (i % 100 == 0) {
+                long from = EpochMinutes.toEpochMinute(LocalDateTime.of(2025, 9, 1 + random.nextInt(28), 0, 0));
+                long to = from + random.nextInt(5 * 24 * 60);
+                List<Task> expected = new ArrayList<>();
+                for (Task task : tasks) {
+                    List<LocalDateTime> dates = task.getDates();
+                    if (!dates.isEmpty() && IntervalTree.startOf(dates, task.hasTime()) < to
+                            && IntervalTree.endOf(dates, task.hasTime()) > from) {
+                        expected.add(task);
+                    }
+                }
+                List<Task> found = tree.overlapping(from, to);
+                assertEquals(expected.size(), found.size());
+                assertTrue(found.containsAll(expected));
+            }
+        }
+        assertEquals(tasks.stream().filter(t -> !t.getDates().isEmpty()).count(), tree.size());
+    }
+
+    @Test
+    void duringFindsEventsRunningThrough() throws Exception {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new EventTask("trip", DateTimeParser.parse("2025-09-01"), DateTimeParser.parse("2025-09-20")));
+        tm.addTask(new DeadlineTask("submit report", DateTimeParser.parse("15-09-2025 0930")));
+        tm.addTask(new EventTask("concert", DateTimeParser.parse("2025-10-01"), DateTimeParser.parse("2025-10-01")));
+        tm.addTask(new TodoTask("read book"));
+
+        DateRange week = new DateRange(LocalDate.of(2025, 9, 10), LocalDate.of(2025, 9, 16));
+        assertEquals(List.of("trip", "submit report"),
+                tm.findOverlapping(week).stream().map(Task::getDescription).toList());
+        assertEquals(2, tm.filter(TaskFilterParser.parseQuery("during:10/9/2025..16/9/2025")).size());
+        assertEquals(1, tm.filter(TaskFilterParser.parseQuery("date:10/9/2025..16/9/2025")).size());
+        assertEquals(List.of("trip"), tm.filter(TaskFilterParser.parseQuery("during:20/9/2025 & task:event"))
+                .stream().map(Task::getDescription).toList());
+
+        tm.deleteTask(1);
+        assertEquals(1, tm.findOverlapping(week).size());
+    }
+
+    @Test
+    void clashesOverlapInTime() {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new EventTask("meeting", at(3, 9), at(3, 11)));
+        tm.addTask(new EventTask("lunch", at(3, 12), at(3, 13)));
+        tm.addTask(new DeadlineTask("submit report", at(3, 10)));
+        EventTask finished = new EventTask("old workshop", at(3, 8), at(3, 17));
+        finished.markAsDone();
+        tm.addTask(finished);
+
+        assertEquals(List.of("meeting"), tm.findClashes(new EventTask("call", at(3, 10), at(3, 12)))
+                .stream().map(Task::getDescription).toList());
+        assertTrue(tm.findClashes(new EventTask("coffee", at(3, 11), at(3, 12))).isEmpty());
+        assertEquals(2, tm.findClashes(new EventTask("offsite", DateTimeParser.parse("2025-09-03"),
+                DateTimeParser.parse("2025-09-03"))).size());
+    }
+
+    @Test
+    void midnightBoundaryMatchesScan() {
+        TaskManager tm = new TaskManager();
+        LocalDateTime midnight = LocalDateTime.of(2025, 9, 1, 0, 0);
+        tm.addTask(new EventTask("ends at midnight", new ParsedDateTime(midnight.minusHours(2), true),
+                new ParsedDateTime(midnight, true)));
+        tm.addTask(new EventTask("starts at midnight", new ParsedDateTime(midnight, true),
+                new ParsedDateTime(midnight.plusHours(1), true)));
+        tm.addTask(new EventTask("instant at midnight", new ParsedDateTime(midnight, true),
+                new ParsedDateTime(midnight, true)));
+        tm.addTask(new DeadlineTask("due at midnight", new ParsedDateTime(midnight, true)));
+        tm.addTask(new EventTask("ends before midnight", new ParsedDateTime(midnight.minusHours(2), true),
+                new ParsedDateTime(midnight.minusMinutes(1), true)));
+
+        for (int day = -1; day <= 1; day++) {
+            LocalDate date = midnight.toLocalDate().plusDays(day);
+            DateRange range = DateRange.of(date);
+            List<Task> scanned = tm.getReadOnlyList().stream()
+                    .filter(task -> range.overlaps(task.getDates(), task.hasTime()))
+                    .toList();
+            String during = "during:" + date;
+            assertEquals(Set.copyOf(scanned), Set.copyOf(tm.findOverlapping(range)));   // ordered by start
+            assertEquals(scanned, tm.filter(TaskFilterParser.parseQuery(during)));
+            assertEquals(scanned, tm.filter(TaskFilterParser.parseQuery(during + " | " + during)));
+        }
+        assertEquals(List.of("instant at midnight", "due at midnight", "starts at midnight"),
+                tm.findOverlapping(DateRange.of(midnight.toLocalDate())).stream().map(Task::getDescription).toList());
+    }
+}
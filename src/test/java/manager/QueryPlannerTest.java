@@ -0,0 +1,107 @@
+package manager;
+
+import exception.InvalidFilterException;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.SampleTasks;
+import task.Task;
+import util.ParsedDateTime;
+import util.TaskFilterParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Every plan returns the same tasks, in the same order, as testing the expression on every task</li>
+ * <li>The planner drives from the most selective index and falls back to bitmaps or a scan</li>
+ * <li>Operator precedence, brackets, word operators and malformed expressions</li>
+ * </ol>
+ */
+class QueryPlannerTest {
+
+    private static TaskManager createTaskManager(int size) {
+        Random random = new Random(21);
+        TaskManager tm = new TaskManager();
+        String[] words = {"report", "kopi", "laksa", "book", "meeting", "salt and pepper", "call at 10:30"};
+        for (int i = 0; i < size; i++) {
+            String description = words[random.nextInt(words.length)] + " " + i;
+            Task task = SampleTasks.random(random, 28, description);
+            if (random.nextInt(4) == 0) {
+                task.markAsDone();
+            }
+            tm.addTask(task);
+        }
+        return tm;
+    }
+
+    @Test
+    void plansMatchFullScan() {
+        TaskManager tm = createTaskManager(2_000);
+        String[] filters = {
+            "task:todo", "!done:true", "task:deadline | task:event & done:true",
+            "(task:deadline | task:event) & !done:true & date:1/9/2025..7/9/2025",
+            "date:9/9/2025 & desc:report", "during:10/9/2025 | desc:kopi", "not (desc:book or desc:laksa)",
+            "desc:1 & task:event", "desc:- | done:true", "during:20/9/2025.. & !(task:event & done:false)",
+            "date:3/9/2025 & during:1/9/2025..5/9/2025 & desc:meeting & done:false",
+            "during:10/9/2025", "during:10/9/2025 | during:10/9/2025", "during:..10/9/2025 & !done:true",
+            "desc:salt and pepper", "desc:salt and pepper or desc:10:30", "desc:call at 10:30 & during:9/9/2025.."
+        };
+        for (int round = 0; round < 2; round++) {
+            for (String filter : filters) {
+                TaskQuery query = TaskFilterParser.parseQuery(filter);
+                assertEquals(tm.filter(query.condition()), tm.filter(query), filter);
+            }
+            tm.sortByDate();
+            for (int i = 0; i < 300; i++) {
+                tm.deleteTask(1 + i * 3);
+            }
+        }
+    }
+
+    @Test
+    void selectiveIndexDrivesPlan() {
+        TaskManager tm = createTaskManager(2_000);
+        tm.addTask(new DeadlineTask("pay zakat", new ParsedDateTime(LocalDateTime.of(2026, 1, 5, 0, 0), false)));
+
+        QueryPlan plan = tm.explain(TaskFilterParser.parseQuery("task:deadline & date:5/1/2026 & desc:pay"));
+        assertEquals(QueryPlan.Access.DATE_INDEX, plan.getAccess());
+        assertEquals(1, plan.getEstimatedRows());
+        assertEquals(List.of("desc:pay"), plan.getResiduals().stream().map(FilterNode::toString).toList());
+        assertEquals(3, plan.describe().size());
+
+        assertEquals(QueryPlan.Access.KEYWORD_INDEX,
+                tm.explain(TaskFilterParser.parseQuery("desc:zakat & date:..30/9/2025")).getAccess());
+        assertEquals(QueryPlan.Access.SPAN_INDEX,
+                tm.explain(TaskFilterParser.parseQuery("during:1/1/2026..1/2/2026 & !done:true")).getAccess());
+        assertEquals(QueryPlan.Access.BITMAPS,
+                tm.explain(TaskFilterParser.parseQuery("task:todo & date:1/9/2025..30/9/2025")).getAccess());
+        assertEquals(QueryPlan.Access.SCAN, tm.explain(TaskFilterParser.parseQuery("desc:-")).getAccess());
+    }
+
+    @Test
+    void expressionsAreParsed() {
+        assertEquals("task:todo | task:deadline & done:true",
+                TaskFilterParser.parseQuery("task:todo | task:deadline & done:true").root().toString());
+        assertTrue(TaskFilterParser.parseQuery("task:todo OR done:true").root() instanceof FilterNode.Or);
+        assertEquals("(task:todo | task:event) & !(done:true & desc:buy milk)",
+                TaskFilterParser.parseQuery("(task:todo|task:event) and not (done:true & desc:Buy milk)")
+                        .root().toString());
+        assertEquals(3, ((FilterNode.And) TaskFilterParser.parseQuery("done:true & (task:todo & desc:a)").root())
+                .children().size());
+        assertEquals("desc:salt and pepper | desc:10:30 & !done:true",
+                TaskFilterParser.parseQuery("desc:Salt and pepper or desc:10:30 and not done:true").root().toString());
+        assertEquals("desc:\"salt & pepper\" & task:todo",
+                TaskFilterParser.parseQuery("desc:\"salt & pepper\" & task:todo").root().toString());
+
+        String[] malformed = {"task:todo &", "(task:todo", "task:todo)", "task:todo done:true", "& done:true",
+            "!", "()", "desc:", "desc:\"open", "task:todo & " + "done:true & ".repeat(16) + "done:false"};
+        for (String filter : malformed) {
+            assertThrows(InvalidFilterException.class, () -> TaskFilterParser.parseQuery(filter));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package manager;
+
+import exception.InvalidTaskOperationException;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.Task;
+import task.TodoTask;
+import util.DateTimeParser;
+import util.TaskIndexParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Bulk mark and delete leave the same list as changing the tasks one at a time and sorting once, with and without a kept order</li>
+ * <li>Selections of positions, ranges, ids and filters, and their round trip through the journal format</li>
+ * <li>Invalid selections are rejected before anything changes</li>
+ * </ol>
+ */
+class TaskManagerBulkTest {
+
+    private static TaskManager createTaskManager(int size, SortKey keptOrder) {
+        Random random = new Random(3);
+        TaskManager tm = new TaskManager();
+        if (keptOrder != null) {
+            tm.sortBy(keptOrder, true);
+        }
+        for (int i = 0; i < size; i++) {
+            Task task = random.nextBoolean()
+                    ? new TodoTask("task " + i)
+                    : new DeadlineTask("task " + i, DateTimeParser.parse((1 + random.nextInt(28)) + "-10-2025"));
+            if (random.nextInt(3) == 0) {
+                task.markAsDone();
+            }
+            tm.addTask(task);
+        }
+        return tm;
+    }
+
+    private static List<String> toStrings(TaskManager tm) {
+        return tm.getReadOnlyList().stream().map(Task::toString).toList();
+    }
+
+    @Test
+    void bulkChangesMatchSequentialChanges() {
+        for (SortKey keptOrder : new SortKey[] {null, SortKey.STATUS, SortKey.DATE}) {
+            TaskManager bulk = createTaskManager(300, keptOrder);
+            TaskManager sequential = createTaskManager(300, keptOrder);
+            BitSet selected = new BitSet();
+            for (int i = 0; i < 300; i += 1 + i % 4) {
+                selected.set(i);
+            }
+
+            // Expected: mark one at a time in a list that stays put, then sort it once
+            if (keptOrder != null) {
+                sequential.sortBy(keptOrder, false);
+            }
+            int changed = bulk.setStatus(selected, true);
+            int expectedChanged = 0;
+            for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+                if (!sequential.getTask(i + 1).isDone()) {
+                    sequential.markTaskDone(i + 1);
+                    expectedChanged++;
+                }
+            }
+            if (keptOrder != null) {
+                sequential.sortBy(keptOrder, true);
+            }
+            assertEquals(expectedChanged, changed);
+            assertEquals(toStrings(sequential), toStrings(bulk));
+
+            bulk.deleteTasks(selected);
+            for (int i = selected.length() - 1; i >= 0; i = selected.previousSetBit(i - 1)) {
+                sequential.deleteTask(i + 1);
+            }
+            assertEquals(toStrings(sequential), toStrings(bulk));
+            assertEquals(sequential.getTotalTasks(), bulk.getTotalTasks());
+        }
+    }
+
+    @Test
+    void selectionsAreParsed() {
+        TaskManager tm = createTaskManager(30, null);
+
+        BitSet selected = TaskIndexParser.parseTaskSelection(" 1-3, 7 ,#10", tm);
+        assertEquals(BitSet.valueOf(new long[] {0b10_0100_0111}), selected);
+        assertEquals("1-3,7,10", TaskIndexParser.formatRanges(selected));
+        assertEquals(selected, TaskIndexParser.parseRanges("1-3,7,10", 30));
+
+        BitSet done = TaskIndexParser.parseTaskSelection("done:true", tm);
+        assertEquals(tm.filter(Task::isDone).size(), done.cardinality());
+        done.stream().forEach(i -> assertTrue(tm.getTask(i + 1).isDone()));
+
+        assertTrue(TaskIndexParser.isSelection("2 - 4"));
+        assertFalse(TaskIndexParser.isSelection("#12"));
+    }
+
+    @Test
+    void invalidSelectionsChangeNothing() {
+        TaskManager tm = createTaskManager(10, null);
+        List<String> before = toStrings(tm);
+
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskSelection("1-11", tm));
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskSelection("4-2", tm));
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskSelection("1,two", tm));
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskSelection("0,1", tm));
+        BitSet outOfBounds = new BitSet();
+        outOfBounds.set(10);
+        assertThrows(InvalidTaskOperationException.class, () -> tm.deleteTasks(outOfBounds));
+        assertEquals(before, toStrings(tm));
+    }
+}
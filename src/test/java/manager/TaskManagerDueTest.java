@@ -0,0 +1,129 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.EventTask;
+import task.Task;
+import task.TaskType;
+import task.TodoTask;
+import util.EpochMinutes;
+import util.ParsedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Next and overdue match sorting all pending tasks, through changes and a clock going both ways</li>
+ * <li>Stats match counting every task, through the same changes</li>
+ * <li>Deadlines without time are due at the end of their day, events at the start</li>
+ * </ol>
+ */
+class TaskManagerDueTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    private static ParsedDateTime at(LocalDateTime dateTime, boolean hasTime) {
+        return new ParsedDateTime(hasTime ? dateTime : dateTime.toLocalDate().atStartOfDay(), hasTime);
+    }
+
+    private static List<Task> expected(TaskManager tm, LocalDateTime now, boolean isOverdue) {
+        long minute = EpochMinutes.toEpochMinute(now);
+        return tm.getReadOnlyList().stream()
+                .filter(task -> !task.isDone() && task.getFirstDate() != null)
+                .filter(task -> isOverdue
+                        ? task.getTaskType() == TaskType.DEADLINE && DueQueue.keyOf(task) < minute
+                        : DueQueue.keyOf(task) >= minute)
+                .sorted(Comparator.comparingLong(DueQueue::keyOf).thenComparingLong(Task::getId))
+                .toList();
+    }
+
+    private static List<Task> tasksAt(TaskManager tm, int[] positions) {
+        return Arrays.stream(positions).mapToObj(i -> tm.getReadOnlyList().get(i)).toList();
+    }
+
+    @Test
+    void nextAndOverdueMatchSortedPendingTasks() throws Exception {
+        Random random = new Random(22);
+        TaskManager tm = new TaskManager();
+        LocalDateTime now = START.plusDays(10);
+        for (int round = 0; round < 400; round++) {
+            for (int i = 0; i < 10; i++) {
+                LocalDateTime date = START.plusMinutes(random.nextInt(30 * 24 * 60));
+                boolean hasTime = random.nextBoolean();
+                tm.addTask(switch (random.nextInt(3)) {
+                case 0 -> new TodoTask("todo");
+                case 1 -> new DeadlineTask("deadline", at(date, hasTime));
+                default -> new EventTask("event", at(date, hasTime), at(date.plusDays(1), hasTime));
+                });
+            }
+            int position = 1 + random.nextInt(tm.getTotalTasks());
+            switch (random.nextInt(4)) {
+            case 0 -> tm.deleteTask(position);
+            case 1 -> {
+                if (!tm.getTask(position).isDone()) {
+                    tm.markTaskDone(position);
+                }
+            }
+            case 2 -> {
+                if (tm.getTask(position).isDone()) {
+                    tm.unmarkTask(position);
+                }
+            }
+            default -> {
+                BitSet positions = new BitSet();
+                positions.set(position - 1, Math.min(position + 5, tm.getTotalTasks()));
+                tm.setStatus(positions, random.nextBoolean());
+            }
+            }
+
+            now = now.plusMinutes(random.nextInt(240) - (round % 50 == 0 ? 3 * 24 * 60 : 60));
+            List<Task> listBefore = new ArrayList<>(tm.getReadOnlyList());
+            int limit = 1 + random.nextInt(20);
+            List<Task> next = expected(tm, now, false);
+            assertEquals(next.subList(0, Math.min(limit, next.size())), tasksAt(tm, tm.nextDue(now, limit)));
+            assertEquals(expected(tm, now, true), tasksAt(tm, tm.overdue(now)));
+            assertEquals(listBefore, tm.getReadOnlyList());
+            assertStatsMatch(tm, now.plusMinutes(random.nextInt(60)));
+        }
+    }
+
+    private static void assertStatsMatch(TaskManager tm, LocalDateTime now) {
+        TaskStats stats = tm.getStats(now);
+        List<Task> tasks = tm.getReadOnlyList();
+        for (TaskType type : TaskType.values()) {
+            for (boolean isDone : new boolean[] {false, true}) {
+                assertEquals(tasks.stream().filter(t -> t.getTaskType() == type && t.isDone() == isDone).count(),
+                        stats.count(type, isDone));
+            }
+        }
+        assertEquals(tasks.size(), stats.total());
+        assertEquals(expected(tm, now, true).size(), stats.overdue());
+        long minute = EpochMinutes.toEpochMinute(now);
+        assertEquals(expected(tm, now, false).stream()
+                .filter(t -> DueQueue.keyOf(t) < minute + DueQueue.SOON_MINUTES).count(), stats.dueSoon());
+    }
+
+    @Test
+    void tasksWithoutTimeAreDueByTheirDay() {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new DeadlineTask("pay bills", at(START, false)));
+        tm.addTask(new EventTask("picnic", at(START, false), at(START, false)));
+        tm.addTask(new DeadlineTask("submit report", at(START.plusHours(12), true)));
+
+        LocalDateTime noon = START.plusHours(12);
+        assertArrayEquals(new int[] {2, 0}, tm.nextDue(noon, 5));
+        assertArrayEquals(new int[0], tm.overdue(noon));
+        assertArrayEquals(new int[] {2}, tm.overdue(noon.plusMinutes(1)));
+        assertArrayEquals(new int[] {2, 0}, tm.overdue(START.plusDays(1).plusMinutes(1)));
+        assertArrayEquals(new int[] {1, 2, 0}, tm.nextDue(START, 5));
+    }
+}
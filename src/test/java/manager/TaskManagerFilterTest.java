@@ -0,0 +1,107 @@
+package manager;
+
+import exception.InvalidFilterException;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.EventTask;
+import task.Task;
+import task.TodoTask;
+import util.TaskFilterParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static task.SampleTasks.on;
+
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Date filters answered from the index return the same tasks, in the same order, as a full scan</li>
+ * <li>The index follows adds, deletes and sorts</li>
+ * <li>Ranges, open-ended ranges and invalid ranges</li>
+ * <li>Type and status filters answered from bitmaps, across deletes that shift bits between words</li>
+ * </ol>
+ */
+class TaskManagerFilterTest {
+
+    private static TaskManager sampleManager() {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new DeadlineTask("return book", on(30, 9)));
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new EventTask("company retreat", on(9, 9), on(12, 9)));
+        tm.addTask(new DeadlineTask("sign-up hackathon", on(9, 9)));
+        tm.addTask(new EventTask("same-day workshop", on(1, 10), on(1, 10)));
+        return tm;
+    }
+
+    private static List<String> indexed(TaskManager tm, String args) {
+        return tm.filter(TaskFilterParser.parseQuery(args)).stream().map(Task::getDescription).toList();
+    }
+
+    private static List<String> scanned(TaskManager tm, String args) {
+        return tm.filter(TaskFilterParser.chainPredicate(args)).stream().map(Task::getDescription).toList();
+    }
+
+    @Test
+    void indexMatchesFullScan() {
+        TaskManager tm = sampleManager();
+        String[] filters = {
+            "date:9/9/2025", "date:12/9/2025", "date:10/9/2025", "date:1/9/2025..30/9/2025",
+            "date:..10/9/2025", "date:13/9/2025..", "date:2025-09-09 & task:deadline",
+            "date:9/9/2025 & date:12/9/2025", "date:1/10/2025 & done:false",
+            "task:todo", "task:EVENT & done:false", "done:true", "task:unknown", "done:false & task:deadline"
+        };
+        for (String filter : filters) {
+            assertEquals(scanned(tm, filter), indexed(tm, filter), filter);
+        }
+
+        tm.sortByDate();
+        tm.markTaskDone(1);
+        tm.deleteTask(2);
+        tm.addTask(new DeadlineTask("pay bills", on(9, 9)));
+        for (String filter : filters) {
+            assertEquals(scanned(tm, filter), indexed(tm, filter), filter);
+        }
+    }
+
+    @Test
+    void bitmapsFollowMutations() {
+        TaskManager tm = new TaskManager();
+        for (int i = 0; i < 300; i++) {
+            tm.addTask(i % 3 == 0 ? new TodoTask("todo " + i) : new DeadlineTask("deadline " + i, on(1 + i % 28, 9)));
+            if (i % 5 == 0) {
+                tm.markTaskDone(i + 1);
+            }
+        }
+        String[] filters = {"task:todo", "task:deadline & done:true", "done:false", "done:true & date:..14/9/2025"};
+        for (int userIndex : new int[]{300, 129, 128, 65, 64, 1}) {
+            tm.deleteTask(userIndex);
+            for (String filter : filters) {
+                assertEquals(scanned(tm, filter), indexed(tm, filter), filter + " after deleting " + userIndex);
+            }
+        }
+        tm.sortByStatus();
+        tm.unmarkTask(tm.getTotalTasks());
+        for (String filter : filters) {
+            assertEquals(scanned(tm, filter), indexed(tm, filter), filter);
+        }
+    }
+
+    @Test
+    void rangeQueries() {
+        TaskManager tm = sampleManager();
+        assertEquals(List.of("return book", "company retreat", "sign-up hackathon"),
+                indexed(tm, "date:1/9/2025..30/9/2025"));
+        assertEquals(List.of("return book", "same-day workshop"), indexed(tm, "date:13/9/2025.."));
+        assertEquals(List.of(), indexed(tm, "date:10/9/2025..11/9/2025"));
+
+        tm.deleteTask(1);
+        assertEquals(List.of("company retreat", "sign-up hackathon"), indexed(tm, "date:..30/9/2025"));
+    }
+
+    @Test
+    void invalidRanges() {
+        assertThrows(InvalidFilterException.class, () -> TaskFilterParser.parseQuery("date:30/9/2025..1/9/2025"));
+        assertThrows(InvalidFilterException.class, () -> TaskFilterParser.parseQuery("date:.."));
+    }
+}
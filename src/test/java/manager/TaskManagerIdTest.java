@@ -0,0 +1,101 @@
+package manager;
+
+import exception.InvalidTaskOperationException;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.Task;
+import task.TodoTask;
+import util.DateTimeParser;
+import util.TaskIndexParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Ids are assigned in order and stay with their task across sort and delete</li>
+ * <li>Ids restored from a file are kept, taken ones are replaced by a free id</li>
+ * <li>Lookup by id stays correct through many adds and deletes</li>
+ * <li>Commands accept #id as well as a position</li>
+ * </ol>
+ */
+class TaskManagerIdTest {
+
+    @Test
+    void idsFollowTasksAcrossSortAndDelete() throws Exception {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new DeadlineTask("pay bills", DateTimeParser.parse("15-10-2025")));
+        tm.addTask(new DeadlineTask("submit report", DateTimeParser.parse("11-09-2025")));
+        assertEquals(List.of(1L, 2L, 3L), tm.getReadOnlyList().stream().map(Task::getId).toList());
+
+        tm.sortByDate();
+        assertEquals(1, tm.getUserIndex(3));
+        assertEquals("submit report", tm.findTask(3).getDescription());
+
+        tm.deleteTask(1);
+        assertNull(tm.findTask(3));
+        assertThrows(InvalidTaskOperationException.class, () -> tm.getUserIndex(3));
+        assertEquals(2, tm.getUserIndex(1));
+
+        tm.addTask(new TodoTask("buy milk"));
+        assertEquals(4, tm.getTask(3).getId());     // ids are never reused
+    }
+
+    @Test
+    void restoredIdsAreKeptUnlessTaken() {
+        TaskManager tm = new TaskManager();
+        Task loaded = new TodoTask("from file");
+        loaded.setId(40);
+        tm.addTask(loaded);
+        Task duplicate = new TodoTask("hand-edited copy");
+        duplicate.setId(40);
+        tm.addTask(duplicate);
+        tm.addTask(new TodoTask("new"));
+
+        assertEquals(40, loaded.getId());
+        assertEquals(41, duplicate.getId());
+        assertEquals(42, tm.getTask(3).getId());
+    }
+
+    @Test
+    void lookupMatchesListAfterManyChanges() throws Exception {
+        Random random = new Random(5);
+        TaskManager tm = new TaskManager();
+        List<Task> removed = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            if (tm.isEmpty() || random.nextInt(3) > 0) {
+                tm.addTask(new TodoTask("task " + i));
+            } else {
+                int userIndex = 1 + random.nextInt(tm.getTotalTasks());
+                removed.add(tm.getTask(userIndex));
+                tm.deleteTask(userIndex);
+            }
+        }
+
+        for (int i = 1; i <= tm.getTotalTasks(); i++) {
+            Task task = tm.getTask(i);
+            assertSame(task, tm.findTask(task.getId()));
+            assertEquals(i, tm.getUserIndex(task.getId()));
+        }
+        for (Task task : removed) {
+            assertNull(tm.findTask(task.getId()));
+        }
+    }
+
+    @Test
+    void commandsAcceptIds() throws Exception {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new TodoTask("buy milk"));
+
+        assertEquals(2, TaskIndexParser.parseTaskIndex(" #2 ", tm));
+        assertEquals(1, TaskIndexParser.parseTaskIndex("1", tm));
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskIndex("#9", tm));
+        assertThrows(InvalidTaskOperationException.class, () -> TaskIndexParser.parseTaskIndex("#two", tm));
+    }
+}
@@ -0,0 +1,87 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import task.Task;
+import task.TodoTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Indexed search returns the same tasks, in the same order, as a substring scan</li>
+ * <li>Whole words, partial words, terms spanning words and terms without letters</li>
+ * <li>The index follows adds, deletes and sorts</li>
+ * <li>Words deleted and added again are counted once by the estimate</li>
+ * </ol>
+ */
+class TaskManagerSearchTest {
+
+    private static final String[][] QUERIES = {
+        {"book"}, {"note"}, {"ook"}, {"plants"}, {"kopi-o"}, {"i-o"}, {"-"}, {"read", "-"},
+        {"read book"}, {"d b"}, {"cs2103t"}, {"2103"}, {"café"}, {"missing"}, {"water", "book"}, {"("}
+    };
+
+    private static TaskManager sampleManager() {
+        TaskManager tm = new TaskManager();
+        for (String description : List.of("read book", "buy notebook", "water plants", "order kopi-o",
+                "submit CS2103T iP (week 3)", "Café with friends", "book book-club slot")) {
+            tm.addTask(new TodoTask(description));
+        }
+        return tm;
+    }
+
+    private static List<Task> scanned(TaskManager tm, String... terms) {
+        return tm.filter(task -> {
+            String desc = task.getDescription().toLowerCase();
+            for (String term : terms) {
+                if (desc.contains(term)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static void assertMatchesScan(TaskManager tm) {
+        for (String[] terms : QUERIES) {
+            assertEquals(scanned(tm, terms), tm.search(terms), String.join("|", terms));
+        }
+    }
+
+    @Test
+    void indexMatchesSubstringScan() {
+        TaskManager tm = sampleManager();
+        assertMatchesScan(tm);
+        assertEquals(List.of("read book", "buy notebook", "book book-club slot"),
+                tm.search(new String[]{"book"}).stream().map(Task::getDescription).toList());
+    }
+
+    @Test
+    void indexFollowsMutations() {
+        TaskManager tm = sampleManager();
+        tm.deleteTask(2);
+        tm.markTaskDone(1);
+        tm.sortByStatus();
+        tm.addTask(new TodoTask("return library book"));
+        tm.deleteTask(1);
+        assertMatchesScan(tm);
+        assertTrue(tm.search(new String[]{"notebook"}).isEmpty());
+    }
+
+    @Test
+    void readdedWordsAreCountedOnce() {
+        KeywordIndex index = new KeywordIndex();
+        Task task = new TodoTask("buy notebook");
+        for (int i = 0; i < 3; i++) {
+            index.add(task);
+            index.remove(task);
+        }
+        index.add(task);
+        assertEquals(1, index.estimate("book"));
+        assertEquals(1, index.estimate("notebook"));
+        assertEquals(1, index.find("book").size());
+    }
+}
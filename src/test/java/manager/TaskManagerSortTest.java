@@ -0,0 +1,120 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.SampleTasks;
+import task.Task;
+import util.TaskFilterParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static task.SampleTasks.on;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>A kept sort order matches a full stable sort after every add, mark, unmark and delete</li>
+ * <li>A one-off sort drops the kept order, and appends go to the end again</li>
+ * <li>Bitmap filters stay correct as tasks are inserted and moved</li>
+ * <li>Top-k by one or several keys matches the start of a stable sort, and leaves the list unchanged</li>
+ * </ol>
+ */
+class TaskManagerSortTest {
+
+    private static Task randomTask(Random random, int i) {
+        // Few days, so that many tasks tie on their date
+        return SampleTasks.random(random, 5, "task " + i);
+    }
+
+    private static void assertFullySorted(TaskManager tm, SortKey key) {
+        List<Task> resorted = new ArrayList<>(tm.getReadOnlyList());
+        resorted.sort(key.getComparator());
+        assertEquals(resorted, tm.getReadOnlyList());
+    }
+
+    @Test
+    void keptOrderMatchesFullSort() {
+        for (SortKey key : SortKey.values()) {
+            Random random = new Random(key.ordinal());
+            TaskManager tm = new TaskManager();
+            for (int i = 0; i < 50; i++) {
+                tm.addTask(randomTask(random, i));
+            }
+            tm.sortBy(key, true);
+
+            for (int i = 0; i < 500; i++) {
+                int userIndex = 1 + random.nextInt(tm.getTotalTasks());
+                switch (random.nextInt(4)) {
+                case 0 -> tm.addTask(randomTask(random, 50 + i));
+                case 1 -> tm.deleteTask(userIndex);
+                default -> {
+                    if (tm.getTask(userIndex).isDone()) {
+                        tm.unmarkTask(userIndex);
+                    } else {
+                        tm.markTaskDone(userIndex);
+                    }
+                }
+                }
+                assertFullySorted(tm, key);
+                assertTrue(tm.isSorted());
+            }
+            assertEquals(tm.filter(TaskFilterParser.chainPredicate("task:deadline & done:true")),
+                    tm.filter(TaskFilterParser.parseQuery("task:deadline & done:true")));
+        }
+    }
+
+    @Test
+    void oneOffSortDropsKeptOrder() {
+        TaskManager tm = new TaskManager();
+        tm.addTask(new DeadlineTask("later", on(5)));
+        tm.addTask(new DeadlineTask("sooner", on(1)));
+        tm.sortBy(SortKey.DATE, true);
+        tm.addTask(new DeadlineTask("middle", on(3)));
+        assertEquals("middle", tm.getTask(2).getDescription());
+        assertEquals(SortKey.DATE, tm.getKeptOrder());
+
+        tm.sortByStatus();
+        assertNull(tm.getKeptOrder());
+        tm.addTask(new DeadlineTask("earliest", on(1)));
+        assertEquals("earliest", tm.getTask(4).getDescription());
+        assertFalse(tm.isSorted());
+    }
+
+    @Test
+    void topMatchesStartOfStableSort() {
+        Random random = new Random(9);
+        TaskManager tm = new TaskManager();
+        for (int i = 0; i < 1_000; i++) {
+            Task task = randomTask(random, i);
+            if (random.nextBoolean()) {
+                task.markAsDone();
+            }
+            tm.addTask(task);
+        }
+        List<Task> before = new ArrayList<>(tm.getReadOnlyList());
+
+        List<List<SortKey>> keyLists = List.of(List.of(SortKey.DATE), List.of(SortKey.STATUS, SortKey.DATE),
+                List.of(SortKey.DATE, SortKey.STATUS), SortKey.fromKeywords("status, DATE"));
+        for (List<SortKey> keys : keyLists) {
+            List<Task> sorted = new ArrayList<>(before);
+            sorted.sort(SortKey.comparing(keys));
+            for (int limit : new int[] {1, 20, 5_000}) {
+                List<Task> top = new ArrayList<>();
+                for (int position : tm.top(keys, limit)) {
+                    top.add(tm.getReadOnlyList().get(position));
+                }
+                assertEquals(sorted.subList(0, Math.min(limit, sorted.size())), top);
+            }
+        }
+        assertEquals(before, tm.getReadOnlyList());
+
+        tm.sortBy(List.of(SortKey.STATUS, SortKey.DATE));
+        List<Task> sorted = new ArrayList<>(before);
+        sorted.sort(SortKey.comparing(List.of(SortKey.STATUS, SortKey.DATE)));
+        assertEquals(sorted, tm.getReadOnlyList());
+        assertNull(SortKey.fromKeywords("status,priority"));
+    }
+}
@@ -0,0 +1,91 @@
+package manager;
+
+import org.junit.jupiter.api.Test;
+import task.Task;
+import task.TodoTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Positional get, add, remove and set behave like an array list while blocks split and merge</li>
+ * <li>indexOf finds tasks by identity, also after sorting</li>
+ * <li>Binary search bounds on a sorted list</li>
+ * <li>Duplicate tasks and out-of-range indexes are rejected</li>
+ * </ol>
+ */
+class TaskRopeTest {
+
+    private static void assertSameList(List<Task> expected, TaskRope rope) {
+        assertEquals(expected.size(), rope.size());
+        assertEquals(expected, new ArrayList<>(rope));  // in-order iteration
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), rope.get(i));
+            assertEquals(i, rope.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    void behavesLikeArrayList() {
+        Random random = new Random(42);
+        List<Task> expected = new ArrayList<>();
+        TaskRope rope = new TaskRope();
+
+        // Grow well past several blocks, then shrink again so that blocks get merged and emptied
+        for (int i = 0; i < 30_000; i++) {
+            boolean isGrowing = i < 15_000;
+            int op = expected.isEmpty() ? 0 : random.nextInt(10);
+            if (op < (isGrowing ? 6 : 3)) {
+                Task task = new TodoTask("task " + random.nextInt(1000));
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, task);
+                rope.add(index, task);
+            } else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), rope.remove(index));
+            } else {
+                Task task = new TodoTask("replacement " + i);
+                int index = random.nextInt(expected.size());
+                assertSame(expected.set(index, task), rope.set(index, task));
+            }
+            if (i % 1000 == 0) {
+                assertSameList(expected, rope);
+            }
+        }
+        assertSameList(expected, rope);
+
+        Comparator<Task> byDescription = Comparator.comparing(Task::getDescription);
+        for (int i = 0; i < 2000; i++) {
+            Task task = new TodoTask("task " + random.nextInt(1000));
+            expected.add(task);
+            rope.add(task);
+        }
+        expected.sort(byDescription);
+        rope.sort(byDescription);
+        assertSameList(expected, rope);
+        assertEquals(-1, rope.indexOf(new TodoTask("task 1")));
+
+        Task probe = new TodoTask("task 5");
+        int lower = rope.bound(probe, byDescription, false);
+        int upper = rope.bound(probe, byDescription, true);
+        assertEquals(expected.stream().filter(t -> byDescription.compare(t, probe) < 0).count(), lower);
+        assertEquals(expected.stream().filter(t -> byDescription.compare(t, probe) <= 0).count(), upper);
+    }
+
+    @Test
+    void rejectsDuplicatesAndBadIndexes() {
+        TaskRope rope = new TaskRope();
+        Task task = new TodoTask("water plants");
+        rope.add(task);
+        assertThrows(IllegalArgumentException.class, () -> rope.add(task));
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.add(2, new TodoTask("buy kopi")));
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.remove(-1));
+    }
+}
@@ -0,0 +1,174 @@
+package reminder;
+
+import manager.TaskManager;
+import org.junit.jupiter.api.Test;
+import task.DeadlineTask;
+import task.EventTask;
+import task.Task;
+import task.TodoTask;
+import util.ParsedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static task.SampleTasks.at;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Every entry of a wheel holding a million expires exactly on its tick, unless cancelled</li>
+ * <li>Deadlines are reminded about a lead time before, events when they start</li>
+ * <li>Adding, marking, unmarking and deleting tasks keep the reminders in step</li>
+ * </ol>
+ */
+class ReminderSchedulerTest {
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class TestClock extends Clock {
+        private Instant instant;
+
+        private TestClock(LocalDateTime start) {
+            this.instant = start.toInstant(ZoneOffset.UTC);
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 9, 10, 8, 0);
+
+    @Test
+    void millionEntriesExpireOnTheirTick() {
+        Random random = new Random(21);
+        long start = 1_757_000_000L;
+        TimingWheel<long[]> wheel = new TimingWheel<>(start);
+        List<TimingWheel.Entry<long[]>> entries = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            long deadline = start + 1 + (i % 10 == 0 ? random.nextInt(1 << 30) : random.nextInt(1 << 18));
+            entries.add(wheel.schedule(deadline, new long[] {deadline, 0}));
+        }
+        int cancelled = 0;
+        for (int i = 0; i < entries.size(); i += 3) {
+            assertTrue(wheel.cancel(entries.get(i)));
+            cancelled++;
+        }
+        assertFalse(wheel.cancel(entries.get(0)));
+        assertEquals(entries.size() - cancelled, wheel.size());
+
+        long[] fired = {0};
+        while (wheel.size() > 0) {
+            long target = wheel.getCurrentTick() + 1 + random.nextInt(1 << 12);
+            wheel.advanceTo(target, value -> {
+                assertEquals(value[0], wheel.getCurrentTick());
+                value[1]++;
+                fired[0]++;
+            });
+            if (wheel.getCurrentTick() - start > 1 << 18 && wheel.size() > 0) {
+                wheel.advanceTo(start + (1 << 30) + 1, value -> {
+                    assertEquals(value[0], wheel.getCurrentTick());
+                    value[1]++;
+                    fired[0]++;
+                });
+            }
+        }
+        assertEquals(entries.size() - cancelled, fired[0]);
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i % 3 == 0 ? 0 : 1, entries.get(i).getValue()[1]);
+            assertFalse(entries.get(i).isPending());
+        }
+    }
+
+    @Test
+    void remindersFollowDeadlinesAndEvents() {
+        TestClock clock = new TestClock(START);
+        TaskManager tm = new TaskManager();
+        List<Reminder> fired = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(tm, clock, Duration.ofMinutes(30), fired::add);
+        tm.addListener(scheduler);
+
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new DeadlineTask("submit report", at(10, 12)));
+        tm.addTask(new EventTask("team lunch", at(10, 13), at(10, 14)));
+        tm.addTask(new DeadlineTask("pay bills", at(9, 12)));      // already over
+        tm.addTask(new DeadlineTask("book flight", new ParsedDateTime(START.toLocalDate().atStartOfDay(), false)));
+        assertEquals(3, scheduler.size());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, scheduler.fireDue());
+        assertEquals("book flight", fired.get(0).task().getDescription());
+
+        clock.advance(Duration.ofMinutes(3 * 60 + 29));
+        assertEquals(0, scheduler.fireDue());
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, scheduler.fireDue());
+        assertEquals("submit report", fired.get(1).task().getDescription());
+        assertEquals(Duration.ofMinutes(30), fired.get(1).timeLeft().plusSeconds(1));
+
+        clock.advance(Duration.ofMinutes(89));
+        assertEquals(0, scheduler.fireDue());
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1, scheduler.fireDue());
+        assertEquals("team lunch", fired.get(2).task().getDescription());
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void changesCancelAndReschedule() throws Exception {
+        TestClock clock = new TestClock(START);
+        TaskManager tm = new TaskManager();
+        List<Reminder> fired = new ArrayList<>();
+        ReminderScheduler scheduler = new ReminderScheduler(tm, clock, Duration.ofMinutes(30), fired::add);
+        tm.addListener(scheduler);
+        for (int day = 11; day <= 20; day++) {
+            tm.addTask(new DeadlineTask("deadline " + day, at(day, 9)));
+        }
+        assertEquals(10, scheduler.size());
+
+        tm.markTaskDone(1);
+        tm.deleteTask(2);
+        assertEquals(8, scheduler.size());
+        tm.unmarkTask(1);
+        assertEquals(9, scheduler.size());
+
+        BitSet positions = new BitSet();
+        positions.set(0, 4);
+        tm.setStatus(positions, true);
+        assertEquals(5, scheduler.size());
+        positions.clear();
+        positions.set(4, 6);
+        tm.deleteTasks(positions);
+        assertEquals(3, scheduler.size());
+
+        clock.advance(Duration.ofDays(30));
+        assertEquals(3, scheduler.fireDue());
+        assertEquals(List.of("deadline 18", "deadline 19", "deadline 20"),
+                fired.stream().map(Reminder::task).map(Task::getDescription).toList());
+    }
+}
@@ -0,0 +1,59 @@
+package storage;
+
+import exception.FileContentException;
+import org.junit.jupiter.api.Test;
+import task.Task;
+import task.TodoTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Escapes: quotes, backslashes and unicode escapes survive a save/load round trip</li>
+ * <li>Structure: arrays and line-delimited objects are both accepted</li>
+ * <li>Malformed input is rejected instead of silently misparsed</li>
+ * </ol>
+ */
+class JsonStreamReaderTest {
+    @Test
+    void escapedDescriptionRoundTrip() throws Exception {
+        Task original = new TodoTask("read \"Java\" book, C:\\temp {x}");
+        String json = TaskSerializer.tasksToJson(List.of(original, new TodoTask("water plants")));
+
+        List<Task> tasks = TaskDeserializer.reconstructTask(new StringReader(json));
+        assertEquals(2, tasks.size());
+        assertEquals(original.getDescription(), tasks.get(0).getDescription());
+        assertEquals("water plants", tasks.get(1).getDescription());
+    }
+
+    @Test
+    void unicodeAndLiterals() {
+        SimpleJsonObject obj = JsonStreamReader.parseObject(
+                "{ \"description\" : \"caf\\u00e9\", \"done\" : true, \"index\":42 }");
+        assertEquals("café", obj.get("description"));
+        assertEquals("true", obj.get("done"));
+        assertEquals("42", obj.get("index"));
+    }
+
+    @Test
+    void lineDelimitedObjects() throws Exception {
+        JsonStreamReader reader = new JsonStreamReader(new StringReader(
+                "{\"op\":\"mark\",\"index\":1}\n{\"op\":\"delete\",\"index\":2}\n"));
+        assertEquals("mark", reader.nextObject().get("op"));
+        assertEquals("delete", reader.nextObject().get("op"));
+        assertNull(reader.nextObject());
+    }
+
+    @Test
+    void emptyAndMalformedInput() throws Exception {
+        assertTrue(TaskDeserializer.reconstructTask("[]").isEmpty());
+        assertTrue(TaskDeserializer.reconstructTask("").isEmpty());
+        assertThrows(FileContentException.class, () -> TaskDeserializer.reconstructTask("[{\"type\":\"todo\"}"));
+        assertThrows(FileContentException.class, () -> JsonStreamReader.parseObject("{\"description\":\"x}"));
+        assertThrows(FileContentException.class, () -> JsonStreamReader.parseObject("{}"));
+    }
+}
@@ -0,0 +1,82 @@
+package storage;
+
+import manager.TaskManager;
+import org.junit.jupiter.api.Test;
+import task.TodoTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Commands that do not change the list never capture or write anything</li>
+ * <li>SYNC writes once per mutating command, ON_EXIT only once on close</li>
+ * <li>INTERVAL coalesces a burst of commands into a single background write</li>
+ * </ol>
+ */
+class PersistenceWorkerTest {
+    private final List<String> writes = new ArrayList<>();
+
+    private PersistenceWorker worker(TaskManager tm, Durability durability) {
+        PersistenceWorker worker = new PersistenceWorker(durability, 50, isDeferred -> {
+            int size = tm.getTotalTasks();
+            return isForced -> {
+                synchronized (writes) {
+                    writes.add(size + (isForced ? " forced" : ""));
+                }
+            };
+        });
+        tm.addListener(worker);
+        return worker;
+    }
+
+    @Test
+    void sync_writesOnlyAfterMutations() throws Exception {
+        TaskManager tm = new TaskManager();
+        PersistenceWorker worker = worker(tm, Durability.SYNC);
+
+        worker.commit();    // e.g. "list"
+        tm.addTask(new TodoTask("water plants"));
+        worker.commit();
+        worker.commit();
+        worker.close();
+
+        assertEquals(List.of("1 forced"), writes);
+    }
+
+    @Test
+    void onExit_writesOnceOnClose() throws Exception {
+        TaskManager tm = new TaskManager();
+        PersistenceWorker worker = worker(tm, Durability.ON_EXIT);
+
+        tm.addTask(new TodoTask("water plants"));
+        worker.commit();
+        tm.addTask(new TodoTask("buy kopi"));
+        worker.commit();
+        assertTrue(writes.isEmpty());
+
+        worker.close();
+        assertEquals(List.of("2 forced"), writes);
+    }
+
+    @Test
+    void interval_coalescesBurst() throws Exception {
+        TaskManager tm = new TaskManager();
+        PersistenceWorker worker = worker(tm, Durability.INTERVAL);
+
+        for (int i = 0; i < 100; i++) {
+            tm.addTask(new TodoTask("task " + i));
+            worker.commit();
+        }
+        Thread.sleep(300);
+        worker.commit();    // nothing changed since
+        worker.close();
+
+        synchronized (writes) {
+            assertEquals(List.of("100 forced"), writes);
+        }
+    }
+}
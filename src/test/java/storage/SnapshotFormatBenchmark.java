@@ -0,0 +1,55 @@
+package storage;
+
+import task.SampleTasks;
+import task.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manual benchmark comparing how long the binary and arena snapshots of the same tasks take to load.
+ * Not a unit test; run with
+ * {@code java -Xmx2g -cp <test and main classes> storage.SnapshotFormatBenchmark [tasks]}.
+ * <p>Tasks are the {@link SampleTasks} mix of todos, deadlines and events. Both files are written
+ * once to a temporary directory and read several times, as the first rounds serve as warm-up.
+ */
+public class SnapshotFormatBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(SampleTasks.create(i));
+        }
+
+        Path dir = Files.createTempDirectory("meebot-bench");
+        Path binary = dir.resolve(SnapshotFormat.BINARY.getFileName());
+        Path arena = dir.resolve(SnapshotFormat.ARENA.getFileName());
+        SnapshotFormat.BINARY.write(tasks, binary, false, false);
+        SnapshotFormat.ARENA.write(tasks, arena, false, false);
+        tasks = null;
+
+        for (int round = 0; round < 5; round++) {
+            long binaryMillis = time(SnapshotFormat.BINARY, binary, count);
+            long arenaMillis = time(SnapshotFormat.ARENA, arena, count);
+            System.out.printf("round %d: %,d tasks, binary %,d ms, arena %,d ms (%.1fx)%n",
+                    round + 1, count, binaryMillis, arenaMillis, (double) binaryMillis / Math.max(arenaMillis, 1));
+        }
+        Files.delete(binary);
+        Files.delete(arena);
+        Files.delete(dir);
+    }
+
+    private static long time(SnapshotFormat format, Path file, int count) throws IOException {
+        long start = System.nanoTime();
+        List<Task> loaded = format.read(file);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (loaded.size() != count) {
+            throw new AssertionError();
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,165 @@
+package storage;
+
+import exception.FileContentException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import task.DeadlineTask;
+import task.EventTask;
+import task.SampleTasks;
+import task.Task;
+import task.TodoTask;
+import util.ParsedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Round trip: every format reads back what it wrote, including done state, time flags and ids</li>
+ * <li>Non-ASCII descriptions survive the binary UTF-8 encoding</li>
+ * <li>Checksums: a corrupted record is skipped in every format while the others still load</li>
+ * <li>Atomic save leaves no temporary file behind</li>
+ * <li>Corrupt binary lengths and counts are rejected before anything is allocated for them</li>
+ * <li>A large arena snapshot, decoded in parallel, keeps file order and reports a corrupt record at its position</li>
+ * <li>Arena offsets and lengths running outside the records are rejected</li>
+ * </ol>
+ */
+class SnapshotFormatTest {
+    @TempDir
+    Path dir;
+
+    private static List<Task> sampleTasks() {
+        LocalDateTime nine = LocalDateTime.of(2025, 9, 9, 18, 0);
+        Task deadline = new DeadlineTask("sign-up hackathon", new ParsedDateTime(nine, true));
+        deadline.markAsDone();
+        deadline.setId(7);
+        return List.of(
+                new TodoTask("buy kaya toast ☕ for 😀 team"),
+                deadline,
+                new EventTask("company retreat",
+                        new ParsedDateTime(nine.toLocalDate().atStartOfDay(), false),
+                        new ParsedDateTime(nine.plusDays(3).toLocalDate().atStartOfDay(), false))
+        );
+    }
+
+    @Test
+    void roundTripAllFormats() throws Exception {
+        List<String> expected = sampleTasks().stream().map(Task::toString).toList();
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            Path file = dir.resolve(format.getFileName());
+            format.write(sampleTasks(), file, false, true);
+
+            List<Task> loaded = format.read(file);
+            assertEquals(expected, loaded.stream().map(Task::toString).toList(), format.name());
+            assertTrue(loaded.get(1).isDone());
+            assertTrue(loaded.get(1).hasTime());
+            assertFalse(loaded.get(2).hasTime());
+            assertEquals(7, loaded.get(1).getId());
+            assertEquals(0, loaded.get(0).getId());
+        }
+    }
+
+    @Test
+    void emptyBinarySnapshot() throws Exception {
+        Path file = dir.resolve("tasks.bin");
+        SnapshotFormat.BINARY.write(List.of(), file, false, false);
+        assertTrue(SnapshotFormat.BINARY.read(file).isEmpty());
+        assertEquals(BinaryTaskCodec.HEADER_SIZE, Files.size(file));
+    }
+
+    @Test
+    void corruptRecordIsSkipped() throws Exception {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            Path file = dir.resolve(format.getFileName());
+            format.writeAtomically(sampleTasks(), file, true);
+
+            // Change one byte of the last description without breaking the file structure
+            byte[] bytes = Files.readAllBytes(file);
+            String content = new String(bytes, StandardCharsets.ISO_8859_1);
+            bytes[content.indexOf("retreat")] = 'R';
+            Files.write(file, bytes);
+
+            List<Task> loaded = format.read(file);
+            assertEquals(2, loaded.size(), format.name());
+            assertEquals("buy kaya toast ☕ for 😀 team", loaded.get(0).getDescription());
+            assertFalse(Files.exists(dir.resolve(format.getFileName() + ".saving")));
+        }
+    }
+
+    @Test
+    void corruptBinaryLengthsAreRejected() throws Exception {
+        Path file = dir.resolve("tasks.bin");
+        SnapshotFormat.BINARY.write(sampleTasks(), file, false, false);
+        byte[] valid = Files.readAllBytes(file);
+
+        int countOffset = 8;
+        int firstLengthOffset = BinaryTaskCodec.HEADER_SIZE + 1 + 1 + Long.BYTES;  // the first task is a todo
+        for (int offset : new int[] {countOffset, firstLengthOffset}) {
+            byte[] bytes = valid.clone();
+            ByteBuffer.wrap(bytes).putInt(offset, Integer.MAX_VALUE);
+            Files.write(file, bytes);
+
+            FileContentException e = assertThrows(FileContentException.class,
+                    () -> SnapshotFormat.BINARY.read(file));
+            assertEquals(FileContentException.ErrorType.INVALID_SNAPSHOT_FORMAT, e.getType());
+        }
+    }
+
+    @Test
+    void largeArenaKeepsOrder() throws Exception {
+        Path file = dir.resolve("tasks.arena");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            tasks.add(SampleTasks.create(i));
+        }
+        SnapshotFormat.ARENA.write(tasks, file, false, false);
+
+        // Change one byte of a description in the middle, past the first run of records
+        int corrupted = 30_000;
+        byte[] bytes = Files.readAllBytes(file);
+        int record = ByteBuffer.wrap(bytes).getInt(ArenaTaskCodec.HEADER_SIZE + Integer.BYTES * corrupted);
+        bytes[record + 30]++;
+        Files.write(file, bytes);
+
+        List<String> expected = new ArrayList<>(tasks.stream().map(Task::toString).toList());
+        expected.remove(corrupted);
+        assertEquals(expected, SnapshotFormat.ARENA.read(file).stream().map(Task::toString).toList());
+    }
+
+    @Test
+    void corruptArenaOffsetsAreRejected() throws Exception {
+        Path file = dir.resolve("tasks.arena");
+        SnapshotFormat.ARENA.write(sampleTasks(), file, false, false);
+        byte[] valid = Files.readAllBytes(file);
+
+        int countOffset = 8;
+        int firstOffset = ArenaTaskCodec.HEADER_SIZE;
+        int firstRecord = ByteBuffer.wrap(valid).getInt(firstOffset);
+        int firstLengthOffset = firstRecord + 2;
+        for (int offset : new int[] {countOffset, firstOffset, firstLengthOffset}) {
+            byte[] bytes = valid.clone();
+            ByteBuffer.wrap(bytes).putInt(offset, Integer.MAX_VALUE);
+            Files.write(file, bytes);
+
+            FileContentException e = assertThrows(FileContentException.class,
+                    () -> SnapshotFormat.ARENA.read(file));
+            assertEquals(FileContentException.ErrorType.INVALID_SNAPSHOT_FORMAT, e.getType());
+        }
+    }
+
+    @Test
+    void filesWithoutChecksumsStillLoad() {
+        String legacy = "[{\"type\":\"todo\",\"done\":true,\"description\":\"water plants\"}]";
+        List<Task> loaded = TaskDeserializer.reconstructTask(legacy);
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+    }
+}
@@ -0,0 +1,267 @@
+package storage;
+
+import manager.SortKey;
+import manager.TaskManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import task.Task;
+import task.TodoTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Replay: a fresh session rebuilds the same list from snapshot plus journal</li>
+ * <li>Compaction: once past the threshold the journal is folded into the snapshot, at any durability level</li>
+ * <li>A kept sort order is restored on replay, including after compaction</li>
+ * <li>Bulk mark and delete are replayed from a single record each</li>
+ * <li>A failed compaction keeps its pending journal through later compactions and a crash</li>
+ * <li>A crash at any point while an interrupted compaction is finished, or while the journal is folded
+ * into the snapshot, replays every record exactly once</li>
+ * </ol>
+ */
+class TaskJournalTest {
+    @TempDir
+    Path dir;
+
+    private StorageSettings settings(long threshold) {
+        return new StorageSettings(dir.toString(), true, threshold, true, SnapshotFormat.JSON);
+    }
+
+    private List<String> reload(long threshold) {
+        return reload(settings(threshold));
+    }
+
+    private List<String> reload(StorageSettings settings) {
+        TaskManager tm = new TaskManager();
+        Storage storage = new Storage(tm, settings);
+        storage.loadTasks();
+        storage.close();
+        return tm.getReadOnlyList().stream().map(Task::toString).toList();
+    }
+
+    @Test
+    void replayRestoresMutations() {
+        TaskManager tm = new TaskManager();
+        Storage storage = new Storage(tm, settings(Long.MAX_VALUE));
+        storage.loadTasks();
+
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new TodoTask("buy kopi"));
+        tm.addTask(new TodoTask("read book"));
+        tm.markTaskDone(2);
+        tm.deleteTask(1);
+        tm.sortByStatus();
+        storage.commit();
+        List<String> expected = tm.getReadOnlyList().stream().map(Task::toString).toList();
+        storage.close();
+
+        // Snapshot is untouched, everything lives in the journal
+        assertEquals("[]", readTrimmed(dir.resolve("tasks.json")));
+        assertEquals(expected, reload(Long.MAX_VALUE));
+    }
+
+    @Test
+    void bulkChangesAreReplayed() throws Exception {
+        TaskManager tm = new TaskManager();
+        Storage storage = new Storage(tm, settings(Long.MAX_VALUE));
+        storage.loadTasks();
+
+        for (int i = 1; i <= 6; i++) {
+            tm.addTask(new TodoTask("task " + i));
+        }
+        BitSet selected = new BitSet();
+        selected.set(0, 3);
+        selected.set(4);
+        tm.setStatus(selected, true);
+        selected.clear(0);
+        tm.deleteTasks(selected);
+        storage.commit();
+        List<String> expected = tm.getReadOnlyList().stream().map(Task::toString).toList();
+        storage.close();
+
+        List<String> records = Files.readAllLines(dir.resolve("tasks.journal"));
+        assertTrue(records.contains("{\"op\":\"mark\",\"indexes\":\"1-3,5\"}"));
+        assertTrue(records.contains("{\"op\":\"delete\",\"indexes\":\"2-3,5\"}"));
+        assertEquals(List.of("[T][X] task 1", "[T][ ] task 4", "[T][ ] task 6"), expected);
+        assertEquals(expected, reload(Long.MAX_VALUE));
+    }
+
+    @Test
+    void compactionFoldsJournalIntoSnapshot() {
+        TaskManager tm = new TaskManager();
+        Storage storage = new Storage(tm, settings(1));
+        storage.loadTasks();
+
+        tm.addTask(new TodoTask("water plants"));
+        storage.commit();   // past threshold, compaction starts
+        tm.addTask(new TodoTask("buy kopi"));
+        storage.commit();
+        storage.close();
+
+        assertFalse(Files.exists(dir.resolve("tasks.journal.compacting")));
+        assertTrue(readTrimmed(dir.resolve("tasks.json")).contains("water plants"));
+        assertEquals(List.of("[T][ ] water plants", "[T][ ] buy kopi"), reload(Long.MAX_VALUE));
+    }
+
+    @Test
+    void compactionRunsWithoutCommits() throws Exception {
+        TaskManager tm = new TaskManager();
+        Path snapshot = dir.resolve("tasks.json");
+        Files.writeString(snapshot, "[]");
+        TaskJournal journal = new TaskJournal(tm, snapshot, settings(1));
+        journal.open();
+
+        // Nothing commits or flushes, as with exit durability, yet the journal is compacted
+        tm.addTask(new TodoTask("water plants"));
+        journal.awaitCompaction();
+        assertTrue(readTrimmed(snapshot).contains("water plants"));
+        journal.close();
+    }
+
+    @Test
+    void keptOrderSurvivesCompaction() {
+        TaskManager tm = new TaskManager();
+        Storage storage = new Storage(tm, settings(1));
+        storage.loadTasks();
+
+        tm.addTask(new TodoTask("water plants"));
+        tm.addTask(new TodoTask("buy kopi"));
+        tm.sortBy(SortKey.STATUS, true);
+        storage.commit();   // past threshold, the fresh journal restates the kept order
+        tm.markTaskDone(1);
+        tm.addTask(new TodoTask("read book"));
+        storage.commit();
+        List<String> expected = tm.getReadOnlyList().stream().map(Task::toString).toList();
+        storage.close();
+
+        assertEquals(List.of("[T][ ] buy kopi", "[T][ ] read book", "[T][X] water plants"), expected);
+        TaskManager restored = new TaskManager();
+        Storage reloaded = new Storage(restored, settings(Long.MAX_VALUE));
+        reloaded.loadTasks();
+        reloaded.close();
+        assertEquals(expected, restored.getReadOnlyList().stream().map(Task::toString).toList());
+        assertEquals(SortKey.STATUS, restored.getKeptOrder());
+    }
+
+    @Test
+    void failedCompactionKeepsPendingJournal() throws Exception {
+        TaskManager tm = new TaskManager();
+        Path snapshot = dir.resolve("tasks.json");
+        Files.writeString(snapshot, "[]");
+        TaskJournal journal = new TaskJournal(tm, snapshot, settings(1));
+        journal.open();
+        // A directory in the way of the temporary snapshot makes every snapshot write fail
+        Path blocker = Files.createDirectories(dir.resolve("tasks.json.tmp").resolve("blocker"));
+
+        tm.addTask(new TodoTask("water plants"));   // past threshold, compaction starts
+        journal.flush(true);
+        journal.awaitCompaction();
+        assertTrue(Files.exists(dir.resolve("tasks.journal.compacting")));
+
+        tm.addTask(new TodoTask("buy kopi"));   // retries the snapshot, which fails again, without rotating
+        journal.flush(true);
+        journal.awaitCompaction();
+        assertTrue(Files.readString(dir.resolve("tasks.journal.compacting")).contains("water plants"));
+
+        // Crash without closing, then start again once the snapshot can be written
+        Files.delete(blocker);
+        Files.delete(blocker.getParent());
+        assertEquals("[]", readTrimmed(snapshot));
+        assertEquals(List.of("[T][ ] water plants", "[T][ ] buy kopi"), reload(Long.MAX_VALUE));
+    }
+
+    private static final String PENDING_RECORDS =
+            "{\"op\":\"add\",\"type\":\"todo\",\"done\":false,\"description\":\"read book\",\"id\":2}\n";
+    private static final String JOURNAL_RECORDS =
+            "{\"op\":\"add\",\"type\":\"todo\",\"done\":false,\"description\":\"buy kopi\",\"id\":3}\n"
+            + "{\"op\":\"mark\",\"index\":1}\n";
+    private static final List<String> EXPECTED = List.of("[T][X] water plants", "[T][ ] read book", "[T][ ] buy kopi");
+
+    @Test
+    void crashWhileRecoveringReplaysEachRecordOnce() throws Exception {
+        // Files left by a crash at each point of finishing an interrupted compaction on open,
+        // then of folding the journal into the snapshot when journaling is disabled
+        Map<String, String[]> crashes = new LinkedHashMap<>();
+        crashes.put("snapshot written", new String[]{"1", PENDING_RECORDS, JOURNAL_RECORDS, "2"});
+        crashes.put("pending journal deleted", new String[]{"1", null, JOURNAL_RECORDS, "2"});
+        crashes.put("snapshot renamed", new String[]{"2", null, JOURNAL_RECORDS, null});
+        crashes.put("journal moved to pending", new String[]{"2", JOURNAL_RECORDS, null, null});
+        crashes.put("full snapshot written", new String[]{"2", JOURNAL_RECORDS, null, "3"});
+        crashes.put("folded journal deleted", new String[]{"2", null, null, "3"});
+        crashes.put("full snapshot renamed", new String[]{"3", null, null, null});
+
+        for (Map.Entry<String, String[]> crash : crashes.entrySet()) {
+            String[] files = crash.getValue();
+            writeSnapshot(dir.resolve("tasks.json"), Integer.parseInt(files[0]));
+            writeOrDelete(dir.resolve("tasks.journal.compacting"), files[1]);
+            writeOrDelete(dir.resolve("tasks.journal"), files[2]);
+            Files.deleteIfExists(dir.resolve("tasks.json.tmp"));
+            if (files[3] != null) {
+                writeSnapshot(dir.resolve("tasks.json.tmp"), Integer.parseInt(files[3]));
+            }
+
+            assertEquals(EXPECTED, reload(Long.MAX_VALUE), crash.getKey());
+            assertEquals(EXPECTED, reload(Long.MAX_VALUE), crash.getKey() + ", then restarted");
+        }
+    }
+
+    @Test
+    void recoveringLeavesNothingToReplayTwice() throws Exception {
+        writeSnapshot(dir.resolve("tasks.json"), 1);
+        Files.writeString(dir.resolve("tasks.journal.compacting"), PENDING_RECORDS);
+        Files.writeString(dir.resolve("tasks.journal"), JOURNAL_RECORDS);
+
+        // The interrupted compaction's snapshot is written without the current journal, which stays
+        assertEquals(EXPECTED, reload(Long.MAX_VALUE));
+        assertFalse(Files.exists(dir.resolve("tasks.journal.compacting")));
+        assertFalse(readTrimmed(dir.resolve("tasks.json")).contains("buy kopi"));
+        assertTrue(readTrimmed(dir.resolve("tasks.journal")).contains("buy kopi"));
+
+        // With journaling disabled, the journal is folded into the snapshot and removed
+        assertEquals(EXPECTED, reload(new StorageSettings(dir.toString(), false, Long.MAX_VALUE, true,
+                SnapshotFormat.JSON)));
+        assertFalse(Files.exists(dir.resolve("tasks.journal")));
+        assertFalse(Files.exists(dir.resolve("tasks.journal.compacting")));
+        assertEquals(EXPECTED, reload(Long.MAX_VALUE));
+    }
+
+    /**
+     * Writes a snapshot of the first {@code count} tasks of {@link #EXPECTED}, as they stand after
+     * the records that added them.
+     */
+    private static void writeSnapshot(Path file, int count) throws Exception {
+        TaskManager tm = new TaskManager();
+        for (String description : List.of("water plants", "read book", "buy kopi").subList(0, count)) {
+            tm.addTask(new TodoTask(description));
+        }
+        if (count == 3) {
+            tm.markTaskDone(1);
+        }
+        SnapshotFormat.JSON.write(tm.getReadOnlyList(), file, true, false);
+    }
+
+    private static void writeOrDelete(Path file, String content) throws Exception {
+        if (content == null) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.writeString(file, content);
+        }
+    }
+
+    private static String readTrimmed(Path file) {
+        try {
+            return Files.readString(file).trim();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
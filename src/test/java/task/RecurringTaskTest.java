@@ -0,0 +1,124 @@
+package task;
+
+import manager.DateRange;
+import manager.TaskManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import storage.SnapshotFormat;
+import storage.TaskDeserializer;
+import storage.TaskSerializer;
+import task.RecurringTask.Frequency;
+import util.ParsedDateTime;
+import util.TaskFilterParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Occurrences worked out from the rule match stepping through them one by one</li>
+ * <li>Date filters, spans and next find recurring tasks by their occurrences only</li>
+ * <li>A recurring task survives JSON and the arena snapshot as a single record</li>
+ * </ol>
+ */
+class RecurringTaskTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 9, 30);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void occurrencesMatchSteppingThroughThem() {
+        Random random = new Random(23);
+        for (Frequency frequency : Frequency.values()) {
+            RecurringTask task = new RecurringTask("standup", new ParsedDateTime(START, true), frequency, 400);
+            List<LocalDateTime> stepped = new ArrayList<>();
+            for (LocalDateTime dt : task.getDates()) {
+                stepped.add(dt);
+            }
+            assertEquals(400, stepped.size());
+            assertEquals(task.getLastOccurrence(), stepped.get(399));
+
+            for (int i = 0; i < 2000; i++) {
+                LocalDateTime from = START.minusDays(5).plusMinutes(random.nextInt(500 * 24 * 60) * 31L);
+                LocalDateTime expected = stepped.stream().filter(dt -> !dt.isBefore(from)).findFirst().orElse(null);
+                assertEquals(expected, task.nextOccurrence(from), frequency + " from " + from);
+            }
+
+            ParsedDateTime until = new ParsedDateTime(stepped.get(123).toLocalDate().atStartOfDay(), false);
+            assertEquals(124, RecurringTask.countUntil(new ParsedDateTime(START, true), frequency, until));
+        }
+
+        RecurringTask monthly = new RecurringTask("rent", new ParsedDateTime(START, true), Frequency.MONTHLY, 3);
+        assertEquals(List.of(START, START.withMonth(2).withDayOfMonth(28), START.withMonth(3)), monthly.getDates());
+    }
+
+    @Test
+    void filtersFindRecurringTasksByOccurrence() throws Exception {
+        TaskManager tm = new TaskManager();
+        LocalDateTime monday = LocalDateTime.of(2025, 9, 1, 0, 0);
+        tm.addTask(new RecurringTask("gym", new ParsedDateTime(monday, false), Frequency.WEEKLY, 4));
+        tm.addTask(new RecurringTask("standup", new ParsedDateTime(monday.withHour(9), true), Frequency.DAILY,
+                5 * 365));
+        tm.addTask(new DeadlineTask("report", new ParsedDateTime(monday.plusDays(9), false)));
+
+        assertEquals(List.of("gym", "standup"), filter(tm, "date:2025-09-15"));
+        assertEquals(List.of("standup", "report"), filter(tm, "date:2025-09-10"));
+        assertEquals(List.of("standup"), filter(tm, "task:recurring & date:2025-09-23..2025-09-27"));
+        assertEquals(List.of(), filter(tm, "date:2030-09-01.."));
+        assertEquals(List.of("gym", "standup", "report"),
+                descriptions(tm.findOverlapping(new DateRange(LocalDate.of(2025, 9, 8), LocalDate.of(2025, 9, 10)))));
+
+        int[] next = tm.nextDue(monday.plusDays(8).withHour(10), 3);
+        assertEquals(List.of("standup", "report", "gym"), descriptions(positionsToTasks(tm, next)));
+        next = tm.nextDue(monday.plusDays(30), 3);
+        assertEquals(List.of("standup"), descriptions(positionsToTasks(tm, next)));
+        assertEquals(1, tm.overdue(monday.plusDays(30)).length);     // recurring tasks are never overdue
+    }
+
+    @Test
+    void storedAsSingleRecord() throws Exception {
+        RecurringTask task = new RecurringTask("standup", new ParsedDateTime(START, true), Frequency.DAILY, 1826);
+        task.setId(7);
+        task.markAsDone();
+
+        String json = TaskSerializer.tasksToJson(List.of(task));
+        List<Task> loaded = TaskDeserializer.reconstructTask(json);
+        Path arena = dir.resolve(SnapshotFormat.ARENA.getFileName());
+        SnapshotFormat.ARENA.write(List.of(task), arena, false, false);
+        Task fromStore = SnapshotFormat.ARENA.read(arena).get(0);
+        for (Task copy : List.of(loaded.get(0), fromStore, task.copy())) {
+            assertEquals(TaskType.RECURRING, copy.getTaskType());
+            assertEquals(task.getDates(), copy.getDates());
+            assertTrue(copy.hasTime());
+        }
+        assertEquals(task.toString(), loaded.get(0).toString());
+        assertEquals(task.toString(), fromStore.toString());
+        assertEquals(7, loaded.get(0).getId());
+        assertEquals(7, fromStore.getId());
+    }
+
+    private static List<String> filter(TaskManager tm, String query) {
+        return descriptions(tm.filter(TaskFilterParser.parseQuery(query)));
+    }
+
+    private static List<Task> positionsToTasks(TaskManager tm, int[] positions) {
+        List<Task> tasks = new ArrayList<>();
+        for (int position : positions) {
+            tasks.add(tm.getReadOnlyList().get(position));
+        }
+        return tasks;
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).toList();
+    }
+}
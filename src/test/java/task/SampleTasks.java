@@ -0,0 +1,73 @@
+package task;
+
+import util.ParsedDateTime;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Dates and tasks shared by the tests and benchmarks. Dates given by day fall in September 2025
+ * unless a month is given.
+ */
+public final class SampleTasks {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private SampleTasks() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Returns an all-day date in September 2025.
+     */
+    public static ParsedDateTime on(int day) {
+        return on(day, 9);
+    }
+
+    /**
+     * Returns an all-day date in the given month of 2025.
+     */
+    public static ParsedDateTime on(int day, int month) {
+        return new ParsedDateTime(LocalDateTime.of(2025, month, day, 0, 0), false);
+    }
+
+    /**
+     * Returns a date with a time of day, on the hour, in September 2025.
+     */
+    public static ParsedDateTime at(int day, int hour) {
+        return new ParsedDateTime(LocalDateTime.of(2025, 9, day, hour, 0), true);
+    }
+
+    /**
+     * Returns a new pending task, the same for the same number: todos, timed deadlines and all-day
+     * events in turn, with dates spread over time and descriptions that are not all ASCII.
+     */
+    public static Task create(int i) {
+        LocalDateTime date = FIRST.plusMinutes(i * 37L);
+        LocalDateTime day = date.toLocalDate().atStartOfDay();
+        return switch (i % 3) {
+        case 0 -> new TodoTask("read chapter " + i + " of the book ☕");
+        case 1 -> new DeadlineTask("submit report " + i, new ParsedDateTime(date, true));
+        default -> new EventTask("project trip " + i,
+                new ParsedDateTime(day, false), new ParsedDateTime(day.plusDays(3), false));
+        };
+    }
+
+    /**
+     * Returns a new pending task of a random type, dated within the first {@code days} days of
+     * September 2025: a todo, an all-day or timed deadline, an all-day event of up to five days, or
+     * a timed event ending at 00:00, on the boundary between spans and days.
+     *
+     * @param days at most 28; fewer days give more tasks on the same date
+     */
+    public static Task random(Random random, int days, String description) {
+        int day = 1 + random.nextInt(days);
+        return switch (random.nextInt(5)) {
+        case 0 -> new TodoTask(description);
+        case 1 -> new DeadlineTask(description, on(day));
+        case 2 -> new DeadlineTask(description, at(day, random.nextInt(24)));
+        case 3 -> new EventTask(description, at(day, 20 + random.nextInt(4)), at(day + 1 + random.nextInt(2), 0));
+        default -> new EventTask(description, on(day), on(Math.min(days, day + random.nextInt(5))));
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package util;
+
+import exception.InvalidDateTimeException;
+
+import java.util.function.Function;
+
+/**
+ * Manual benchmark comparing {@link DateTimeParser#parse(String)} with the pattern loop it
+ * replaced as the first attempt. Not a unit test; run with
+ * {@code java -cp <test and main classes> util.DateTimeParserBenchmark [iterations]}.
+ * <p>The inputs cover every supported shape. Later patterns are the slow case for the loop,
+ * as each earlier pattern fails by throwing a {@link java.time.format.DateTimeParseException}.
+ */
+public class DateTimeParserBenchmark {
+    private static final String[] INPUTS = {
+            "9/9/2025 1800", "9/9/2025", "15-10-2025 0930", "15-10-2025", "15 Sep 2025 1800",
+            "15 Sep 2025", "2025-09-15T18:00", "2025-09-15", "1/13/2025"
+    };
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        for (int round = 0; round < 3; round++) {     // the first rounds serve as warm-up
+            long loop = time(DateTimeParser::parseWithPatterns, iterations);
+            long fast = time(DateTimeParser::parse, iterations);
+            System.out.printf("round %d: pattern loop %,d ms, fast path %,d ms (%.1fx)%n",
+                    round + 1, loop, fast, (double) loop / Math.max(fast, 1));
+        }
+    }
+
+    private static long time(Function<String, ParsedDateTime> parser, int iterations) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String input : INPUTS) {
+                try {
+                    checksum += parser.apply(input).dateTime().getDayOfMonth();
+                } catch (InvalidDateTimeException e) {
+                    checksum--;
+                }
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        if (checksum == 0) {
+            System.out.println();   // keeps the results observable
+        }
+        return elapsed;
+    }
+}
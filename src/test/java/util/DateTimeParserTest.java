@@ -0,0 +1,61 @@
+package util;
+
+import exception.InvalidDateTimeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * To test for:
+ * <ol>
+ * <li>Fast path gives the same result or error as the pattern loop, including SMART resolution
+ * (31 April, 2400) and inputs it leaves to the fallback</li>
+ * <li>Common shapes are handled by the fast path itself</li>
+ * </ol>
+ */
+class DateTimeParserTest {
+    private static final List<String> INPUTS = List.of(
+            "9/9/2025", "09/09/2025 1800", "15-10-2025", "1-1-2025 0000", "15 Sep 2025", "1 Dec 2025 2359",
+            "2025-09-15", "2025-09-15T18:00",
+            "31/4/2025", "29/2/2023", "29/2/2024 2400", "2025-02-30", "1/1/2025 2400",
+            "0/1/2025", "32/1/2025", "1/13/2025", "1/1/2025 2401", "1/1/2025 2360", "2025-13-01",
+            "2025-09-15T25:00", "1 sep 2025", "1/1/0000", "1/1/20255", "001/1/2025", "2025-10-2025",
+            "1/1-2025", " 1/1/2025", "1/1/2025 12:00", "2025-09-15T18:00:00", "", "tomorrow"
+    );
+
+    private static String describe(Parser parser, String input) {
+        try {
+            ParsedDateTime parsed = parser.parse(input);
+            return parsed.dateTime() + " hasTime=" + parsed.hasTime();
+        } catch (InvalidDateTimeException e) {
+            return e.toErrorMessage().toString();
+        }
+    }
+
+    private interface Parser {
+        ParsedDateTime parse(String input);
+    }
+
+    @Test
+    public void parse_matchesPatternLoop() {
+        for (String input : INPUTS) {
+            assertEquals(describe(DateTimeParser::parseWithPatterns, input),
+                    describe(DateTimeParser::parse, input), input);
+        }
+    }
+
+    @Test
+    public void parseKnownShape_handlesCommonShapes() {
+        assertEquals(LocalDateTime.of(2025, 9, 15, 18, 0),
+                DateTimeParser.parseKnownShape("15 Sep 2025 1800").dateTime());
+        assertFalse(DateTimeParser.parseKnownShape("2025-09-15").hasTime());
+        assertEquals(LocalDateTime.of(2025, 4, 30, 0, 0),
+                DateTimeParser.parseKnownShape("31/4/2025").dateTime());
+        assertThrows(InvalidDateTimeException.class, () -> DateTimeParser.parseKnownShape("1/13/2025"));
+        assertNull(DateTimeParser.parseKnownShape("1/1/0000"));
+        assertNull(DateTimeParser.parseKnownShape("tomorrow"));
+    }
+}